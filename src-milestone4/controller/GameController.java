@@ -5,39 +5,61 @@ import item.ImItem;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.stream.Collectors;
+import log.GameLog;
 import player.PlayerImpl;
 import space.ImSpace;
-import view.GameView;
+import view.ImGameView;
+import world.GameRandom;
+import world.ImWorld;
 import world.World;
 
 /**
  * Manages the game loop, players, and interactions within the game world for a GUI.
  */
 public class GameController implements ImGameController {
+  private static final GameLog LOG = GameLog.forClass(GameController.class);
   private int doctorEscapeCount;
   private int currentTurn;
   private boolean targetKilled;
   private final int maxTurns;
   private final World world;
-  private final List<PlayerImpl> players;
+  private final PlayerRegistry registry = new PlayerRegistry();
+  private final List<PlayerImpl> players = registry.getPlayers();
   private final int maxAllowedEscapes = 1;
-  private GameView view; // Removed 'final'
+  private ImGameView view; // Removed 'final'
+  private final GameExecutor executor = new GameExecutor();
+  private final TurnScheduler scheduler = new TurnScheduler(executor::execute);
+  private final GameRandom random;
+  private boolean awaitingHuman;
  
   /**
    * Constructs a GameController to manage the game's logic, and interactions.
    *
    * @param world     the {@link World} object representing the game world
    * @param maxTurns  the maximum number of turns allowed in the game
-   * @param view      the {@link GameView} object representing the interface;
+   * @param view      the {@link ImGameView} object representing the interface;
    *                  can be {@code null} if no view is provided
    */
-  public GameController(World world, int maxTurns, GameView view) {
+  public GameController(World world, int maxTurns, ImGameView view) {
+    this(world, maxTurns, view, new GameRandom());
+  }
+
+  /**
+   * Constructs a GameController whose random choices come from the given game streams.
+   * Players added to it should take their streams from the same {@link GameRandom}.
+   *
+   * @param world     the {@link World} object representing the game world
+   * @param maxTurns  the maximum number of turns allowed in the game
+   * @param view      the {@link ImGameView} object representing the interface;
+   *                  can be {@code null} if no view is provided
+   * @param random    the random streams of the game
+   */
+  public GameController(World world, int maxTurns, ImGameView view, GameRandom random) {
     this.world = world;
+    this.random = random;
     this.maxTurns = maxTurns;
     this.view = view;
-    this.players = new ArrayList<>();
     this.currentTurn = 0;
     this.targetKilled = false;
     this.doctorEscapeCount = 0;
@@ -48,54 +70,71 @@ public class GameController implements ImGameController {
   }
   
   @Override
-  public void setView(GameView view) {
+  public void setView(ImGameView view) {
     this.view = view;
     setupListeners();
   }
   
   @Override
   public List<ImSpace> getHumanPlayerNeighbors() {
-    for (PlayerImpl player : players) {
-      if (!player.isAi) { // Find the human player
-        return world.getNeighbors(player.getCurrentSpace());
-      }
+    return getHumanPlayerNeighbors(registry.getLocalSession());
+  }
+
+  @Override
+  public List<ImSpace> getHumanPlayerNeighbors(int session) {
+    PlayerImpl player = registry.getHuman(session);
+    if (player == null) {
+      return new ArrayList<>(); // Return empty if no human player
     }
-    return new ArrayList<>(); // Return empty if no human player
+    return world.getNeighbors(player.getCurrentSpace());
   }
   
   @Override
   public boolean movePlayerTo(ImSpace targetSpace) {
-    for (PlayerImpl player : players) {
-      if (!player.isAi) { // Find the human player
-        ImSpace currentSpace = player.getCurrentSpace();
-        List<ImSpace> neighbors = world.getNeighbors(currentSpace);
-
-        if (neighbors.contains(targetSpace)) {
-          player.moveTo(targetSpace);
-          world.updatePlayerLocations(); // Sync player locations in the world
-          view.logMessage("Moved to: " + targetSpace.getName());
-          view.updateGameMap(world.generateMap()); // Update the map display
-          return true;
-        } else {
-          view.logMessage("Invalid move! You can only move to neighboring spaces.");
-          return false;
-        }
-      }
+    return movePlayerTo(registry.getLocalSession(), targetSpace);
+  }
+
+  @Override
+  public boolean movePlayerTo(int session, ImSpace targetSpace) {
+    PlayerImpl player = getActingHuman(session);
+    if (player == null) {
+      return false; // No human player, or not their turn
+    }
+    ImSpace currentSpace = player.getCurrentSpace();
+    List<ImSpace> neighbors = world.getNeighbors(currentSpace);
+
+    if (neighbors.contains(targetSpace)) {
+      world.movePlayer(player, targetSpace); // Move and update the world's locations
+      view.playerMoved(player, currentSpace, targetSpace);
+      view.logMessage("Moved to: " + targetSpace.getName());
+      refreshMap(); // Update the map display
+      endHumanTurn();
+      return true;
+    } else {
+      view.logMessage("Invalid move! You can only move to neighboring spaces.");
+      return false;
     }
-    return false; // No human player found
   }
 
   @Override
   public void addPlayer(PlayerImpl player) {
-    this.players.add(player); // Add to the controller's list
-    world.getPlayers().add(player); // Synchronize with the world's players list
-    world.updatePlayerLocations(); // Update the space-to-players map
-    System.out.println("Player added: " + player.getName() + " to "
+    registry.register(player); // Open a session for the player, in turn order
+    world.addPlayer(player); // Add to the world's players and locations
+    LOG.info(() -> "Player added: " + player.getName() + " to "
         + "space: " + player.getCurrentSpace().getName());
   }
 
   @Override
   public void playTurn() {
+    // Turns run one after another from the scheduler's queue on the game thread.
+    scheduler.schedule(this::startTurn);
+  }
+
+  /**
+   * Starts the turn of the current player. An AI turn is queued to run next; a human turn
+   * waits until the player takes an action.
+   */
+  private void startTurn() {
     if (isGameOver()) {
       view.logMessage("Game Over! Thanks for playing!");
       return;
@@ -121,59 +160,83 @@ public class GameController implements ImGameController {
 
     // Handle AI or human turn
     if (currentPlayer.isAi) {
-      handleAiTurn(currentPlayer);
+      scheduler.schedule(() -> handleAiTurn(currentPlayer));
     } else {
+      awaitingHuman = true;
       view.logMessage("Waiting for " + currentPlayer.getName() + " to take an action.");
     }
+  }
 
-    // Increment the turn counter
-    currentTurn++;
+  /**
+   * Finds the human player of a session, if the game is waiting for them to act.
+   *
+   * @param session the session of the player
+   * @return the player, or {@code null} if there is none or it is not their turn
+   */
+  private PlayerImpl getActingHuman(int session) {
+    PlayerImpl player = registry.getHuman(session);
+    if (player == null) {
+      return null;
+    }
+    if (!awaitingHuman || player != players.get(currentTurn % players.size())) {
+      view.logMessage("It is not " + player.getName() + "'s turn.");
+      return null;
+    }
+    return player;
+  }
+
+  /**
+   * Ends the turn of the human player who has just acted.
+   */
+  private void endHumanTurn() {
+    awaitingHuman = false;
+    endTurn();
   }
   
   @Override
   public boolean attemptAttack() {
-    for (PlayerImpl player : players) {
-      if (!player.isAi) { // Find the human player
-        ImSpace currentSpace = player.getCurrentSpace();
-        ImTargetCharacter targetCharacter = world.getTargetCharacter();
-        ImSpace targetSpace = world.getSpace(targetCharacter.getCurrentSpace());
-
-        // Check if the player is in the same room as the target
-        if (currentSpace.equals(targetSpace)) {
-          // Check if the player has a weapon
-          List<ImItem> weapons = player.getItems();
-          if (weapons.isEmpty()) {
-            view.logMessage("You have no weapon to attack Doctor Lucky.");
-            return false;
-          }
-
-          // Perform the attack
-          ImItem bestWeapon = weapons.stream()
-                  .max((a, b) -> Integer.compare(a.getDamage(), b.getDamage()))
-                  .orElse(null);
-
-          int damage = (bestWeapon != null) ? bestWeapon.getDamage() : 1;
-          player.getItems().remove(bestWeapon); // Remove weapon after use
-
-          view.logMessage("You attacked Doctor "
-              + "Lucky with " + bestWeapon.getName() + " (Damage: "
-                  + "" + damage + "). Doctor Lucky's remaining health: "
-                      + "" + targetCharacter.getHealth());
-
-          // Check if Doctor Lucky is defeated
-          if (targetCharacter.getHealth() <= 0) {
-            targetKilled = true;
-            view.logMessage("Congratulations! You defeated Doctor Lucky!");
-          }
-          return true;
-        } else {
-          view.logMessage("You are not in the same room as Doctor Lucky. "
-              + "Move to his room to attack.");
-          return false;
-        }
-      }
+    return attemptAttack(registry.getLocalSession());
+  }
+
+  @Override
+  public boolean attemptAttack(int session) {
+    PlayerImpl player = getActingHuman(session);
+    if (player == null) {
+      return false; // No human player found
     }
-    return false; // No human player found
+    ImSpace currentSpace = player.getCurrentSpace();
+    ImTargetCharacter targetCharacter = world.getTargetCharacter();
+    ImSpace targetSpace = world.getSpace(targetCharacter.getCurrentSpace());
+
+    // Check if the player is in the same room as the target
+    if (!currentSpace.equals(targetSpace)) {
+      view.logMessage("You are not in the same room as Doctor Lucky. "
+          + "Move to his room to attack.");
+      return false;
+    }
+
+    // Check if the player has a weapon
+    ImItem bestWeapon = player.getBestWeapon();
+    if (bestWeapon == null) {
+      view.logMessage("You have no weapon to attack Doctor Lucky.");
+      return false;
+    }
+
+    // A seen attack fails, but it still takes the player's turn
+    if (isAttackSeen(player)) {
+      endHumanTurn();
+      return false;
+    }
+
+    // Attack the same way an AI player does, using up the best weapon
+    boolean attacked = player.attemptKill(targetCharacter, world);
+    view.logMessage("You attacked Doctor "
+        + "Lucky with " + bestWeapon.getName() + " (Damage: "
+            + "" + bestWeapon.getDamage() + "). Doctor Lucky's remaining health: "
+                + "" + targetCharacter.getHealth());
+    processAttackResult(player, attacked, targetCharacter);
+    endHumanTurn();
+    return attacked;
   }
 
   @Override
@@ -183,9 +246,8 @@ public class GameController implements ImGameController {
 
   @Override
   public boolean isAttackSeen(PlayerImpl attacker) {
-    ImSpace attackerSpace = attacker.getCurrentSpace();
-    for (PlayerImpl player : players) {
-      if (player != attacker && player.getCurrentSpace() == attackerSpace) {
+    for (PlayerImpl player : world.getPlayersIn(attacker.getCurrentSpace())) {
+      if (player != attacker) {
         view.logMessage("Attack by " + attacker.getName() + " was seen by another player.");
         return true;
       }
@@ -209,7 +271,7 @@ public class GameController implements ImGameController {
     description.append("Name: ").append(player.getName()).append("\n");
     description.append("Room: ").append(player.getCurrentSpace().getName()).append("\n");
 
-    if (player.getItems().isEmpty()) {
+    if (player.getItemCount() == 0) {
       description.append("Weapon: None");
     } else {
       description.append("Weapon: ");
@@ -232,7 +294,11 @@ public class GameController implements ImGameController {
   @Override
   public void handleAiTurn(PlayerImpl currentPlayer) {
     view.logMessage(currentPlayer.getName() + " (AI) is taking an action...");
-    boolean actionTaken = currentPlayer.takeTurn(world, players);
+    ImSpace startSpace = currentPlayer.getCurrentSpace();
+    boolean actionTaken = currentPlayer.takeTurn(world);
+    if (currentPlayer.getCurrentSpace() != startSpace) {
+      view.playerMoved(currentPlayer, startSpace, currentPlayer.getCurrentSpace());
+    }
     if (actionTaken) {
       processAttackResult(currentPlayer, actionTaken, world.getTargetCharacter());
     }
@@ -241,11 +307,13 @@ public class GameController implements ImGameController {
   
   @Override
   public void endTurn() {
+    // The only place the turn counter moves, so each turn counts once.
     currentTurn++;
     if (doctorEscapeCount < maxAllowedEscapes) {
       handleDoctorLuckyMovement(players.get(currentTurn % players.size()));
     }
-    playTurn();
+    // Queue the next turn rather than calling it, so the stack does not grow with the game.
+    scheduler.schedule(this::startTurn);
   }
   
   @Override
@@ -273,115 +341,120 @@ public class GameController implements ImGameController {
       return;
     }
 
-    ImTargetCharacter targetCharacter = world.getTargetCharacter();
-    ImSpace targetSpace = world.getSpace(targetCharacter.getCurrentSpace());
-    ImSpace playerSpace = currentPlayer.getCurrentSpace();
-
-    if (playerSpace == targetSpace || targetSpace.getNeighbors().contains(playerSpace)) {
-      List<ImSpace> neighbors = targetSpace.getNeighbors();
-      if (!neighbors.isEmpty()) {
-        ImSpace newSpace = neighbors.get(new Random().nextInt(neighbors.size()));
-        targetCharacter.moveToSpace(world.getSpaces().indexOf(newSpace));
-      }
-    }
+    world.moveTargetAwayFrom(currentPlayer.getCurrentSpace(), random.forTarget());
 
     // Update the map with the new positions
-    view.updateGameMap(world.generateMap());
+    refreshMap();
+  }
+
+  /**
+   * Has the view repaint only the area of the map where characters moved.
+   */
+  private void refreshMap() {
+    view.repaintMap(world.updateMapSprites());
   }
 
   @Override
   public void setupListeners() {
     if (view != null) {
-      view.setNewGameListener(e -> {
-        // Debug message 1: Generating the map
-        System.out.println("Generating map with dimensions: " 
-            + world.getCols() * 50 + "x" + world.getRows() * 50);
-  
+      view.setNewGameListener(e -> executor.execute(() -> {
+        // Drop the turns still queued from the previous game
+        scheduler.clear();
+        awaitingHuman = false;
         currentTurn = 0;
         doctorEscapeCount = 0;
         targetKilled = false;
   
-        // Generate the initial map
-        BufferedImage initialMap = getWorldMap();
-  
-        // Debug message 2: Retrieved map dimensions
-        System.out.println("Retrieved world map with dimensions: " 
-            + initialMap.getWidth() + "x" + initialMap.getHeight());
-  
-        // Start a new game in the view
-        view.startNewGame(initialMap);
-      });
+        // Start a new game in the view; the map is painted tile by tile as it scrolls
+        view.startNewGame(world);
+        playTurn();
+      }));
     }
   }
   
   @Override
-  public List<String> getItemsInCurrentSpace() {
-    for (PlayerImpl player : players) {
-      if (!player.isAi) { // Find the human player
-        ImSpace currentSpace = player.getCurrentSpace();
-        
-        // Debug: Log items in the current space
-        System.out.println("DEBUG: Current space: " + currentSpace.getName());
-        System.out.println("DEBUG: Items in current space: " + currentSpace.getItems());
-
-        return currentSpace.getItems().stream()
-                .map(item -> item.getName() + " (Damage: " + item.getDamage() + ")")
-                .collect(Collectors.toList());
-      }
+  public List<ImItem> getItemsInCurrentSpace() {
+    return getItemsInCurrentSpace(registry.getLocalSession());
+  }
+
+  @Override
+  public List<ImItem> getItemsInCurrentSpace(int session) {
+    PlayerImpl player = registry.getHuman(session);
+    if (player == null) {
+      LOG.debug(() -> "No human player found.");
+      return new ArrayList<>(); // Return empty if no human player
     }
-    System.out.println("DEBUG: No human player found.");
-    return new ArrayList<>(); // Return empty if no human player
+    ImSpace currentSpace = player.getCurrentSpace();
+    LOG.debug(() -> "Items in " + currentSpace.getName() + ": " + currentSpace.getItems());
+
+    // Copy the items, since the view reads them on the event thread
+    return new ArrayList<>(currentSpace.getItems());
   }
   
   @Override
-  public boolean pickUpItem(String itemName) {
-    for (PlayerImpl player : players) {
-      if (!player.isAi) { // Find the human player
-        ImSpace currentSpace = player.getCurrentSpace();
-        
-        // Debug: Log items in the space
-        System.out.println("DEBUG: Attempting to pick up item: " + itemName);
-        System.out.println("DEBUG: Items in space: " + currentSpace.getItems());
-
-        List<ImItem> itemsInSpace = currentSpace.getItems();
-        
-        // Extract raw name from itemName (removing "(Damage: X)")
-        String rawName = itemName.split(" \\(Damage:")[0];
-
-        ImItem itemToPick = itemsInSpace.stream()
-                .filter(item -> item.getName().equals(rawName))
-                .findFirst()
-                .orElse(null);
-
-        if (itemToPick != null) {
-          if (player.canCarryMoreItems()) {
-            player.pickUpItem(itemToPick); // Use the player's method
-            
-            // Debug: Log success
-            System.out.println("DEBUG: Item picked up "
-                + "successfully: " + itemToPick.getName());
-            view.logMessage("Picked up: " + itemToPick.getName());
-            return true;
-          } else {
-            // Debug: Log inventory full
-            System.out.println("DEBUG: Inventory is "
-                + "full. Cannot pick up item: " + itemName);
-            view.logMessage("Inventory is full. Cannot pick up: " + itemName);
-            return false;
-          }
-        } else {
-          // Debug: Log item not found
-          System.out.println("DEBUG: Item not found "
-              + "in current space: " + rawName);
-          view.logMessage("Item not found: " + itemName);
-          return false;
-        }
+  public boolean pickUpItem(int itemId) {
+    return pickUpItem(registry.getLocalSession(), itemId);
+  }
+
+  @Override
+  public boolean pickUpItem(int session, int itemId) {
+    PlayerImpl player = getActingHuman(session);
+    if (player == null) {
+      LOG.debug(() -> "No human player to act in session " + session);
+      return false; // No human player, or not their turn
+    }
+    ImSpace currentSpace = player.getCurrentSpace();
+    LOG.debug(() -> "Attempting to pick up item " + itemId + " from " + currentSpace.getName());
+
+    ImItem itemToPick = currentSpace.getItem(itemId);
+
+    if (itemToPick != null) {
+      if (player.canCarryMoreItems()) {
+        player.pickUpItem(itemToPick); // Use the player's method
+        LOG.debug(() -> "Item picked up successfully: " + itemToPick.getName());
+        view.logMessage("Picked up: " + itemToPick.getName());
+        endHumanTurn();
+        return true;
+      } else {
+        LOG.debug(() -> "Inventory is full. Cannot pick up item: " + itemToPick);
+        view.logMessage("Inventory is full. Cannot pick up: " + itemToPick.getName());
+        return false;
       }
+    } else {
+      LOG.debug(() -> "Item not found in current space: " + itemId);
+      view.logMessage("That item is no longer here.");
+      return false;
     }
-    System.out.println("DEBUG: No human player found.");
-    return false; // No human player found
   }
     
+  /**
+   * Gets the sessions of the players in the game.
+   *
+   * @return the player registry
+   */
+  public PlayerRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * Gets the scheduler that runs the turns of the game.
+   *
+   * @return the turn scheduler
+   */
+  public TurnScheduler getScheduler() {
+    return scheduler;
+  }
+
+  @Override
+  public GameExecutor getExecutor() {
+    return executor;
+  }
+
+  @Override
+  public ImWorld getWorld() {
+    return world;
+  }
+
   @Override
   public BufferedImage getWorldMap() {
     return world.generateMap();
@@ -0,0 +1,111 @@
+package controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+
+/**
+ * GameExecutor runs the game away from the Swing event thread. All game logic runs, one
+ * task at a time, on a single game thread, so the game state never needs locking.
+ * Map tiles are drawn by a separate pool of render workers. Results that the interface
+ * needs are handed back to the event thread with {@link SwingUtilities#invokeLater}.
+ */
+public final class GameExecutor {
+  private final ExecutorService logic;
+  private final ExecutorService render;
+  private volatile Thread gameThread;
+
+  /**
+   * Constructs a {@code GameExecutor} with one render worker per spare processor.
+   */
+  public GameExecutor() {
+    this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+  }
+
+  /**
+   * Constructs a {@code GameExecutor}.
+   *
+   * @param renderWorkers the number of threads that draw map tiles
+   */
+  public GameExecutor(int renderWorkers) {
+    logic = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "game-logic");
+      thread.setDaemon(true);
+      gameThread = thread;
+      return thread;
+    });
+    render = Executors.newFixedThreadPool(renderWorkers, daemonThreads("map-render-"));
+  }
+
+  /**
+   * Runs a task on the game thread.
+   *
+   * @param task the task to run
+   */
+  public void execute(Runnable task) {
+    logic.execute(task);
+  }
+
+  /**
+   * Runs a task on the game thread and returns its result.
+   *
+   * @param <T>  the type of the result
+   * @param task the task to run
+   * @return a future that completes on the game thread with the task's result
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    return CompletableFuture.supplyAsync(task, logic);
+  }
+
+  /**
+   * Checks if the calling thread is the game thread.
+   *
+   * @return {@code true} if called from the game thread, {@code false} otherwise
+   */
+  public boolean isGameThread() {
+    return Thread.currentThread() == gameThread;
+  }
+
+  /**
+   * Gets the pool that draws map tiles.
+   *
+   * @return the render workers
+   */
+  public ExecutorService getRenderWorkers() {
+    return render;
+  }
+
+  /**
+   * Runs a task on the Swing event thread, directly if already on it.
+   *
+   * @param task the task to run
+   */
+  public static void onEdt(Runnable task) {
+    if (SwingUtilities.isEventDispatchThread()) {
+      task.run();
+    } else {
+      SwingUtilities.invokeLater(task);
+    }
+  }
+
+  /**
+   * Stops the game thread and the render workers once their queued tasks are done.
+   */
+  public void shutdown() {
+    logic.shutdown();
+    render.shutdown();
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -1,11 +1,13 @@
 package controller;
 
 import character.ImTargetCharacter;
+import item.ImItem;
 import java.awt.image.BufferedImage;
 import java.util.List;
 import player.PlayerImpl;
 import space.ImSpace;
-import view.GameView;
+import view.ImGameView;
+import world.ImWorld;
 import world.World;
 
 /**
@@ -23,8 +25,9 @@ public interface ImGameController {
   void addPlayer(PlayerImpl player);
 
   /**
-   * Plays a single turn in the game, alternating between players.
-   * Also moves the target character and the pet after each turn.
+   * Queues the turn of the current player, alternating between players. An AI turn runs
+   * and ends on its own; a human turn ends when the player moves, attacks or picks up an
+   * item. Each ended turn queues the next one until the game is over.
    */
   void playTurn();
 
@@ -64,6 +67,14 @@ public interface ImGameController {
    */
   public boolean attemptAttack();
 
+  /**
+   * Attempts an attack by the human player of a session.
+   *
+   * @param session the session of the attacking player.
+   * @return {@code true} if the attack is successful, {@code false} otherwise.
+   */
+  public boolean attemptAttack(int session);
+
   /**
    * Gets a description of the specified player.
    *
@@ -80,19 +91,50 @@ public interface ImGameController {
   public BufferedImage getWorldMap();
 
   /**
-   * Gets the names of items available in the player's current space.
+   * Retrieves the game world.
+   *
+   * @return the world the game is played in.
+   */
+  public ImWorld getWorld();
+
+  /**
+   * Gets the executor that runs the game logic and draws the map off the event thread.
+   *
+   * @return the game's executor.
+   */
+  public GameExecutor getExecutor();
+
+  /**
+   * Gets the items available in the player's current space.
    *
-   * @return a list of item names.
+   * @return a list of the items.
    */
-  public List<String> getItemsInCurrentSpace();
+  public List<ImItem> getItemsInCurrentSpace();
 
   /**
-   * Attempts to pick up an item by its name in the current space.
+   * Gets the items in the space of the human player of a session.
    *
-   * @param itemName the name of the item to pick up.
+   * @param session the session of the player.
+   * @return a list of the items.
+   */
+  public List<ImItem> getItemsInCurrentSpace(int session);
+
+  /**
+   * Attempts to pick up an item by its id in the current space.
+   *
+   * @param itemId the id of the item to pick up.
    * @return {@code true} if the item {@code false} otherwise.
    */
-  public boolean pickUpItem(String itemName);
+  public boolean pickUpItem(int itemId);
+
+  /**
+   * Has the human player of a session pick up an item by its id.
+   *
+   * @param session the session of the player.
+   * @param itemId  the id of the item to pick up.
+   * @return {@code true} if the item was picked up, {@code false} otherwise.
+   */
+  public boolean pickUpItem(int session, int itemId);
 
   /**
    * Moves the player to the specified target space.
@@ -102,6 +144,15 @@ public interface ImGameController {
    */
   public boolean movePlayerTo(ImSpace targetSpace);
 
+  /**
+   * Moves the human player of a session to the specified target space.
+   *
+   * @param session     the session of the player.
+   * @param targetSpace the space to move the player to.
+   * @return {@code true} if the player moved, {@code false} otherwise.
+   */
+  public boolean movePlayerTo(int session, ImSpace targetSpace);
+
   /**
    * Retrieves the neighboring spaces of the human player.
    *
@@ -109,12 +160,20 @@ public interface ImGameController {
    */
   public List<ImSpace> getHumanPlayerNeighbors();
 
+  /**
+   * Retrieves the neighboring spaces of the human player of a session.
+   *
+   * @param session the session of the player.
+   * @return a list of neighboring spaces.
+   */
+  public List<ImSpace> getHumanPlayerNeighbors(int session);
+
   /**
    * Sets the view for the game.
    *
-   * @param view the {@code GameView} to set.
+   * @param view the {@code ImGameView} to set.
    */
-  public void setView(GameView view);
+  public void setView(ImGameView view);
   
   public void setupListeners();
 
@@ -0,0 +1,122 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import player.PlayerImpl;
+
+/**
+ * PlayerRegistry maps the session of each player in a game to the player, so an action from
+ * a session finds its player without searching the player list. Sessions are numbered from
+ * 0 in the order the players join, which is also the order they take turns in.
+ * <p>
+ * The registry keeps the human and AI players in separate lists as well. The first human
+ * to join is the local player, the one the single-player view acts for.
+ * </p>
+ */
+public final class PlayerRegistry {
+  /** The session returned for a player that is not registered. */
+  public static final int NO_SESSION = -1;
+
+  private final List<PlayerImpl> players = new ArrayList<>();
+  private final List<PlayerImpl> humans = new ArrayList<>();
+  private final List<PlayerImpl> ais = new ArrayList<>();
+  private final Map<PlayerImpl, Integer> sessions = new IdentityHashMap<>();
+
+  /**
+   * Registers a player and opens a session for them.
+   *
+   * @param player the player joining the game
+   * @return the session of the player
+   * @throws IllegalArgumentException if the player is already registered
+   */
+  public int register(PlayerImpl player) {
+    if (sessions.containsKey(player)) {
+      throw new IllegalArgumentException(player.getName() + " is already registered.");
+    }
+    int session = players.size();
+    players.add(player);
+    sessions.put(player, session);
+    (player.isAi ? ais : humans).add(player);
+    return session;
+  }
+
+  /**
+   * Gets the player of a session.
+   *
+   * @param session the session
+   * @return the player, or {@code null} if there is no such session
+   */
+  public PlayerImpl get(int session) {
+    return session >= 0 && session < players.size() ? players.get(session) : null;
+  }
+
+  /**
+   * Gets the human player of a session.
+   *
+   * @param session the session
+   * @return the player, or {@code null} if there is no such session or its player is an AI
+   */
+  public PlayerImpl getHuman(int session) {
+    PlayerImpl player = get(session);
+    return player == null || player.isAi ? null : player;
+  }
+
+  /**
+   * Gets the session of a player.
+   *
+   * @param player the player
+   * @return the session, or {@link #NO_SESSION} if the player is not registered
+   */
+  public int getSession(PlayerImpl player) {
+    Integer session = sessions.get(player);
+    return session == null ? NO_SESSION : session;
+  }
+
+  /**
+   * Gets the session of the local player, the first human to join.
+   *
+   * @return the session, or {@link #NO_SESSION} if no human has joined
+   */
+  public int getLocalSession() {
+    return humans.isEmpty() ? NO_SESSION : sessions.get(humans.get(0));
+  }
+
+  /**
+   * Gets every player in turn order.
+   *
+   * @return an unmodifiable view of the players
+   */
+  public List<PlayerImpl> getPlayers() {
+    return Collections.unmodifiableList(players);
+  }
+
+  /**
+   * Gets the human players in the order they joined.
+   *
+   * @return an unmodifiable view of the human players
+   */
+  public List<PlayerImpl> getHumans() {
+    return Collections.unmodifiableList(humans);
+  }
+
+  /**
+   * Gets the AI players in the order they joined.
+   *
+   * @return an unmodifiable view of the AI players
+   */
+  public List<PlayerImpl> getAis() {
+    return Collections.unmodifiableList(ais);
+  }
+
+  /**
+   * Gets the number of players.
+   *
+   * @return the number of players
+   */
+  public int size() {
+    return players.size();
+  }
+}
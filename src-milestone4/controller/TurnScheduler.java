@@ -0,0 +1,119 @@
+package controller;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * TurnScheduler runs the steps of the game loop from a queue instead of having each step
+ * call the next. A step that leads to another, such as an AI turn ending and the next turn
+ * starting, queues it and returns, so the stack stays the same depth however many turns are
+ * played in a row.
+ * <p>
+ * The queue is drained in ticks on the game thread. A tick runs at most a fixed number of
+ * steps; if more are waiting, the next tick is queued behind the tasks already on the game
+ * thread, so a long streak of AI turns never holds back the player's actions.
+ * </p>
+ */
+public final class TurnScheduler {
+  /** The number of steps a tick runs by default. */
+  public static final int DEFAULT_BUDGET = 256;
+
+  private final Executor gameThread;
+  private final int budget;
+  private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+  private boolean tickQueued;
+  private long ticks;
+
+  /**
+   * Constructs a {@code TurnScheduler} with the default budget.
+   *
+   * @param gameThread runs the ticks; must run tasks one at a time, in order
+   */
+  public TurnScheduler(Executor gameThread) {
+    this(gameThread, DEFAULT_BUDGET);
+  }
+
+  /**
+   * Constructs a {@code TurnScheduler}.
+   *
+   * @param gameThread runs the ticks; must run tasks one at a time, in order
+   * @param budget     the most steps one tick runs
+   * @throws IllegalArgumentException if the budget is not positive
+   */
+  public TurnScheduler(Executor gameThread, int budget) {
+    if (budget <= 0) {
+      throw new IllegalArgumentException("Budget must be positive.");
+    }
+    this.gameThread = gameThread;
+    this.budget = budget;
+  }
+
+  /**
+   * Queues a step of the game loop. It runs after the steps already queued.
+   *
+   * @param step the step to run
+   */
+  public void schedule(Runnable step) {
+    synchronized (queue) {
+      queue.add(step);
+      if (tickQueued) {
+        return;
+      }
+      tickQueued = true;
+    }
+    gameThread.execute(this::tick);
+  }
+
+  /**
+   * Drops every step that has not run yet, for example when a new game starts.
+   */
+  public void clear() {
+    synchronized (queue) {
+      queue.clear();
+    }
+  }
+
+  /**
+   * Gets the number of steps waiting to run.
+   *
+   * @return the number of queued steps
+   */
+  public int getPending() {
+    synchronized (queue) {
+      return queue.size();
+    }
+  }
+
+  /**
+   * Gets the number of ticks run so far.
+   *
+   * @return the number of ticks
+   */
+  public long getTicks() {
+    synchronized (queue) {
+      return ticks;
+    }
+  }
+
+  private void tick() {
+    for (int run = 0; run < budget; run++) {
+      Runnable step;
+      synchronized (queue) {
+        step = queue.poll();
+        if (step == null) {
+          break;
+        }
+      }
+      step.run();
+    }
+    synchronized (queue) {
+      ticks++;
+      if (queue.isEmpty()) {
+        tickQueued = false;
+        return;
+      }
+    }
+    // Let the tasks queued on the game thread in the meantime run before the next tick.
+    gameThread.execute(this::tick);
+  }
+}
@@ -20,4 +20,12 @@ public interface ImItem {
    * @return the name of the item
    */
   String getName();
+
+  /**
+   * Gets the id of the item. An item read from a world file has its position in the
+   * file's item list as its id; other items have negative ids.
+   *
+   * @return the id of the item
+   */
+  int getId();
 }
\ No newline at end of file
@@ -1,25 +1,48 @@
 package item;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * This class represents an item in the world.
  * Each item has a name and a damage value, which defines 
  * how much damage it does to the target character.
  */
 public class Item implements ImItem {
+  private static final AtomicInteger LAST_UNLISTED_ID = new AtomicInteger();
+
+  private final int id;
   private String name;
   private int damage;
 
   /**
-   * Constructs a new item with the specified name and damage value.
+   * Constructs a new item with the specified name and damage value. The item is given a
+   * negative id of its own, which never clashes with the id of an item in a world file.
    *
    * @param name the name of the item
    * @param damage the amount of damage this item can deal to the target character
    */
   public Item(String name, int damage) {
+    this(LAST_UNLISTED_ID.decrementAndGet(), name, damage);
+  }
+
+  /**
+   * Constructs a new item with the specified id, name and damage value.
+   *
+   * @param id the id of the item, its position in the world's item list
+   * @param name the name of the item
+   * @param damage the amount of damage this item can deal to the target character
+   */
+  public Item(int id, String name, int damage) {
+    this.id = id;
     this.name = name;
     this.damage = damage;
   }
 
+  @Override
+  public int getId() {
+    return id;
+  }
+
   @Override
   public int getDamage() {
     return damage;
@@ -0,0 +1,278 @@
+package loader;
+
+import character.TargetCharacter;
+import item.ImItem;
+import item.Item;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import pet.Pet;
+import space.ImSpace;
+import space.Space;
+import world.SpaceGraph;
+import world.World;
+
+/**
+ * This class reads and writes compiled world files. A compiled world holds everything
+ * needed to rebuild a {@link World} without parsing text or searching for neighbors:
+ * <pre>
+ * header        magic, version, rows, cols, world/target/pet name ids, target health,
+ *               and the number of names, spaces, items and neighbor entries
+ * names         every distinct name once, as a length followed by UTF-8 bytes
+ * spaces        upperLeftRow, upperLeftCol, lowerRightRow, lowerRightCol, name id
+ * items         space index, damage, name id
+ * adjacency     the CSR offsets and targets of the world's {@link SpaceGraph}
+ * </pre>
+ * All numbers are big-endian 32-bit integers. The file is read with a single bulk read.
+ */
+public final class BinaryWorldFormat {
+  /** The first four bytes of every compiled world file, "DLWB". */
+  public static final int MAGIC = 0x444C5742;
+  private static final int VERSION = 1;
+  private static final int HEADER_INTS = 12;
+
+  private BinaryWorldFormat() {
+  }
+
+  /**
+   * Checks whether a file starts with the compiled world magic number.
+   *
+   * @param path the file to check
+   * @return {@code true} if the file is a compiled world
+   * @throws IOException if the file cannot be read
+   */
+  public static boolean isCompiled(Path path) throws IOException {
+    try (InputStream in = Files.newInputStream(path)) {
+      byte[] magic = in.readNBytes(4);
+      return magic.length == 4 && ByteBuffer.wrap(magic).getInt() == MAGIC;
+    }
+  }
+
+  /**
+   * Writes a world to a compiled world file.
+   *
+   * @param world the world to write
+   * @param path  the file to write to
+   * @throws IOException if the file cannot be written
+   * @throws IllegalArgumentException if the world has no pet
+   */
+  public static void write(World world, Path path) throws IOException {
+    Files.write(path, toBytes(world));
+  }
+
+  /**
+   * Encodes a world in the compiled world format.
+   *
+   * @param world the world to encode
+   * @return the encoded world
+   * @throws IllegalArgumentException if the world has no pet
+   */
+  public static byte[] toBytes(World world) {
+    if (world.getPet() == null) {
+      throw new IllegalArgumentException("A compiled world needs a pet");
+    }
+    List<ImSpace> spaces = world.getSpaces();
+    List<ImItem> items = world.getItems();
+    SpaceGraph topology = world.getTopology();
+
+    Map<ImItem, Integer> itemSpaces = new IdentityHashMap<>();
+    for (int i = 0; i < spaces.size(); i++) {
+      for (ImItem item : spaces.get(i).getItems()) {
+        itemSpaces.put(item, i);
+      }
+    }
+
+    Map<String, Integer> nameIds = new HashMap<>();
+    List<String> names = new ArrayList<>();
+    int worldName = intern(world.getName(), nameIds, names);
+    int targetName = intern(world.getTargetCharacter().getName(), nameIds, names);
+    int petName = intern(world.getPet().getName(), nameIds, names);
+    int[] spaceNames = new int[spaces.size()];
+    for (int i = 0; i < spaces.size(); i++) {
+      spaceNames[i] = intern(spaces.get(i).getName(), nameIds, names);
+    }
+    int[] itemNames = new int[items.size()];
+    for (int i = 0; i < items.size(); i++) {
+      itemNames[i] = intern(items.get(i).getName(), nameIds, names);
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(world.getRows());
+      out.writeInt(world.getCols());
+      out.writeInt(worldName);
+      out.writeInt(targetName);
+      out.writeInt(world.getTargetCharacter().getHealth());
+      out.writeInt(petName);
+      out.writeInt(names.size());
+      out.writeInt(spaces.size());
+      out.writeInt(items.size());
+      out.writeInt(topology.getEdgeCount());
+
+      for (String name : names) {
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+      }
+      for (int i = 0; i < spaces.size(); i++) {
+        ImSpace space = spaces.get(i);
+        out.writeInt(space.getUpperLeftRow());
+        out.writeInt(space.getUpperLeftCol());
+        out.writeInt(space.getLowerRightRow());
+        out.writeInt(space.getLowerRightCol());
+        out.writeInt(spaceNames[i]);
+      }
+      for (int i = 0; i < items.size(); i++) {
+        ImItem item = items.get(i);
+        out.writeInt(itemSpaces.getOrDefault(item, -1));
+        out.writeInt(item.getDamage());
+        out.writeInt(itemNames[i]);
+      }
+      for (int offset : topology.getOffsets()) {
+        out.writeInt(offset);
+      }
+      for (int target : topology.getTargets()) {
+        out.writeInt(target);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Writing to memory failed", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Loads a world from a compiled world file.
+   *
+   * @param path the compiled world file
+   * @return the world
+   * @throws IOException if the file cannot be read or is not a valid compiled world
+   */
+  public static World load(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Compiled world is too large: " + size + " bytes");
+      }
+      ByteBuffer buffer = ByteBuffer.allocate((int) size);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          throw new IOException("Compiled world file ended early");
+        }
+      }
+      buffer.flip();
+      return fromBytes(buffer);
+    }
+  }
+
+  /**
+   * Decodes a world from the compiled world format. Every count is checked against the bytes
+   * left in the buffer before anything is allocated for it, so a corrupt header is reported
+   * as an error instead of running out of memory.
+   *
+   * @param buffer the encoded world, positioned at its first byte
+   * @return the world
+   * @throws IOException if the bytes are not a valid compiled world
+   */
+  public static World fromBytes(ByteBuffer buffer) throws IOException {
+    try {
+      checkRemaining(buffer, HEADER_INTS, "header");
+      int[] header = new int[HEADER_INTS];
+      buffer.asIntBuffer().get(header);
+      buffer.position(buffer.position() + HEADER_INTS * Integer.BYTES);
+      if (header[0] != MAGIC) {
+        throw new IOException("Not a compiled world file");
+      }
+      if (header[1] != VERSION) {
+        throw new IOException("Unsupported compiled world version " + header[1]);
+      }
+      int rows = header[2];
+      int cols = header[3];
+      int nameCount = header[8];
+      int spaceCount = header[9];
+      int itemCount = header[10];
+      int edgeCount = header[11];
+      if (header[7] < 0) {
+        throw new IOException("Compiled world has no pet");
+      }
+
+      // Every name takes at least its length prefix.
+      checkRemaining(buffer, nameCount, "name table");
+      String[] names = new String[nameCount];
+      for (int i = 0; i < nameCount; i++) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+          throw new IOException("Bad name length " + length);
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        names[i] = new String(utf8, StandardCharsets.UTF_8);
+      }
+
+      if (spaceCount < 0 || itemCount < 0 || edgeCount < 0) {
+        throw new IOException("Negative table size in compiled world");
+      }
+      checkRemaining(buffer, spaceCount * 6L + itemCount * 3L + 1 + edgeCount, "tables");
+      IntBuffer ints = buffer.asIntBuffer();
+      int[] spaceTable = new int[spaceCount * 5];
+      int[] itemTable = new int[itemCount * 3];
+      int[] offsets = new int[spaceCount + 1];
+      int[] targets = new int[edgeCount];
+      ints.get(spaceTable).get(itemTable).get(offsets).get(targets);
+
+      List<ImSpace> spaces = new ArrayList<>(spaceCount);
+      for (int i = 0; i < spaceCount; i++) {
+        int row = i * 5;
+        spaces.add(new Space(i, names[spaceTable[row + 4]], spaceTable[row],
+            spaceTable[row + 1], spaceTable[row + 2], spaceTable[row + 3]));
+      }
+      List<ImItem> items = new ArrayList<>(itemCount);
+      for (int i = 0; i < itemCount; i++) {
+        int row = i * 3;
+        ImItem item = new Item(i, names[itemTable[row + 2]], itemTable[row + 1]);
+        items.add(item);
+        if (itemTable[row] >= 0) {
+          spaces.get(itemTable[row]).addItem(item);
+        }
+      }
+
+      TargetCharacter targetCharacter = new TargetCharacter(names[header[5]], header[6], 0);
+      Pet pet = new Pet(names[header[7]], targetCharacter, spaces.get(0));
+      return new World(rows, cols, names[header[4]], spaces, items, targetCharacter, pet,
+          new ArrayList<>(), new SpaceGraph(offsets, targets));
+    } catch (RuntimeException e) {
+      throw new IOException("Corrupt compiled world file", e);
+    }
+  }
+
+  private static void checkRemaining(ByteBuffer buffer, long ints, String part)
+      throws IOException {
+    if (ints < 0 || ints > buffer.remaining() / Integer.BYTES) {
+      throw new IOException("Compiled world " + part + " runs past the end of the file");
+    }
+  }
+
+  private static int intern(String name, Map<String, Integer> nameIds, List<String> names) {
+    Integer id = nameIds.get(name);
+    if (id == null) {
+      id = names.size();
+      nameIds.put(name, id);
+      names.add(name);
+    }
+    return id;
+  }
+}
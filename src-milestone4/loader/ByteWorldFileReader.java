@@ -0,0 +1,144 @@
+package loader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link WorldFileReader} that takes its characters straight from a run of byte buffers,
+ * such as the segments of a memory-mapped file. The bytes are decoded as UTF-8 one
+ * character at a time, so names read the same as through a {@code Reader}; malformed
+ * sequences become U+FFFD, as they do there. A character may span two buffers.
+ */
+class ByteWorldFileReader extends WorldFileReader {
+  private static final int UNREAD = -2;
+  private static final int REPLACEMENT = 0xFFFD;
+
+  private final ByteBuffer[] segments;
+  private int segment;
+  private long consumed;
+  private int current = UNREAD;
+  private int width;
+  private char lowSurrogate;
+
+  /**
+   * Constructs a {@code ByteWorldFileReader} over the remaining bytes of the given buffers.
+   *
+   * @param segments  the buffers to read, in order
+   * @param firstLine the line number of the first byte, used in error messages
+   */
+  ByteWorldFileReader(ByteBuffer[] segments, int firstLine) {
+    super(firstLine);
+    this.segments = segments;
+  }
+
+  /**
+   * Gets the number of bytes read so far.
+   *
+   * @return the number of bytes consumed
+   */
+  long getConsumed() {
+    return consumed;
+  }
+
+  @Override
+  protected int peek() {
+    if (current == UNREAD) {
+      decode();
+    }
+    return current;
+  }
+
+  @Override
+  protected void advance() {
+    if (current == UNREAD) {
+      decode();
+    }
+    skip(width);
+    width = 0;
+    if (lowSurrogate != 0) {
+      // The bytes of a supplementary character are consumed with its high surrogate.
+      current = lowSurrogate;
+      lowSurrogate = 0;
+    } else {
+      current = UNREAD;
+    }
+  }
+
+  private void decode() {
+    int lead = byteAt(0);
+    if (lead < 0x80) {
+      current = lead;
+      width = lead < 0 ? 0 : 1;
+      return;
+    }
+    int length;
+    int min;
+    if (lead >= 0xC2 && lead <= 0xDF) {
+      length = 2;
+      min = 0x80;
+    } else if (lead >= 0xE0 && lead <= 0xEF) {
+      length = 3;
+      min = 0x800;
+    } else if (lead >= 0xF0 && lead <= 0xF4) {
+      length = 4;
+      min = 0x10000;
+    } else {
+      current = REPLACEMENT;
+      width = 1;
+      return;
+    }
+    int codePoint = lead & (0x3F >> (length - 1));
+    for (int i = 1; i < length; i++) {
+      int next = byteAt(i);
+      if (next < 0 || (next & 0xC0) != 0x80) {
+        current = REPLACEMENT;
+        width = i;
+        return;
+      }
+      codePoint = (codePoint << 6) | (next & 0x3F);
+    }
+    width = length;
+    if (codePoint < min || codePoint > Character.MAX_CODE_POINT
+        || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+      current = REPLACEMENT;
+    } else if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+      current = Character.highSurrogate(codePoint);
+      lowSurrogate = Character.lowSurrogate(codePoint);
+    } else {
+      current = codePoint;
+    }
+  }
+
+  /**
+   * Looks at a byte ahead of the current position without consuming anything.
+   *
+   * @param ahead the number of bytes to look past the current one
+   * @return the byte, or -1 past the end of the input
+   */
+  private int byteAt(int ahead) {
+    int index = segment;
+    int position = segments[index].position();
+    while (true) {
+      ByteBuffer buffer = segments[index];
+      int left = buffer.limit() - position;
+      if (ahead < left) {
+        return buffer.get(position + ahead) & 0xff;
+      }
+      ahead -= left;
+      if (index == segments.length - 1) {
+        return -1;
+      }
+      position = segments[++index].position();
+    }
+  }
+
+  private void skip(int count) {
+    for (int i = 0; i < count; i++) {
+      ByteBuffer buffer = segments[segment];
+      while (!buffer.hasRemaining()) {
+        buffer = segments[++segment];
+      }
+      buffer.position(buffer.position() + 1);
+      consumed++;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package loader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import world.World;
+
+/**
+ * This class loads very large world files by memory-mapping them and parsing the bytes
+ * in place, decoding UTF-8 as it goes instead of copying the file into characters first.
+ * Files larger than {@link #SEGMENT_SIZE} (1 GB) are mapped in several segments.
+ */
+public final class MappedWorldLoader {
+  /** The size of each mapped segment. */
+  static final long SEGMENT_SIZE = 1L << 30;
+
+  private MappedWorldLoader() {
+  }
+
+  /**
+   * Loads the world stored in the given file.
+   *
+   * @param path the world file
+   * @return the world
+   * @throws WorldFormatException if the file does not follow the world specification
+   * @throws IOException if the file cannot be read
+   */
+  public static World load(Path path) throws IOException {
+    return WorldParser.parse(new ByteWorldFileReader(map(path), 1));
+  }
+
+  /**
+   * Maps a whole file into memory, one segment per gigabyte.
+   *
+   * @param path the file to map
+   * @return the mapped segments, in order
+   * @throws IOException if the file cannot be mapped
+   */
+  static MappedByteBuffer[] map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      int segmentCount = (int) Math.max(1, (size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+      MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+      for (int i = 0; i < segmentCount; i++) {
+        long start = i * SEGMENT_SIZE;
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+            Math.min(SEGMENT_SIZE, size - start));
+      }
+      return segments;
+    }
+  }
+}
@@ -0,0 +1,319 @@
+package loader;
+
+import item.ImItem;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import space.ImSpace;
+import space.Space;
+import world.NeighborFinder;
+import world.SpaceGraph;
+import world.World;
+
+/**
+ * This class loads world files on a fork-join pool so that large worlds load using every
+ * core and without blocking the caller. Loading runs in stages:
+ * <ol>
+ *   <li>the file is memory-mapped and its line breaks are counted in parallel blocks;</li>
+ *   <li>the space and item sections are cut into chunks of lines that are parsed in
+ *       parallel;</li>
+ *   <li>once the spaces are known, the neighbor graph is built by a fork-join sweep, while
+ *       the items are still being parsed;</li>
+ *   <li>the items are placed in their spaces and the world is assembled.</li>
+ * </ol>
+ * Compiled world files are recognized and loaded directly. Lines must end in {@code \n}
+ * or {@code \r\n}.
+ */
+public class ParallelWorldLoader {
+  private static final int BLOCK_SIZE = 1 << 20;
+  private static final int LINES_PER_CHUNK = 4096;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a {@code ParallelWorldLoader} that runs on the common fork-join pool.
+   */
+  public ParallelWorldLoader() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a {@code ParallelWorldLoader} that runs on the given pool.
+   *
+   * @param pool the pool to load worlds on
+   */
+  public ParallelWorldLoader(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * Starts loading a world file in the background.
+   *
+   * @param path the world file, either text or compiled
+   * @return a future that completes with the world, or with the {@link IOException}
+   *         that stopped it from loading
+   */
+  public CompletableFuture<World> loadAsync(Path path) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        if (BinaryWorldFormat.isCompiled(path)) {
+          return CompletableFuture.completedFuture(BinaryWorldFormat.load(path));
+        }
+        return new Job(MappedWorldLoader.map(path)).start();
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, pool).thenCompose(world -> world);
+  }
+
+  /**
+   * Loads a world file, waiting until it has been loaded.
+   *
+   * @param path the world file, either text or compiled
+   * @return the world
+   * @throws IOException if the file cannot be read or does not follow the world specification
+   */
+  public World load(Path path) throws IOException {
+    try {
+      return loadAsync(path).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * The state of loading one file.
+   */
+  private final class Job {
+    private final ByteBuffer[] segments;
+    private final long size;
+    private long[] linesBefore;
+
+    private WorldParser.Header header;
+    private int firstSpaceLine;
+    private Space[] spaces;
+    private int[] top;
+    private int[] left;
+    private int[] bottom;
+    private int[] right;
+    private ImItem[] items;
+    private int[] itemSpaces;
+
+    Job(ByteBuffer[] segments) {
+      this.segments = segments;
+      long total = 0;
+      for (ByteBuffer segment : segments) {
+        total += segment.limit();
+      }
+      this.size = total;
+    }
+
+    CompletableFuture<World> start() throws IOException {
+      indexLines();
+
+      ByteWorldFileReader in = reader(0);
+      header = WorldParser.readHeader(in);
+      int spaceCount = WorldParser.readSpaceCount(in);
+      firstSpaceLine = in.getLine() - 1;
+      checkLinesLeft(spaceCount, firstSpaceLine, "space");
+      spaces = new Space[spaceCount];
+      top = new int[spaceCount];
+      left = new int[spaceCount];
+      bottom = new int[spaceCount];
+      right = new int[spaceCount];
+
+      CompletableFuture<SpaceGraph> topology = parseChunks(firstSpaceLine, spaceCount,
+          this::parseSpaces)
+          .thenApply(done -> NeighborFinder.buildGraph(top, left, bottom, right, pool));
+
+      ByteWorldFileReader itemIn = reader(firstSpaceLine + spaceCount);
+      int itemCount = WorldParser.readCount(itemIn, "item");
+      int firstItemLine = itemIn.getLine() - 1;
+      checkLinesLeft(itemCount, firstItemLine, "item");
+      items = new ImItem[itemCount];
+      itemSpaces = new int[itemCount];
+      CompletableFuture<Void> itemsParsed = parseChunks(firstItemLine, itemCount,
+          this::parseItems).thenRun(() -> checkEnd(firstItemLine + itemCount));
+
+      return topology.thenCombine(itemsParsed, (graph, done) -> assemble(graph));
+    }
+
+    /**
+     * Counts the line breaks in each block of the file so that the start of any line can
+     * be found by scanning a single block.
+     */
+    private void indexLines() {
+      int blocks = (int) ((size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+      long[] counts = new long[blocks + 1];
+      pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(block -> {
+        long end = Math.min(size, (long) (block + 1) * BLOCK_SIZE);
+        long count = 0;
+        for (long offset = (long) block * BLOCK_SIZE; offset < end; offset++) {
+          if (byteAt(offset) == '\n') {
+            count++;
+          }
+        }
+        counts[block + 1] = count;
+      })).join();
+      Arrays.parallelPrefix(counts, Long::sum);
+      linesBefore = counts;
+    }
+
+    /**
+     * Checks that the file has a line for every entry a count promises, so that a corrupt
+     * count is reported before the tables for it are allocated.
+     *
+     * @param count     the number of entries
+     * @param firstLine the line of the first entry, counting from 0; this is also the line
+     *                  of the count, counting from 1
+     * @param what      what is being counted, for error messages
+     * @throws WorldFormatException if fewer lines are left than the count
+     */
+    private void checkLinesLeft(int count, int firstLine, String what)
+        throws WorldFormatException {
+      // The last line may not end in a line break, so it is counted separately.
+      long linesLeft = linesBefore[linesBefore.length - 1] + 1 - firstLine;
+      if (count > linesLeft) {
+        throw new WorldFormatException("Only " + Math.max(0, linesLeft) + " lines left for "
+            + count + " " + what + "s", firstLine, 1);
+      }
+    }
+
+    /**
+     * Finds the byte offset where a line starts.
+     *
+     * @param line the line, counting from 0
+     * @return the offset of the line, or the file size if the file has fewer lines
+     */
+    private long lineOffset(long line) {
+      if (line == 0) {
+        return 0;
+      }
+      int block = Arrays.binarySearch(linesBefore, line);
+      block = block >= 0 ? block : -block - 2;
+      // Step back to the block holding the break that ends the previous line.
+      while (block > 0 && linesBefore[block] >= line) {
+        block--;
+      }
+      if (block >= linesBefore.length - 1) {
+        return size;
+      }
+      long seen = linesBefore[block];
+      for (long offset = (long) block * BLOCK_SIZE; offset < size; offset++) {
+        if (byteAt(offset) == '\n' && ++seen == line) {
+          return offset + 1;
+        }
+      }
+      return size;
+    }
+
+    private CompletableFuture<Void> parseChunks(int firstLine, int count, ChunkParser parser) {
+      List<CompletableFuture<Void>> chunks = new ArrayList<>();
+      for (int from = 0; from < count; from += LINES_PER_CHUNK) {
+        int chunkFrom = from;
+        int chunkTo = Math.min(count, from + LINES_PER_CHUNK);
+        chunks.add(CompletableFuture.runAsync(() -> {
+          try {
+            parser.parse(reader(firstLine + chunkFrom), chunkFrom, chunkTo);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }, pool));
+      }
+      return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+          .exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause instanceof UncheckedIOException) {
+              throw new CompletionException(cause.getCause());
+            }
+            throw new CompletionException(cause);
+          });
+    }
+
+    private void parseSpaces(ByteWorldFileReader in, int from, int to) throws IOException {
+      for (int i = from; i < to; i++) {
+        Space space = WorldParser.readSpace(in, i);
+        top[i] = space.getUpperLeftRow();
+        left[i] = space.getUpperLeftCol();
+        bottom[i] = space.getLowerRightRow();
+        right[i] = space.getLowerRightCol();
+        spaces[i] = space;
+      }
+    }
+
+    private void parseItems(ByteWorldFileReader in, int from, int to) throws IOException {
+      for (int i = from; i < to; i++) {
+        itemSpaces[i] = WorldParser.readSpaceIndex(in, spaces.length);
+        items[i] = WorldParser.readItem(in, i);
+      }
+    }
+
+    private void checkEnd(int line) {
+      try {
+        ByteWorldFileReader in = reader(line);
+        if (!in.isAtEnd()) {
+          throw new CompletionException(
+              in.error("Unexpected text after the last item", in.getColumn()));
+        }
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }
+
+    private World assemble(SpaceGraph topology) {
+      List<ImSpace> spaceList = new ArrayList<>(Arrays.asList(spaces));
+      List<ImItem> itemList = new ArrayList<>(Arrays.asList(items));
+      for (int i = 0; i < items.length; i++) {
+        spaces[itemSpaces[i]].addItem(items[i]);
+      }
+      return header.createWorld(spaceList, itemList, topology);
+    }
+
+    /**
+     * Creates a reader over the file starting at the given line.
+     *
+     * @param line the line to start at, counting from 0
+     * @return the reader
+     */
+    private ByteWorldFileReader reader(long line) {
+      long from = lineOffset(line);
+      List<ByteBuffer> views = new ArrayList<>();
+      for (int i = 0; i < segments.length; i++) {
+        long segmentStart = i * MappedWorldLoader.SEGMENT_SIZE;
+        long segmentEnd = segmentStart + segments[i].limit();
+        if (segmentEnd > from) {
+          ByteBuffer view = segments[i].duplicate();
+          view.position((int) Math.max(0, from - segmentStart));
+          views.add(view);
+        }
+      }
+      if (views.isEmpty()) {
+        views.add(ByteBuffer.allocate(0));
+      }
+      return new ByteWorldFileReader(views.toArray(new ByteBuffer[0]), (int) line + 1);
+    }
+
+    private byte byteAt(long offset) {
+      return segments[(int) (offset / MappedWorldLoader.SEGMENT_SIZE)]
+          .get((int) (offset % MappedWorldLoader.SEGMENT_SIZE));
+    }
+  }
+
+  /**
+   * Parses a chunk of lines of one section.
+   */
+  private interface ChunkParser {
+    void parse(ByteWorldFileReader in, int from, int to) throws IOException;
+  }
+}
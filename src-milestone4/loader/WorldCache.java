@@ -0,0 +1,293 @@
+package loader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import log.GameLog;
+import world.World;
+
+/**
+ * This class keeps compiled copies of world files on disk, keyed by a SHA-256 hash of the
+ * file's bytes. Loading a file that was loaded before skips parsing and the neighbor
+ * search entirely: the cached copy already holds the spaces, their adjacency and where
+ * every item is placed. A file that changes gets a new hash, so its old entry is never
+ * read again.
+ * <p>
+ * On a miss the world is encoded before it is returned, so later changes made by the game
+ * do not reach the cache, and the entry is written to disk in the background. A program
+ * that exits straight after loading may not leave an entry behind, which only costs a
+ * parse next time.
+ * </p>
+ * <p>
+ * Each hit marks its entry as recently used. After every miss, entries not used within
+ * the maximum age are deleted, and then the least recently used entries are deleted until
+ * at most the maximum number remain. Entries that cannot be decoded, such as those written
+ * by an older version of the compiled format, are deleted and counted as misses.
+ * </p>
+ */
+public class WorldCache {
+  private static final GameLog LOG = GameLog.forClass(WorldCache.class);
+  private static final String SUFFIX = ".dlw";
+  private static final int HASH_BUFFER_SIZE = 1 << 16;
+
+  private final Path directory;
+  private final int maxEntries;
+  private final Duration maxAge;
+  private final ParallelWorldLoader loader;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final Set<CompletableFuture<Void>> writes = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Constructs a {@code WorldCache} in the default directory, keeping up to 16 worlds
+   * for up to 30 days.
+   */
+  public WorldCache() {
+    this(defaultDirectory(), 16, Duration.ofDays(30), new ParallelWorldLoader());
+  }
+
+  /**
+   * Constructs a {@code WorldCache}.
+   *
+   * @param directory  the directory to keep the cached worlds in
+   * @param maxEntries the most worlds to keep
+   * @param maxAge     how long an unused world is kept
+   * @param loader     the loader used on a miss
+   * @throws IllegalArgumentException if maxEntries is less than 1
+   */
+  public WorldCache(Path directory, int maxEntries, Duration maxAge,
+      ParallelWorldLoader loader) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("The cache must hold at least one world");
+    }
+    this.directory = directory;
+    this.maxEntries = maxEntries;
+    this.maxAge = maxAge;
+    this.loader = loader;
+  }
+
+  /**
+   * Gets the default cache directory, {@code .world-cache} in the user's home directory.
+   *
+   * @return the default directory
+   */
+  public static Path defaultDirectory() {
+    return Paths.get(System.getProperty("user.home"), ".world-cache");
+  }
+
+  /**
+   * Starts loading a world file in the background, from the cache if possible.
+   *
+   * @param path the world file, either text or compiled
+   * @return a future that completes with the world, or with the {@link IOException}
+   *         that stopped it from loading
+   */
+  public CompletableFuture<World> loadAsync(Path path) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        if (BinaryWorldFormat.isCompiled(path)) {
+          // Already compiled, so there is nothing to save by caching it.
+          return loader.loadAsync(path);
+        }
+        Path entry = directory.resolve(hash(path) + SUFFIX);
+        World cached = readEntry(entry);
+        if (cached != null) {
+          hits.incrementAndGet();
+          return CompletableFuture.completedFuture(cached);
+        }
+        misses.incrementAndGet();
+        return loader.loadAsync(path).thenApply(world -> {
+          writeEntryAsync(entry, world);
+          return world;
+        });
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }).thenCompose(world -> world);
+  }
+
+  /**
+   * Loads a world file, from the cache if possible, waiting until it has been loaded.
+   *
+   * @param path the world file, either text or compiled
+   * @return the world
+   * @throws IOException if the file cannot be read or does not follow the world specification
+   */
+  public World load(Path path) throws IOException {
+    try {
+      return loadAsync(path).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Waits until every cache entry started so far has been written.
+   */
+  public void flush() {
+    CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
+  }
+
+  /**
+   * Gets the number of loads answered from the cache.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * Gets the number of loads that had to parse the world file.
+   *
+   * @return the number of misses
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Hashes the bytes of a file. The file is read through a small buffer rather than mapped,
+   * so it is not held open or locked once the hash is known.
+   *
+   * @param path the file to hash
+   * @return the SHA-256 hash in hexadecimal
+   * @throws IOException if the file cannot be read
+   */
+  static String hash(Path path) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+      while (channel.read(buffer) >= 0) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+      }
+    }
+    StringBuilder hex = new StringBuilder();
+    for (byte b : digest.digest()) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+  private World readEntry(Path entry) {
+    if (!Files.isRegularFile(entry)) {
+      return null;
+    }
+    try {
+      World world = BinaryWorldFormat.load(entry);
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+      return world;
+    } catch (IOException e) {
+      // A damaged or outdated entry is rebuilt from the world file.
+      deleteQuietly(entry);
+      return null;
+    }
+  }
+
+  private void writeEntryAsync(Path entry, World world) {
+    byte[] bytes = BinaryWorldFormat.toBytes(world);
+    String name = world.getName();
+    CompletableFuture<Void> write = CompletableFuture.runAsync(
+        () -> writeEntry(entry, name, bytes));
+    writes.add(write);
+    write.whenComplete((ignored, e) -> writes.remove(write));
+  }
+
+  private void writeEntry(Path entry, String name, byte[] bytes) {
+    try {
+      Files.createDirectories(directory);
+      // Write to a temporary file first so that a reader never sees half an entry.
+      Path temp = Files.createTempFile(directory, "world", ".tmp");
+      try {
+        Files.write(temp, bytes);
+        Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        deleteQuietly(temp);
+      }
+      evict(entry);
+    } catch (IOException e) {
+      // The cache only saves time; failing to write it must not fail the load.
+      LOG.warn(() -> "Could not cache world " + name + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Deletes the entries that are too old, then the least recently used entries beyond
+   * the maximum number. The entry just written is always kept.
+   *
+   * @param written the entry just written
+   * @throws IOException if the cache directory cannot be listed
+   */
+  private synchronized void evict(Path written) throws IOException {
+    List<Path> entries = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+      for (Path entry : stream) {
+        if (!entry.equals(written)) {
+          entries.add(entry);
+        }
+      }
+    }
+    long oldest = System.currentTimeMillis() - maxAge.toMillis();
+    List<Path> kept = new ArrayList<>();
+    List<Long> used = new ArrayList<>();
+    for (Path entry : entries) {
+      long lastUsed;
+      try {
+        lastUsed = Files.getLastModifiedTime(entry).toMillis();
+      } catch (IOException e) {
+        continue;
+      }
+      if (lastUsed < oldest) {
+        deleteQuietly(entry);
+      } else {
+        kept.add(entry);
+        used.add(lastUsed);
+      }
+    }
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < kept.size(); i++) {
+      order.add(i);
+    }
+    order.sort(Comparator.comparingLong(used::get).reversed());
+    for (int i = maxEntries - 1; i < order.size(); i++) {
+      deleteQuietly(kept.get(order.get(i)));
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      // Another load may be using it; it will be evicted later.
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package loader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import world.World;
+
+/**
+ * The {@code WorldCompiler} class converts a world specification text file into a
+ * compiled world file that {@link BinaryWorldFormat#load(Path)} can load directly.
+ * <p>
+ * Usage: {@code java loader.WorldCompiler mansion.txt mansion.dlw}
+ * </p>
+ */
+public final class WorldCompiler {
+
+  private WorldCompiler() {
+  }
+
+  /**
+   * Compiles a world file.
+   *
+   * @param args the text world file to read and the compiled file to write
+   */
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      System.err.println("Usage: java loader.WorldCompiler <world.txt> <world.dlw>");
+      System.exit(2);
+    }
+    try {
+      World world = compile(Paths.get(args[0]), Paths.get(args[1]));
+      System.out.println("Compiled " + world.getName() + ": " + world.getSpaces().size()
+          + " spaces, " + world.getItems().size() + " items.");
+    } catch (IOException e) {
+      System.err.println("Failed to compile " + args[0] + ": " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Parses a text world file and writes it in the compiled format.
+   *
+   * @param source the world specification text file
+   * @param target the compiled world file to write
+   * @return the compiled world
+   * @throws IOException if the source cannot be parsed or the target cannot be written
+   */
+  public static World compile(Path source, Path target) throws IOException {
+    World world = MappedWorldLoader.load(source);
+    BinaryWorldFormat.write(world, target);
+    return world;
+  }
+}
@@ -0,0 +1,236 @@
+package loader;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * This class reads the tokens of a world file in a single pass over its characters.
+ * Numbers are parsed straight from the buffer and names are only turned into strings
+ * when they are asked for, so reading a line allocates at most the name it contains.
+ * Errors are reported with the line and column where they occur.
+ */
+public class WorldFileReader {
+  private static final int BUFFER_SIZE = 8192;
+
+  private final Reader reader;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final StringBuilder name = new StringBuilder();
+  private int position;
+  private int limit;
+  private int line;
+  private int column = 1;
+
+  /**
+   * Constructs a {@code WorldFileReader} that reads from the given reader.
+   *
+   * @param reader the source of the world file
+   */
+  public WorldFileReader(Reader reader) {
+    this.reader = reader;
+    this.line = 1;
+  }
+
+  /**
+   * Constructs a {@code WorldFileReader} for a subclass that supplies its own characters
+   * by overriding {@link #peek()} and {@link #advance()}.
+   *
+   * @param firstLine the line number of the first character, used in error messages
+   */
+  protected WorldFileReader(int firstLine) {
+    this.reader = null;
+    this.line = firstLine;
+  }
+
+  /**
+   * Reads a whole number, skipping any spaces or tabs before it.
+   *
+   * @return the number
+   * @throws WorldFormatException if the next token is not a number
+   * @throws IOException if the file cannot be read
+   */
+  public int readInt() throws IOException {
+    skipSpaces();
+    int startColumn = column;
+    boolean negative = false;
+    if (peek() == '-') {
+      negative = true;
+      next();
+    }
+    int c = peek();
+    if (c < '0' || c > '9') {
+      throw error("Expected a number", startColumn);
+    }
+    long value = 0;
+    while (c >= '0' && c <= '9') {
+      value = value * 10 + (c - '0');
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        throw error("Number is too large", startColumn);
+      }
+      next();
+      c = peek();
+    }
+    value = negative ? -value : value;
+    if (value > Integer.MAX_VALUE) {
+      throw error("Number is too large", startColumn);
+    }
+    if (c != -1 && c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+      throw error("Expected a number", startColumn);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads the rest of the current line as a name and moves to the next line.
+   * Leading and trailing spaces are dropped and runs of spaces are collapsed into one.
+   *
+   * @return the name
+   * @throws WorldFormatException if the rest of the line is empty
+   * @throws IOException if the file cannot be read
+   */
+  public String readName() throws IOException {
+    skipSpaces();
+    int startColumn = column;
+    name.setLength(0);
+    boolean pendingSpace = false;
+    int c = peek();
+    while (c != -1 && c != '\r' && c != '\n') {
+      if (c == ' ' || c == '\t') {
+        pendingSpace = true;
+      } else {
+        if (pendingSpace) {
+          name.append(' ');
+          pendingSpace = false;
+        }
+        name.append((char) c);
+      }
+      next();
+      c = peek();
+    }
+    if (name.length() == 0) {
+      throw error("Expected a name", startColumn);
+    }
+    endLine();
+    return name.toString();
+  }
+
+  /**
+   * Moves to the next line, expecting nothing but spaces before the line break.
+   *
+   * @throws WorldFormatException if the line has more tokens
+   * @throws IOException if the file cannot be read
+   */
+  public void endLine() throws IOException {
+    skipSpaces();
+    int c = peek();
+    if (c == -1) {
+      return;
+    }
+    if (c != '\r' && c != '\n') {
+      throw error("Unexpected text", column);
+    }
+    next();
+    if (c == '\r' && peek() == '\n') {
+      next();
+    }
+    line++;
+    column = 1;
+  }
+
+  /**
+   * Skips blank lines and checks whether anything is left to read.
+   *
+   * @return {@code true} if the end of the file has been reached
+   * @throws IOException if the file cannot be read
+   */
+  public boolean isAtEnd() throws IOException {
+    while (true) {
+      skipSpaces();
+      int c = peek();
+      if (c != '\r' && c != '\n') {
+        return c == -1;
+      }
+      endLine();
+    }
+  }
+
+  /**
+   * Gets the line of the next character to be read.
+   *
+   * @return the line number, starting at 1
+   */
+  public int getLine() {
+    return line;
+  }
+
+  /**
+   * Gets the column of the next character to be read.
+   *
+   * @return the column number, starting at 1
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * Creates an exception describing a problem on the current line.
+   *
+   * @param message     the description of the problem
+   * @param errorColumn the column where the problem starts
+   * @return the exception
+   */
+  public WorldFormatException error(String message, int errorColumn) {
+    return new WorldFormatException(message, line, errorColumn);
+  }
+
+  private void skipSpaces() throws IOException {
+    int c = peek();
+    while (c == ' ' || c == '\t') {
+      next();
+      c = peek();
+    }
+  }
+
+  private void next() {
+    advance();
+    column++;
+  }
+
+  /**
+   * Looks at the next character without consuming it.
+   *
+   * @return the next character, or -1 at the end of the input
+   * @throws IOException if the file cannot be read
+   */
+  protected int peek() throws IOException {
+    if (position == limit && !fill()) {
+      return -1;
+    }
+    return buffer[position];
+  }
+
+  /**
+   * Consumes the character returned by the last call to {@link #peek()}.
+   */
+  protected void advance() {
+    position++;
+  }
+
+  /**
+   * Refills the buffer once everything in it has been read.
+   *
+   * @return {@code false} if the end of the input has been reached
+   * @throws IOException if the file cannot be read
+   */
+  private boolean fill() throws IOException {
+    int count = reader.read(buffer, 0, buffer.length);
+    while (count == 0) {
+      count = reader.read(buffer, 0, buffer.length);
+    }
+    if (count < 0) {
+      return false;
+    }
+    position = 0;
+    limit = count;
+    return true;
+  }
+}
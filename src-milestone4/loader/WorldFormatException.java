@@ -0,0 +1,45 @@
+package loader;
+
+import java.io.IOException;
+
+/**
+ * This exception is thrown when a world file does not follow the world specification.
+ * It records the line and column where the problem was found.
+ */
+public class WorldFormatException extends IOException {
+  private static final long serialVersionUID = 1L;
+
+  private final int line;
+  private final int column;
+
+  /**
+   * Constructs a {@code WorldFormatException} for a problem at the given position.
+   *
+   * @param message the description of the problem
+   * @param line    the line number, starting at 1
+   * @param column  the column number, starting at 1
+   */
+  public WorldFormatException(String message, int line, int column) {
+    super(message + " at line " + line + ", column " + column);
+    this.line = line;
+    this.column = column;
+  }
+
+  /**
+   * Gets the line where the problem was found.
+   *
+   * @return the line number, starting at 1
+   */
+  public int getLine() {
+    return line;
+  }
+
+  /**
+   * Gets the column where the problem was found.
+   *
+   * @return the column number, starting at 1
+   */
+  public int getColumn() {
+    return column;
+  }
+}
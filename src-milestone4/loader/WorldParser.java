@@ -0,0 +1,191 @@
+package loader;
+
+import character.TargetCharacter;
+import item.ImItem;
+import item.Item;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import pet.Pet;
+import space.ImSpace;
+import space.Space;
+import world.SpaceGraph;
+import world.World;
+
+/**
+ * This class builds a {@link World} from a world file. The file lists the world's size and
+ * name, the target character, the pet, the spaces and the items, in that order:
+ * <pre>
+ * rows cols world name
+ * health target character name
+ * pet name
+ * number of spaces
+ * upperLeftRow upperLeftCol lowerRightRow lowerRightCol space name   (one line per space)
+ * number of items
+ * space index damage item name                                       (one line per item)
+ * </pre>
+ */
+public final class WorldParser {
+
+  private WorldParser() {
+  }
+
+  /**
+   * Parses a world from the given reader.
+   *
+   * @param in the reader positioned at the start of the world file
+   * @return the world
+   * @throws WorldFormatException if the file does not follow the world specification
+   * @throws IOException if the file cannot be read
+   */
+  public static World parse(WorldFileReader in) throws IOException {
+    Header header = readHeader(in);
+
+    int numberOfSpaces = readSpaceCount(in);
+    // The counts come from the file, so the lists grow as lines are read instead of being
+    // sized up front; a count larger than the file runs into its end and is reported there.
+    List<ImSpace> spaces = new ArrayList<>();
+    for (int i = 0; i < numberOfSpaces; i++) {
+      spaces.add(readSpace(in, i));
+    }
+
+    int numberOfItems = readCount(in, "item");
+    List<ImItem> items = new ArrayList<>();
+    for (int i = 0; i < numberOfItems; i++) {
+      int spaceIndex = readSpaceIndex(in, numberOfSpaces);
+      ImItem item = readItem(in, i);
+      items.add(item);
+      spaces.get(spaceIndex).addItem(item);
+    }
+    if (!in.isAtEnd()) {
+      throw in.error("Unexpected text after the last item", in.getColumn());
+    }
+
+    return header.createWorld(spaces, items, null);
+  }
+
+  /**
+   * Reads the world, target character and pet lines at the top of a world file.
+   *
+   * @param in the reader positioned at the start of the world file
+   * @return the header
+   * @throws IOException if the lines cannot be read or are malformed
+   */
+  static Header readHeader(WorldFileReader in) throws IOException {
+    Header header = new Header();
+    header.rows = in.readInt();
+    header.cols = in.readInt();
+    header.worldName = in.readName();
+    header.characterHealth = in.readInt();
+    header.characterName = in.readName();
+    header.petName = in.readName();
+    return header;
+  }
+
+  /**
+   * Reads the line holding the number of spaces.
+   *
+   * @param in the reader positioned at the space count
+   * @return the number of spaces
+   * @throws IOException if the count cannot be read or is not positive
+   */
+  static int readSpaceCount(WorldFileReader in) throws IOException {
+    int numberOfSpaces = readCount(in, "space");
+    if (numberOfSpaces == 0) {
+      throw in.error("A world needs at least one space", 1);
+    }
+    return numberOfSpaces;
+  }
+
+  /**
+   * Reads one space line.
+   *
+   * @param in the reader positioned at the start of a space line
+   * @param id the id of the space
+   * @return the space
+   * @throws IOException if the line cannot be read or is malformed
+   */
+  static Space readSpace(WorldFileReader in, int id) throws IOException {
+    int upperLeftRow = in.readInt();
+    int upperLeftCol = in.readInt();
+    int lowerRightRow = in.readInt();
+    int lowerRightCol = in.readInt();
+    String spaceName = in.readName();
+    return new Space(id, spaceName, upperLeftRow, upperLeftCol, lowerRightRow, lowerRightCol);
+  }
+
+  /**
+   * Reads the space index at the start of an item line.
+   *
+   * @param in         the reader positioned at the start of an item line
+   * @param spaceCount the number of spaces in the world
+   * @return the index of the space holding the item
+   * @throws IOException if the index cannot be read or does not name a space
+   */
+  static int readSpaceIndex(WorldFileReader in, int spaceCount) throws IOException {
+    int column = in.getColumn();
+    int spaceIndex = in.readInt();
+    if (spaceIndex < 0 || spaceIndex >= spaceCount) {
+      throw in.error("Invalid space index " + spaceIndex, column);
+    }
+    return spaceIndex;
+  }
+
+  /**
+   * Reads the damage and name that follow the space index of an item line.
+   *
+   * @param in the reader positioned after the space index
+   * @param id the position of the item in the item list
+   * @return the item
+   * @throws IOException if the rest of the line cannot be read or is malformed
+   */
+  static ImItem readItem(WorldFileReader in, int id) throws IOException {
+    int damage = in.readInt();
+    return new Item(id, in.readName(), damage);
+  }
+
+  /**
+   * Reads a line holding a count.
+   *
+   * @param in   the reader positioned at the count
+   * @param what what is being counted, for error messages
+   * @return the count
+   * @throws IOException if the count cannot be read or is negative
+   */
+  static int readCount(WorldFileReader in, String what) throws IOException {
+    int column = in.getColumn();
+    int count = in.readInt();
+    if (count < 0) {
+      throw in.error("Invalid number of " + what + "s: " + count, column);
+    }
+    in.endLine();
+    return count;
+  }
+
+  /**
+   * The world, target character and pet details from the top of a world file.
+   */
+  static final class Header {
+    private int rows;
+    private int cols;
+    private String worldName;
+    private int characterHealth;
+    private String characterName;
+    private String petName;
+
+    /**
+     * Creates the world described by this header.
+     *
+     * @param spaces   the spaces of the world, holding their items
+     * @param items    all items of the world
+     * @param topology the neighbors of every space, or {@code null} to compute them
+     * @return the world
+     */
+    World createWorld(List<ImSpace> spaces, List<ImItem> items, SpaceGraph topology) {
+      TargetCharacter targetCharacter = new TargetCharacter(characterName, characterHealth, 0);
+      Pet pet = new Pet(petName, targetCharacter, spaces.get(0));
+      return new World(rows, cols, worldName, spaces, items, targetCharacter, pet,
+          new ArrayList<>(), topology);
+    }
+  }
+}
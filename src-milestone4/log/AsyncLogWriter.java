@@ -0,0 +1,207 @@
+package log;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncLogWriter prints log messages on a background thread. Threads that log put their
+ * messages into a fixed-size ring buffer without taking a lock, and a single writer thread
+ * takes them out in order and prints them. If the ring is full because the console cannot
+ * keep up, new messages are dropped and counted rather than slowing the game down, and the
+ * writer reports how many were lost.
+ */
+public final class AsyncLogWriter implements AutoCloseable {
+  private static final int DEFAULT_CAPACITY = 8192;
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final DateTimeFormatter TIME =
+      DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+  private final AtomicReferenceArray<Message> ring;
+  private final int mask;
+  // The next slot to claim; only producers move it.
+  private final AtomicLong tail = new AtomicLong();
+  // The next slot to print; only the writer thread moves it.
+  private volatile long head;
+  private final AtomicLong dropped = new AtomicLong();
+  private long droppedReported;
+  private final PrintStream out;
+  private final PrintStream err;
+  private final Thread thread;
+  private volatile boolean idle;
+  private volatile boolean closed;
+
+  /**
+   * Constructs a writer and starts its thread.
+   *
+   * @param capacity the number of messages the ring can hold; rounded up to a power of two,
+   *                 and at least 2
+   * @param out      the stream for debug and info messages
+   * @param err      the stream for warnings and errors
+   */
+  public AsyncLogWriter(int capacity, PrintStream out, PrintStream err) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+    this.ring = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.out = out;
+    this.err = err;
+    this.thread = new Thread(this::drain, "log-writer");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * Creates a writer that prints to the console and flushes when the program exits.
+   *
+   * @return the writer
+   */
+  static AsyncLogWriter console() {
+    AsyncLogWriter writer = new AsyncLogWriter(DEFAULT_CAPACITY, System.out, System.err);
+    Runtime.getRuntime().addShutdownHook(new Thread(writer::close, "log-shutdown"));
+    return writer;
+  }
+
+  /**
+   * Queues a message to be printed. This never blocks.
+   *
+   * @param level   the level of the message
+   * @param logger  the name of the logger
+   * @param message the message
+   * @param cause   an exception to print after the message, or {@code null}
+   * @return {@code true} if the message was queued, {@code false} if it was dropped
+   */
+  public boolean write(Level level, String logger, String message, Throwable cause) {
+    Message entry = new Message(System.currentTimeMillis(), level, logger, message, cause);
+    long slot;
+    do {
+      slot = tail.get();
+      if (slot - head > mask || closed) {
+        dropped.incrementAndGet();
+        return false;
+      }
+    } while (!tail.compareAndSet(slot, slot + 1));
+    // The writer waits for the slot to be filled, so the claim and the store need not be atomic.
+    ring.set((int) slot & mask, entry);
+    if (idle) {
+      LockSupport.unpark(thread);
+    }
+    return true;
+  }
+
+  /**
+   * Waits until every message queued before this call has been printed.
+   */
+  public void flush() {
+    long target = tail.get();
+    while (head < target && thread.isAlive()) {
+      LockSupport.unpark(thread);
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+    }
+  }
+
+  /**
+   * Gets the number of slots in the ring, after rounding.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return ring.length();
+  }
+
+  /**
+   * Gets the number of messages dropped because the ring was full.
+   *
+   * @return the number of dropped messages
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Prints the queued messages and stops the writer thread.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(thread);
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void drain() {
+    while (true) {
+      long next = head;
+      Message entry = next < tail.get() ? ring.get((int) next & mask) : null;
+      if (entry != null) {
+        ring.set((int) next & mask, null);
+        print(entry);
+        head = next + 1;
+        continue;
+      }
+      if (next < tail.get()) {
+        // A producer has claimed the slot but not stored its message yet.
+        Thread.onSpinWait();
+        continue;
+      }
+      reportDropped();
+      out.flush();
+      err.flush();
+      if (closed) {
+        return;
+      }
+      idle = true;
+      if (head == tail.get() && !closed) {
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+      }
+      idle = false;
+    }
+  }
+
+  private void print(Message entry) {
+    PrintStream stream = entry.level.compareTo(Level.WARN) >= 0 ? err : out;
+    stream.println(TIME.format(Instant.ofEpochMilli(entry.time)) + " " + entry.level + " "
+        + entry.logger + ": " + entry.message);
+    if (entry.cause != null) {
+      entry.cause.printStackTrace(stream);
+    }
+  }
+
+  private void reportDropped() {
+    long total = dropped.get();
+    if (total != droppedReported) {
+      err.println(TIME.format(Instant.now()) + " WARN AsyncLogWriter: "
+          + (total - droppedReported) + " log messages dropped because the console fell behind");
+      droppedReported = total;
+    }
+  }
+
+  /**
+   * One queued log message.
+   */
+  private static final class Message {
+    private final long time;
+    private final Level level;
+    private final String logger;
+    private final String message;
+    private final Throwable cause;
+
+    Message(long time, Level level, String logger, String message, Throwable cause) {
+      this.time = time;
+      this.level = level;
+      this.logger = logger;
+      this.message = message;
+      this.cause = cause;
+    }
+  }
+}
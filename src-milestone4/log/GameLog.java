@@ -0,0 +1,144 @@
+package log;
+
+import java.util.function.Supplier;
+
+/**
+ * GameLog writes the game's debug and status messages. Messages are passed as suppliers, so
+ * a message below the current level costs one comparison and is never built. Messages that
+ * are written are handed to an {@link AsyncLogWriter}, which prints them on its own thread,
+ * so the game never waits for the console.
+ *
+ * <p>The level is read from the {@code game.logLevel} system property. Without it, the level
+ * is {@link Level#INFO}, or {@link Level#WARN} when {@code game.simulation} is {@code true},
+ * so headless simulations stay quiet.
+ */
+public final class GameLog {
+  private static volatile Level level = defaultLevel();
+  private static volatile AsyncLogWriter writer = AsyncLogWriter.console();
+
+  private final String name;
+
+  private GameLog(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Gets a logger named after a class.
+   *
+   * @param owner the class that writes the messages
+   * @return the logger
+   */
+  public static GameLog forClass(Class<?> owner) {
+    return new GameLog(owner.getSimpleName());
+  }
+
+  /**
+   * Gets the level below which messages are dropped.
+   *
+   * @return the current level
+   */
+  public static Level getLevel() {
+    return level;
+  }
+
+  /**
+   * Sets the level below which messages are dropped.
+   *
+   * @param newLevel the new level
+   */
+  public static void setLevel(Level newLevel) {
+    if (newLevel == null) {
+      throw new IllegalArgumentException("Level cannot be null.");
+    }
+    level = newLevel;
+  }
+
+  /**
+   * Sends all later messages to another writer. The old writer is flushed first.
+   *
+   * @param newWriter the writer to use
+   * @return the writer that was in use before
+   */
+  public static AsyncLogWriter setWriter(AsyncLogWriter newWriter) {
+    if (newWriter == null) {
+      throw new IllegalArgumentException("Writer cannot be null.");
+    }
+    AsyncLogWriter old = writer;
+    writer = newWriter;
+    old.flush();
+    return old;
+  }
+
+  /**
+   * Waits until every message logged so far has been written.
+   */
+  public static void flush() {
+    writer.flush();
+  }
+
+  /**
+   * Checks if messages at a level are written.
+   *
+   * @param messageLevel the level to check
+   * @return {@code true} if messages at that level are written, {@code false} otherwise
+   */
+  public boolean isEnabled(Level messageLevel) {
+    return messageLevel != Level.OFF && messageLevel.compareTo(level) >= 0;
+  }
+
+  /**
+   * Logs a debug message.
+   *
+   * @param message builds the message; only called if debug messages are written
+   */
+  public void debug(Supplier<String> message) {
+    log(Level.DEBUG, message, null);
+  }
+
+  /**
+   * Logs an informational message.
+   *
+   * @param message builds the message; only called if info messages are written
+   */
+  public void info(Supplier<String> message) {
+    log(Level.INFO, message, null);
+  }
+
+  /**
+   * Logs a warning.
+   *
+   * @param message builds the message; only called if warnings are written
+   */
+  public void warn(Supplier<String> message) {
+    log(Level.WARN, message, null);
+  }
+
+  /**
+   * Logs an error together with its cause.
+   *
+   * @param message builds the message; only called if errors are written
+   * @param cause   the exception that caused the error, or {@code null}
+   */
+  public void error(Supplier<String> message, Throwable cause) {
+    log(Level.ERROR, message, cause);
+  }
+
+  private void log(Level messageLevel, Supplier<String> message, Throwable cause) {
+    if (isEnabled(messageLevel)) {
+      // Build the message here, while the state it describes is still current.
+      writer.write(messageLevel, name, message.get(), cause);
+    }
+  }
+
+  private static Level defaultLevel() {
+    String configured = System.getProperty("game.logLevel");
+    if (configured != null) {
+      try {
+        return Level.valueOf(configured.trim().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        System.err.println("Unknown log level " + configured + ", using INFO.");
+      }
+    }
+    return Boolean.getBoolean("game.simulation") ? Level.WARN : Level.INFO;
+  }
+}
@@ -0,0 +1,17 @@
+package log;
+
+/**
+ * The importance of a log message. A logger writes the messages at or above its level.
+ */
+public enum Level {
+  /** Details that are only useful when tracing a problem. */
+  DEBUG,
+  /** Ordinary game events. */
+  INFO,
+  /** Something went wrong, but the game can carry on. */
+  WARN,
+  /** Something failed. */
+  ERROR,
+  /** Used as a level to write nothing at all. */
+  OFF
+}
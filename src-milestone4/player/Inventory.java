@@ -0,0 +1,137 @@
+package player;
+
+import item.ImItem;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inventory holds the items a player carries. Besides the list in pick-up order, it keeps
+ * the items in a max-heap by damage, so the strongest weapon is found in constant time and
+ * used up in logarithmic time. Between weapons of equal damage, the one picked up first
+ * is the stronger.
+ */
+public final class Inventory {
+  private final List<ImItem> items = new ArrayList<>();
+  private final List<ImItem> itemsView = Collections.unmodifiableList(items);
+  private ImItem[] heap = new ImItem[4];
+  private long[] pickedUp = new long[4];
+  private int size;
+  private long pickUps;
+
+  /**
+   * Adds an item to the inventory.
+   *
+   * @param item the item picked up
+   */
+  public void add(ImItem item) {
+    if (size == heap.length) {
+      heap = Arrays.copyOf(heap, size * 2);
+      pickedUp = Arrays.copyOf(pickedUp, size * 2);
+    }
+    items.add(item);
+    heap[size] = item;
+    pickedUp[size] = pickUps++;
+    siftUp(size++);
+  }
+
+  /**
+   * Gets the strongest weapon without removing it.
+   *
+   * @return the item with the most damage, or {@code null} if the inventory is empty
+   */
+  public ImItem peekStrongest() {
+    return size == 0 ? null : heap[0];
+  }
+
+  /**
+   * Removes the strongest weapon, as when it is used in an attack.
+   *
+   * @return the item with the most damage, or {@code null} if the inventory is empty
+   */
+  public ImItem removeStrongest() {
+    if (size == 0) {
+      return null;
+    }
+    ImItem strongest = heap[0];
+    size--;
+    heap[0] = heap[size];
+    pickedUp[0] = pickedUp[size];
+    heap[size] = null;
+    siftDown(0);
+    // A player carries a handful of items, so finding it in the list is cheap.
+    items.remove(strongest);
+    return strongest;
+  }
+
+  /**
+   * Gets the items in the order they were picked up.
+   *
+   * @return a read-only view of the items
+   */
+  public List<ImItem> asList() {
+    return itemsView;
+  }
+
+  /**
+   * Counts the items in the inventory.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether the inventory is empty.
+   *
+   * @return {@code true} if there are no items, {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private boolean stronger(int a, int b) {
+    int damageA = heap[a].getDamage();
+    int damageB = heap[b].getDamage();
+    return damageA > damageB || (damageA == damageB && pickedUp[a] < pickedUp[b]);
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!stronger(index, parent)) {
+        return;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  private void siftDown(int index) {
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= size) {
+        return;
+      }
+      if (child + 1 < size && stronger(child + 1, child)) {
+        child++;
+      }
+      if (!stronger(child, index)) {
+        return;
+      }
+      swap(index, child);
+      index = child;
+    }
+  }
+
+  private void swap(int a, int b) {
+    ImItem item = heap[a];
+    heap[a] = heap[b];
+    heap[b] = item;
+    long order = pickedUp[a];
+    pickedUp[a] = pickedUp[b];
+    pickedUp[b] = order;
+  }
+}
@@ -4,6 +4,7 @@ import character.ImTargetCharacter;
 import item.ImItem;
 import java.util.List;
 import space.ImSpace;
+import world.ImWorld;
 import world.World;
 
 /**
@@ -27,12 +28,34 @@ public interface Player {
   ImSpace getCurrentSpace();
 
   /**
-   * Gets the list of items the player is carrying.
+   * Gets the list of items the player is carrying. The list is a read-only view that
+   * follows the player's items, so copy it to keep a snapshot.
    *
-   * @return a list of items.
+   * @return a read-only list of items.
    */
   List<ImItem> getItems();
 
+  /**
+   * Counts the items the player is carrying.
+   *
+   * @return the number of items.
+   */
+  int getItemCount();
+
+  /**
+   * Gets the carried item that does the most damage.
+   *
+   * @return the best weapon, or {@code null} if the player carries nothing.
+   */
+  ImItem getBestWeapon();
+
+  /**
+   * Removes the carried item that does the most damage, as when it is used in an attack.
+   *
+   * @return the weapon used, or {@code null} if the player carries nothing.
+   */
+  ImItem useBestWeapon();
+
   /**
    * Retrieves the maximum number of items the player can carry.
    *
@@ -78,21 +101,20 @@ public interface Player {
   /**
    * Attempts to attack the target character in the specified world.
    *
-   * @param target     the target character to attack.
-   * @param world      the game world where the attempt occurs.
-   * @param allPlayers the list of all players in the game.
+   * @param target the target character to attack.
+   * @param world  the game world where the attempt occurs.
    * @return {@code true} if the attack is successful, {@code false} otherwise.
    */
-  boolean attemptKill(ImTargetCharacter target, 
-      World world, List<PlayerImpl> allPlayers);
+  boolean attemptKill(ImTargetCharacter target, World world);
 
   /**
-   * Checks if the player can see another player.
+   * Checks if the player can see another player, using the world's adjacency index.
    *
    * @param other the other player to check visibility for.
+   * @param world the world both players are in.
    * @return {@code true} if the other player is visible, {@code false} otherwise.
    */
-  boolean canSee(Player other);
+  boolean canSee(Player other, ImWorld world);
 
   /**
    * Picks up an available item in the player's current space.
@@ -3,23 +3,26 @@ package player;
 import character.ImTargetCharacter;
 import item.ImItem;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import log.GameLog;
 import space.ImSpace;
+import world.ImWorld;
 import world.World;
 
 /**
  * This class represents a player in the game, which can be either a human or an AI.
  */
 public class PlayerImpl implements Player {
+  private static final GameLog LOG = GameLog.forClass(PlayerImpl.class);
   public boolean isAi;
   private String name;
   private ImSpace currentSpace;
-  private List<ImItem> items;
+  private final Inventory inventory = new Inventory();
   private int maxItems;
-  private Random random = new Random();
+  private final RandomGenerator random;
   
   /**
    * Constructs a {@code PlayerImpl} object with the specified attributes.
@@ -34,9 +37,25 @@ public class PlayerImpl implements Player {
    *                                  or if {@code maxItems} is negative.
    */
   public PlayerImpl(String name, ImSpace startingSpace, int maxItems, boolean isAi) {
+    this(name, startingSpace, maxItems, isAi, new SplittableRandom());
+  }
+
+  /**
+   * Constructs a {@code PlayerImpl} object whose AI choices come from the given stream,
+   * usually the player's stream from the game's {@link world.GameRandom}, so that a seeded
+   * game replays exactly.
+   *
+   * @param name          the name of the player; must not be {@code null}.
+   * @param startingSpace the initial {@code ImSpace} where the player starts.
+   * @param maxItems      the maximum number of items the player can hold.
+   * @param isAi          {@code true} if the player is controlled by AI.
+   * @param random        the stream of the player's random choices.
+   */
+  public PlayerImpl(String name, ImSpace startingSpace, int maxItems, boolean isAi,
+      RandomGenerator random) {
+    this.random = random;
     this.name = name;
     this.currentSpace = startingSpace;
-    this.items = new ArrayList<>();
     this.maxItems = maxItems;
     this.isAi = isAi;
   }
@@ -48,11 +67,10 @@ public class PlayerImpl implements Player {
   
   @Override
   public void pickUpAvailableItem() {
-    List<ImItem> itemsInSpace = currentSpace.getItems();
-    if (!itemsInSpace.isEmpty() && canCarryMoreItems()) {
-      pickUpItem(itemsInSpace.get(0));
+    if (currentSpace.getItemCount() > 0 && canCarryMoreItems()) {
+      pickUpItem(currentSpace.getItems().get(0));
     } else {
-      System.out.println("No items to pick up or inventory is full.");
+      LOG.debug(() -> name + " has no items to pick up or a full inventory.");
     }
   }
 
@@ -63,7 +81,22 @@ public class PlayerImpl implements Player {
 
   @Override
   public List<ImItem> getItems() {
-    return new ArrayList<>(items); // Return a copy for immutability
+    return inventory.asList();
+  }
+
+  @Override
+  public int getItemCount() {
+    return inventory.size();
+  }
+
+  @Override
+  public ImItem getBestWeapon() {
+    return inventory.peekStrongest();
+  }
+
+  @Override
+  public ImItem useBestWeapon() {
+    return inventory.removeStrongest();
   }
 
   @Override
@@ -73,7 +106,7 @@ public class PlayerImpl implements Player {
 
   @Override
   public boolean canCarryMoreItems() {
-    return items.size() < maxItems;
+    return inventory.size() < maxItems;
   }
 
   @Override
@@ -92,98 +125,94 @@ public class PlayerImpl implements Player {
 
   @Override
   public void lookAround(World world) {
-    System.out.println("Looking around...");
+    LOG.info(() -> name + " is looking around " + currentSpace.getName());
     for (ImSpace neighbor : currentSpace.getNeighbors()) {
-      System.out.println(world.getSpaceInfo(neighbor));
+      // What the player sees is game output, so it is shown at the default level
+      LOG.info(() -> world.getSpaceInfo(neighbor));
     }
   }
 
 
   @Override
-  public boolean attemptKill(ImTargetCharacter target, World world, List<PlayerImpl> allPlayers) {
+  public boolean attemptKill(ImTargetCharacter target, World world) {
     ImSpace targetSpace = world.getSpace(target.getCurrentSpace());
     if (currentSpace != targetSpace) {
-      System.out.println("Doctor Lucky is not in the same space.");
+      LOG.info(() -> "Doctor Lucky is not in the same space as " + name + ".");
       return false;
     }
-    for (PlayerImpl player : allPlayers) {
-      if (player != this && player.getCurrentSpace() == currentSpace) {
-        System.out.println("Other players are present. Attack failed.");
+    for (PlayerImpl player : world.getPlayersIn(currentSpace)) {
+      if (player != this) {
+        LOG.info(() -> "Other players are present. " + name + "'s attack failed.");
         return false;
       }
     }
-    ImItem bestWeapon = items.stream().max(Comparator.comparingInt(ImItem::getDamage)).orElse(null);
+    ImItem bestWeapon = useBestWeapon();
     int damage = (bestWeapon != null) ? bestWeapon.getDamage() : 1;
-    if (bestWeapon != null) {
-      items.remove(bestWeapon);
-    }
     target.takeDamage(damage);
-    System.out.println("Attack succeeded. Damage: " + damage);
+    LOG.info(() -> name + "'s attack succeeded. Damage: " + damage);
     return true;
   }
 
 
   @Override
-  public boolean canSee(Player other) {
-    return this.currentSpace == other.getCurrentSpace() 
-            || currentSpace.getNeighbors().contains(other.getCurrentSpace());
+  public boolean canSee(Player other, ImWorld world) {
+    return this.currentSpace == other.getCurrentSpace()
+            || world.isAdjacent(currentSpace, other.getCurrentSpace());
   }
 
   /**
    * Handles the player's turn.
    *
-   * @param world      the game world
-   * @param allPlayers the list of all players
+   * @param world the game world
    * @return {@code true} if an attack occurred; otherwise, {@code false}
    */
-  public boolean takeTurn(World world, List<PlayerImpl> allPlayers) {
+  public boolean takeTurn(World world) {
     if (isAi) {
-      return takeAiTurn(world, allPlayers);
+      return takeAiTurn(world);
     } else {
-      return takeHumanTurn(world, allPlayers);
+      return takeHumanTurn(world);
     }
   }
 
-  private boolean takeAiTurn(World world, List<PlayerImpl> allPlayers) {
-    System.out.println(name + " (AI) is thinking...");
+  private boolean takeAiTurn(World world) {
+    LOG.debug(() -> name + " (AI) is thinking...");
 
     ImTargetCharacter target = world.getTargetCharacter();
-    Random random = new Random();
     int choice = random.nextInt(4) + 1; // Randomly select an action (1 to 4)
 
     switch (choice) {
       case 1: // Move
-        moveToRandomNeighbor();
-        System.out.println(name + " (AI) moved to: " + currentSpace.getName());
+        moveToRandomNeighbor(world);
+        LOG.info(() -> name + " (AI) moved to: " + currentSpace.getName());
         break;
       case 2: // Look around
         lookAround(world); // Pass the world object
-        System.out.println(name + " (AI) looked around.");
+        LOG.info(() -> name + " (AI) looked around.");
         break;
       case 3: // Pick up an item
-        List<ImItem> itemsInSpace = currentSpace.getItems();
-        if (!itemsInSpace.isEmpty()) {
-          pickUpItem(itemsInSpace.get(0)); // AI picks the first available item
-          System.out.println(name + " (AI) picked up: " + itemsInSpace.get(0).getName());
+        if (currentSpace.getItemCount() > 0) {
+          ImItem item = currentSpace.getItems().get(0); // AI picks the first available item
+          pickUpItem(item);
+          LOG.info(() -> name + " (AI) picked up: " + item.getName());
         } else {
-          System.out.println(name + " (AI) found no items to pick up.");
+          LOG.info(() -> name + " (AI) found no items to pick up.");
         }
         break;
       case 4: // Attack
         if (currentSpace == world.getSpace(target.getCurrentSpace())) {
-          System.out.println(name + " (AI) is attempting to attack Doctor Lucky.");
-          return attemptKill(target, world, allPlayers); // Pass arguments in the correct order
+          LOG.info(() -> name + " (AI) is attempting to attack Doctor Lucky.");
+          return attemptKill(target, world); // Pass arguments in the correct order
         } else {
-          System.out.println(name + " (AI) cannot attack. Doctor Lucky is not in the same room.");
+          LOG.info(() -> name + " (AI) cannot attack. Doctor Lucky is not in the same room.");
         }
         break;
       default:
-        System.out.println(name + " (AI) did nothing due to invalid choice.");
+        LOG.warn(() -> name + " (AI) did nothing due to invalid choice.");
     }
     return false;
   }
 
-  private boolean takeHumanTurn(World world, List<PlayerImpl> allPlayers) {
+  private boolean takeHumanTurn(World world) {
     System.out.println("Your turn, " + name + "! Select an action:");
     System.out.println("1. Move");
     System.out.println("2. Look around");
@@ -194,7 +223,7 @@ public class PlayerImpl implements Player {
 
     switch (choice) {
       case 1:
-        moveToSelectedNeighbor();
+        moveToSelectedNeighbor(world);
         break;
       case 2:
         lookAround(world); // Pass the world object
@@ -220,7 +249,7 @@ public class PlayerImpl implements Player {
       case 4:
         ImTargetCharacter target = world.getTargetCharacter();
         if (currentSpace == world.getSpace(target.getCurrentSpace())) {
-          return attemptKill(target, world, allPlayers); // Pass arguments in the correct order
+          return attemptKill(target, world); // Pass arguments in the correct order
         } else {
           System.out.println("Doctor Lucky is not in the same room. You cannot attack.");
         }
@@ -231,7 +260,7 @@ public class PlayerImpl implements Player {
     return false;
   }
 
-  private void moveToSelectedNeighbor() {
+  private void moveToSelectedNeighbor(World world) {
     List<ImSpace> neighbors = currentSpace.getNeighbors();
     if (neighbors.isEmpty()) {
       System.out.println("No neighboring spaces to move to.");
@@ -246,40 +275,39 @@ public class PlayerImpl implements Player {
     int choice = new Scanner(System.in).nextInt() - 1;
 
     if (choice >= 0 && choice < neighbors.size()) {
-      moveTo(neighbors.get(choice));
+      world.movePlayer(this, neighbors.get(choice));
       System.out.println("Moved to: " + neighbors.get(choice).getName());
     } else {
       System.out.println("Invalid choice. Stay in the current space.");
     }
   }
 
-  private void moveToRandomNeighbor() {
+  private void moveToRandomNeighbor(World world) {
     List<ImSpace> neighbors = currentSpace.getNeighbors();
     if (!neighbors.isEmpty()) {
       ImSpace newSpace = neighbors.get(random.nextInt(neighbors.size()));
-      moveTo(newSpace);
+      world.movePlayer(this, newSpace);
     }
   }
   
   @Override
   public void pickUpItem(ImItem item) {
     if (canCarryMoreItems()) {
-      items.add(item);
+      inventory.add(item);
       currentSpace.removeItem(item);
-      System.out.println("Picked up item: " + item.getName());
+      LOG.info(() -> name + " picked up item: " + item.getName());
     } else {
-      System.out.println("Cannot carry more items.");
+      LOG.info(() -> name + " cannot carry more items.");
     }
   }
 
 
   private void pickUpRandomItem() {
-    List<ImItem> spaceItems = currentSpace.getItems();
-    if (!spaceItems.isEmpty()) {
-      ImItem itemToPick = spaceItems.get(0); // Pick the first item
+    if (currentSpace.getItemCount() > 0) {
+      ImItem itemToPick = currentSpace.getItems().get(0); // Pick the first item
       pickUpItem(itemToPick);
     } else {
-      System.out.println("No items available to pick up in the current space.");
+      LOG.debug(() -> "No items available to pick up in " + currentSpace.getName());
     }
   }
 }
@@ -0,0 +1,152 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import loader.MappedWorldLoader;
+import log.GameLog;
+import log.Level;
+import world.GameRandom;
+
+/**
+ * MonteCarloRunner plays a large number of independent AI-only games on all cores of a
+ * fork-join pool. The range of games is split in half until the pieces are small, and idle
+ * threads steal pieces from busy ones.
+ * <p>
+ * Each game gets a fresh copy of the world and its own {@link GameRandom}, seeded with
+ * {@code GameRandom.mix(masterSeed, game)} just as the engine seeds its own games. A game's
+ * outcome therefore depends only on those two values, never on which thread played it, and
+ * the same master seed always gives the same statistics. Outcomes are added to one
+ * {@link SimulationStats} per thread, which are merged once all games are done, so the
+ * threads never contend on shared counters.
+ * </p>
+ * <p>
+ * Usage: {@code java simulation.MonteCarloRunner mansion.txt [games] [masterSeed]}
+ * </p>
+ */
+public class MonteCarloRunner {
+  private static final int GAMES_PER_TASK = 64;
+
+  private final SimulationEngine engine;
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a {@code MonteCarloRunner} that uses the common fork-join pool.
+   *
+   * @param engine the engine that plays each game
+   */
+  public MonteCarloRunner(SimulationEngine engine) {
+    this(engine, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a {@code MonteCarloRunner}.
+   *
+   * @param engine the engine that plays each game
+   * @param pool   the pool to play the games in
+   */
+  public MonteCarloRunner(SimulationEngine engine, ForkJoinPool pool) {
+    this.engine = engine;
+    this.pool = pool;
+  }
+
+  /**
+   * Plays games with a master seed taken from the clock.
+   *
+   * @param games the number of games to play
+   * @return the statistics of all games
+   */
+  public SimulationStats run(long games) {
+    return run(games, System.nanoTime());
+  }
+
+  /**
+   * Plays games. The same master seed always gives the same statistics.
+   *
+   * @param games      the number of games to play
+   * @param masterSeed the seed that every game's seed is derived from
+   * @return the statistics of all games
+   */
+  public SimulationStats run(long games, long masterSeed) {
+    Queue<SimulationStats> perThread = new ConcurrentLinkedQueue<>();
+    ThreadLocal<SimulationStats> local = ThreadLocal.withInitial(() -> {
+      SimulationStats stats = new SimulationStats(engine.getPlayers());
+      perThread.add(stats);
+      return stats;
+    });
+    pool.invoke(new GameRange(0, games, masterSeed, local));
+
+    SimulationStats total = new SimulationStats(engine.getPlayers());
+    for (SimulationStats stats : perThread) {
+      total.merge(stats);
+    }
+    return total;
+  }
+
+  /**
+   * Plays games on a world file on every core and prints their statistics.
+   *
+   * @param args the world file, then optionally the number of games and the master seed
+   */
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.err.println("Usage: java simulation.MonteCarloRunner <world.txt> [games] [seed]");
+      System.exit(2);
+    }
+    GameLog.setLevel(Level.WARN);
+    long games = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000;
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+    try {
+      SimulationEngine engine = new SimulationEngine(SimulationEngine.copiesOf(
+          MappedWorldLoader.load(Paths.get(args[0]))), 2, 5, 1_000, seed);
+      MonteCarloRunner runner = new MonteCarloRunner(engine);
+      runner.run(Math.max(1, games / 10), seed); // Warm up
+
+      long start = System.nanoTime();
+      SimulationStats stats = runner.run(games, seed);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.println(stats);
+      System.out.printf("%.2f s on %d threads: %.0f games/s%n", seconds,
+          runner.pool.getParallelism(), games / seconds);
+    } catch (IOException e) {
+      System.err.println("Failed to load " + args[0] + ": " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Plays a range of games, splitting it until each piece is small.
+   */
+  private final class GameRange extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final long from;
+    private final long to;
+    private final long masterSeed;
+    private final transient ThreadLocal<SimulationStats> local;
+
+    GameRange(long from, long to, long masterSeed, ThreadLocal<SimulationStats> local) {
+      this.from = from;
+      this.to = to;
+      this.masterSeed = masterSeed;
+      this.local = local;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= GAMES_PER_TASK) {
+        SimulationStats stats = local.get();
+        for (long game = from; game < to; game++) {
+          stats.add(engine.playGame(new GameRandom(GameRandom.mix(masterSeed, game))));
+        }
+        return;
+      }
+      long middle = (from + to) >>> 1;
+      invokeAll(new GameRange(from, middle, masterSeed, local),
+          new GameRange(middle, to, masterSeed, local));
+    }
+  }
+}
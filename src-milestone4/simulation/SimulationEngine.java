@@ -0,0 +1,187 @@
+package simulation;
+
+import character.ImTargetCharacter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import loader.BinaryWorldFormat;
+import loader.MappedWorldLoader;
+import log.GameLog;
+import log.Level;
+import player.PlayerImpl;
+import world.GameRandom;
+import world.World;
+
+/**
+ * SimulationEngine plays games between AI players only, with no view. It follows the
+ * controller's rules: players act in turn order, and after each turn the target character
+ * escapes from the next player if that player is in or next to its room. Nothing is drawn
+ * and nothing is written to a game log, so a game costs only its game logic. Run with
+ * {@code -Dgame.simulation=true}, or set the {@link GameLog} level, to keep the debug log
+ * quiet as well.
+ * <p>
+ * Usage: {@code java simulation.SimulationEngine mansion.txt [games] [maxTurns] [players]}
+ * </p>
+ */
+public class SimulationEngine {
+  private final Supplier<World> worldFactory;
+  private final int players;
+  private final int maxItems;
+  private final int maxTurns;
+  private final long seed;
+  private long gamesPlayed;
+
+  /**
+   * Constructs a {@code SimulationEngine}.
+   *
+   * @param worldFactory creates a fresh world for each game
+   * @param players      the number of AI players
+   * @param maxItems     the number of items each player can carry
+   * @param maxTurns     the number of turns after which a game ends without a winner
+   * @param seed         the seed that each game's seed is derived from; the same seed
+   *                     replays the same games
+   * @throws IllegalArgumentException if there are no players or turns
+   */
+  public SimulationEngine(Supplier<World> worldFactory, int players, int maxItems,
+      int maxTurns, long seed) {
+    if (players <= 0 || maxTurns <= 0) {
+      throw new IllegalArgumentException("A game needs at least one player and one turn.");
+    }
+    this.worldFactory = worldFactory;
+    this.players = players;
+    this.maxItems = maxItems;
+    this.maxTurns = maxTurns;
+    this.seed = seed;
+  }
+
+  /**
+   * Creates a factory that copies a world. The world is compiled once, and every copy is
+   * read back from the compiled bytes, which skips parsing and the neighbor search.
+   *
+   * @param template the world to copy, before any players are added
+   * @return a factory of fresh copies of the world
+   */
+  public static Supplier<World> copiesOf(World template) {
+    byte[] compiled = BinaryWorldFormat.toBytes(template);
+    return () -> {
+      try {
+        return BinaryWorldFormat.fromBytes(ByteBuffer.wrap(compiled));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+  }
+
+  /**
+   * Plays the next game on a fresh world. Game {@code n} of this engine is seeded with
+   * {@code GameRandom.mix(seed, n)}.
+   *
+   * @return the outcome of the game
+   */
+  public SimulationResult playGame() {
+    return playGame(new GameRandom(GameRandom.mix(seed, gamesPlayed++)));
+  }
+
+  /**
+   * Plays one game on a fresh world, taking every random choice from the given streams.
+   * Games played with different streams share no state, so they may run in parallel.
+   *
+   * @param random the random streams of the game
+   * @return the outcome of the game
+   */
+  public SimulationResult playGame(GameRandom random) {
+    World world = worldFactory.get();
+    int spaceCount = world.getSpaces().size();
+    List<PlayerImpl> order = new ArrayList<>(players);
+    for (int i = 0; i < players; i++) {
+      // Spread the players over the world the way the driver does: not in the target's room.
+      PlayerImpl player = new PlayerImpl("AI" + (i + 1),
+          world.getSpace((i + 1) % spaceCount), maxItems, true, random.forPlayer(i));
+      order.add(player);
+      world.addPlayer(player);
+    }
+
+    ImTargetCharacter target = world.getTargetCharacter();
+    RandomGenerator escapes = random.forTarget();
+    int startHealth = target.getHealth();
+    int turn = 0;
+    int winner = SimulationResult.NO_WINNER;
+    while (turn < maxTurns) {
+      int current = turn % players;
+      boolean attacked = order.get(current).takeTurn(world);
+      turn++;
+      if (attacked && !target.isAlive()) {
+        winner = current;
+        break;
+      }
+      world.moveTargetAwayFrom(order.get(turn % players).getCurrentSpace(), escapes);
+    }
+    return new SimulationResult(winner, turn, startHealth - target.getHealth());
+  }
+
+  /**
+   * Gets the number of players in each game.
+   *
+   * @return the number of players
+   */
+  public int getPlayers() {
+    return players;
+  }
+
+  /**
+   * Plays a number of games.
+   *
+   * @param games the number of games to play
+   * @return the outcome of each game, in order
+   */
+  public List<SimulationResult> playGames(int games) {
+    List<SimulationResult> results = new ArrayList<>(games);
+    for (int i = 0; i < games; i++) {
+      results.add(playGame());
+    }
+    return results;
+  }
+
+  /**
+   * Plays AI-only games on a world file and prints how fast they ran.
+   *
+   * @param args the world file, then optionally the number of games, the turn limit and
+   *             the number of players
+   */
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.err.println("Usage: java simulation.SimulationEngine <world.txt> "
+          + "[games] [maxTurns] [players]");
+      System.exit(2);
+    }
+    GameLog.setLevel(Level.WARN);
+    int games = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+    int maxTurns = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+    int players = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+    try {
+      World template = MappedWorldLoader.load(Paths.get(args[0]));
+      SimulationEngine engine = new SimulationEngine(copiesOf(template), players, 5, maxTurns,
+          42);
+      engine.playGames(Math.max(1, games / 10)); // Warm up
+
+      long start = System.nanoTime();
+      long turns = 0;
+      int wins = 0;
+      for (SimulationResult result : engine.playGames(games)) {
+        turns += result.getTurns();
+        wins += result.isTargetKilled() ? 1 : 0;
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("%d games, %d turns in %.2f s: %.0f turns/s, target killed in %d games%n",
+          games, turns, seconds, turns / seconds, wins);
+    } catch (IOException e) {
+      System.err.println("Failed to load " + args[0] + ": " + e.getMessage());
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package simulation;
+
+/**
+ * The outcome of one simulated game: who won, how many turns it took and how much damage
+ * the target character took. It holds only primitive fields, so millions of results take
+ * little memory.
+ */
+public final class SimulationResult {
+  /** The winner of a game in which the target character survived. */
+  public static final int NO_WINNER = -1;
+
+  private final int winner;
+  private final int turns;
+  private final int damageDealt;
+
+  /**
+   * Constructs a {@code SimulationResult}.
+   *
+   * @param winner      the index of the player who killed the target, or {@link #NO_WINNER}
+   * @param turns       the number of player turns played
+   * @param damageDealt the total damage the target character took
+   */
+  public SimulationResult(int winner, int turns, int damageDealt) {
+    this.winner = winner;
+    this.turns = turns;
+    this.damageDealt = damageDealt;
+  }
+
+  /**
+   * Gets the index of the player who killed the target character.
+   *
+   * @return the winner's index in the player order, or {@link #NO_WINNER}
+   */
+  public int getWinner() {
+    return winner;
+  }
+
+  /**
+   * Checks if the target character was killed.
+   *
+   * @return {@code true} if a player won, {@code false} if the game ran out of turns
+   */
+  public boolean isTargetKilled() {
+    return winner != NO_WINNER;
+  }
+
+  /**
+   * Gets the number of player turns played.
+   *
+   * @return the number of turns
+   */
+  public int getTurns() {
+    return turns;
+  }
+
+  /**
+   * Gets the total damage the target character took.
+   *
+   * @return the damage dealt
+   */
+  public int getDamageDealt() {
+    return damageDealt;
+  }
+
+  @Override
+  public String toString() {
+    return (isTargetKilled() ? "Player " + winner + " won" : "No winner") + " after " + turns
+        + " turns, " + damageDealt + " damage dealt";
+  }
+}
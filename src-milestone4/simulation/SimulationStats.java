@@ -0,0 +1,199 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * SimulationStats adds up the outcomes of many games: the wins of each player, and
+ * histograms of game length and damage dealt. Each thread fills its own instance without
+ * locking, and the instances are merged at the end. Every total is an integer count, so the
+ * merged result does not depend on which thread played which game.
+ */
+public final class SimulationStats {
+  private final long[] wins;
+  private long games;
+  private long totalTurns;
+  private long totalDamage;
+  private long[] turnHistogram = new long[16];
+  private long[] damageHistogram = new long[16];
+
+  /**
+   * Constructs empty statistics.
+   *
+   * @param players the number of players in each game
+   */
+  public SimulationStats(int players) {
+    this.wins = new long[players];
+  }
+
+  /**
+   * Adds the outcome of one game.
+   *
+   * @param result the outcome
+   */
+  public void add(SimulationResult result) {
+    games++;
+    if (result.isTargetKilled()) {
+      wins[result.getWinner()]++;
+    }
+    totalTurns += result.getTurns();
+    totalDamage += result.getDamageDealt();
+    turnHistogram = count(turnHistogram, result.getTurns(), 1);
+    damageHistogram = count(damageHistogram, result.getDamageDealt(), 1);
+  }
+
+  /**
+   * Adds every outcome counted by other statistics to these.
+   *
+   * @param other the statistics to add
+   * @throws IllegalArgumentException if the games had a different number of players
+   */
+  public void merge(SimulationStats other) {
+    if (other.wins.length != wins.length) {
+      throw new IllegalArgumentException("Cannot merge games with different player counts.");
+    }
+    games += other.games;
+    for (int i = 0; i < wins.length; i++) {
+      wins[i] += other.wins[i];
+    }
+    totalTurns += other.totalTurns;
+    totalDamage += other.totalDamage;
+    for (int i = other.turnHistogram.length - 1; i >= 0; i--) {
+      turnHistogram = count(turnHistogram, i, other.turnHistogram[i]);
+    }
+    for (int i = other.damageHistogram.length - 1; i >= 0; i--) {
+      damageHistogram = count(damageHistogram, i, other.damageHistogram[i]);
+    }
+  }
+
+  /**
+   * Gets the number of games counted.
+   *
+   * @return the number of games
+   */
+  public long getGames() {
+    return games;
+  }
+
+  /**
+   * Gets the number of games a player won.
+   *
+   * @param player the player's index in the turn order
+   * @return the number of wins
+   */
+  public long getWins(int player) {
+    return wins[player];
+  }
+
+  /**
+   * Gets the share of games a player won.
+   *
+   * @param player the player's index in the turn order
+   * @return the win rate, between 0 and 1
+   */
+  public double getWinRate(int player) {
+    return games == 0 ? 0 : (double) wins[player] / games;
+  }
+
+  /**
+   * Gets the share of games in which the target character survived.
+   *
+   * @return the rate of games without a winner, between 0 and 1
+   */
+  public double getNoWinnerRate() {
+    if (games == 0) {
+      return 0;
+    }
+    long won = 0;
+    for (long count : wins) {
+      won += count;
+    }
+    return (double) (games - won) / games;
+  }
+
+  /**
+   * Gets the average number of turns per game.
+   *
+   * @return the mean game length
+   */
+  public double getMeanTurns() {
+    return games == 0 ? 0 : (double) totalTurns / games;
+  }
+
+  /**
+   * Gets the average damage dealt per game.
+   *
+   * @return the mean damage
+   */
+  public double getMeanDamage() {
+    return games == 0 ? 0 : (double) totalDamage / games;
+  }
+
+  /**
+   * Gets the number of games of each length.
+   *
+   * @return an array whose element {@code t} counts the games that took {@code t} turns
+   */
+  public long[] getTurnHistogram() {
+    return trim(turnHistogram);
+  }
+
+  /**
+   * Gets the number of games for each amount of damage dealt.
+   *
+   * @return an array whose element {@code d} counts the games that dealt {@code d} damage
+   */
+  public long[] getDamageHistogram() {
+    return trim(damageHistogram);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof SimulationStats)) {
+      return false;
+    }
+    SimulationStats that = (SimulationStats) other;
+    return games == that.games && totalTurns == that.totalTurns
+        && totalDamage == that.totalDamage && Arrays.equals(wins, that.wins)
+        && Arrays.equals(getTurnHistogram(), that.getTurnHistogram())
+        && Arrays.equals(getDamageHistogram(), that.getDamageHistogram());
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(new long[] {games, totalTurns, totalDamage, Arrays.hashCode(wins)});
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder();
+    text.append(games).append(" games");
+    for (int i = 0; i < wins.length; i++) {
+      text.append(String.format(", player %d won %.2f%%", i, 100 * getWinRate(i)));
+    }
+    text.append(String.format(", no winner %.2f%%, mean %.1f turns, mean %.2f damage",
+        100 * getNoWinnerRate(), getMeanTurns(), getMeanDamage()));
+    return text.toString();
+  }
+
+  private static long[] count(long[] histogram, int value, long amount) {
+    if (amount == 0) {
+      return histogram;
+    }
+    if (value >= histogram.length) {
+      histogram = Arrays.copyOf(histogram, Math.max(histogram.length * 2, value + 1));
+    }
+    histogram[value] += amount;
+    return histogram;
+  }
+
+  private static long[] trim(long[] histogram) {
+    int length = histogram.length;
+    while (length > 0 && histogram[length - 1] == 0) {
+      length--;
+    }
+    return Arrays.copyOf(histogram, length);
+  }
+}
@@ -25,12 +25,28 @@ public interface ImSpace {
   void removeItem(ImItem item);
 
   /**
-   * Retrieves all items present in the space.
+   * Retrieves all items present in the space. The list is a read-only view that follows
+   * the items as they are added and removed, so copy it to keep a snapshot.
    * 
-   * @return a list of items in the space
+   * @return a read-only list of items in the space
    */
   List<ImItem> getItems();
 
+  /**
+   * Counts the items present in the space.
+   *
+   * @return the number of items in the space
+   */
+  int getItemCount();
+
+  /**
+   * Finds an item in the space by its id.
+   *
+   * @param id the id of the item
+   * @return the item, or {@code null} if the space has no item with that id
+   */
+  ImItem getItem(int id);
+
   /**
    * Gets the name of the space.
    * 
@@ -59,6 +75,14 @@ public interface ImSpace {
    */
   void addNeighbor(ImSpace space);
 
+  /**
+   * Replaces the neighbors of the space with a list kept elsewhere, such as a read-only
+   * view of the world's neighbor graph. Neighbors cannot be added to such a list.
+   * 
+   * @param neighbors the neighboring spaces
+   */
+  void setNeighbors(List<ImSpace> neighbors);
+
   /**
    * Adds a player to the space.
    * 
@@ -100,4 +124,18 @@ public interface ImSpace {
    * @return the coordinate
    */
   int getUpperLeftCol();
+
+  /**
+   * Gets the row of the lower-right corner without allocating an array.
+   *
+   * @return the lower-right row
+   */
+  int getLowerRightRow();
+
+  /**
+   * Gets the column of the lower-right corner without allocating an array.
+   *
+   * @return the lower-right column
+   */
+  int getLowerRightCol();
 }
\ No newline at end of file
@@ -2,7 +2,11 @@ package space;
 
 import item.ImItem;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import log.GameLog;
 import player.Player;
 import player.PlayerImpl;
 
@@ -12,6 +16,7 @@ import player.PlayerImpl;
  * Spaces form the structure of the game world, allowing players to move and interact with items.
  */
 public class Space implements ImSpace {
+  private static final GameLog LOG = GameLog.forClass(Space.class);
 
   private String name;
   private int id;
@@ -22,7 +27,10 @@ public class Space implements ImSpace {
   private List<Player> players;
   private List<ImSpace> neighbors;
   
-  private List<ImItem> items = new ArrayList<>();
+  // In the order the items were added, with an index by item id for lookups
+  private final List<ImItem> items = new ArrayList<>();
+  private final List<ImItem> itemsView = Collections.unmodifiableList(items);
+  private final Map<Integer, ImItem> itemsById = new HashMap<>();
 
   /**
    * Constructs a {@code Space} object with the specified name, id, and coordinates.
@@ -42,27 +50,38 @@ public class Space implements ImSpace {
     this.upperLeftCol = upperLeftCol;
     this.lowerRightRow = lowerRightRow;
     this.lowerRightCol = lowerRightCol;
-    this.items = new ArrayList<>();
     this.players = new ArrayList<>();
     this.neighbors = new ArrayList<>();
   }
   
   @Override
   public List<ImItem> getItems() {
-    return new ArrayList<>(items); // Return a copy for immutability
+    return itemsView;
+  }
+
+  @Override
+  public int getItemCount() {
+    return items.size();
+  }
+
+  @Override
+  public ImItem getItem(int id) {
+    return itemsById.get(id);
   }
   
   @Override
   public void addItem(ImItem item) {
     items.add(item);
+    itemsById.put(item.getId(), item);
   }
   
   @Override
   public void removeItem(ImItem item) {
-    if (items.remove(item)) {
-      System.out.println("Removed item: " + item.getName());
+    if (itemsById.remove(item.getId(), item)) {
+      items.remove(item);
+      LOG.debug(() -> "Removed item: " + item.getName() + " from " + name);
     } else {
-      System.out.println("Failed to remove item: " + item.getName());
+      LOG.warn(() -> "Failed to remove item: " + item.getName() + " from " + name);
     }
   }
 
@@ -108,6 +127,11 @@ public class Space implements ImSpace {
     neighbors.add(space);
   }
 
+  @Override
+  public void setNeighbors(List<ImSpace> neighbors) {
+    this.neighbors = neighbors;
+  }
+
   /**
    * Adds a player to this space.
    *
@@ -157,4 +181,14 @@ public class Space implements ImSpace {
   public int getUpperLeftCol() {
     return upperLeftCol;
   }
+
+  @Override
+  public int getLowerRightRow() {
+    return lowerRightRow;
+  }
+
+  @Override
+  public int getLowerRightCol() {
+    return lowerRightCol;
+  }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package view;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InputEvent;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * EdtLatencyMonitor measures how long keyboard and mouse events wait on the Swing event
+ * thread. It replaces the system event queue with one that, for each input event, records
+ * the time from when the event happened to when the event thread starts dispatching it,
+ * and how long the dispatch takes. A slow turn or map redraw on the event thread shows
+ * up as a long wait for every event queued behind it.
+ * <p>
+ * Times are kept in a histogram of whole milliseconds, so the monitor costs a few array
+ * increments per event. Install it with {@link #install()}, for example when the
+ * {@code game.edtLatency} system property is set, and read {@link #getSummary()}.
+ * </p>
+ */
+public final class EdtLatencyMonitor extends EventQueue {
+  /** Waits of this many milliseconds or more share the last bucket. */
+  private static final int MAX_MILLIS = 10_000;
+
+  private final AtomicLongArray waits = new AtomicLongArray(MAX_MILLIS + 1);
+  private final AtomicLongArray dispatches = new AtomicLongArray(MAX_MILLIS + 1);
+
+  /**
+   * Constructs a monitor that is not yet installed.
+   */
+  EdtLatencyMonitor() {
+  }
+
+  /**
+   * Installs a monitor in front of the system event queue.
+   *
+   * @return the installed monitor
+   */
+  public static EdtLatencyMonitor install() {
+    EdtLatencyMonitor monitor = new EdtLatencyMonitor();
+    Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor);
+    return monitor;
+  }
+
+  @Override
+  protected void dispatchEvent(AWTEvent event) {
+    if (!(event instanceof InputEvent)) {
+      super.dispatchEvent(event);
+      return;
+    }
+    long start = System.currentTimeMillis();
+    try {
+      super.dispatchEvent(event);
+    } finally {
+      record(start - ((InputEvent) event).getWhen(), System.currentTimeMillis() - start);
+    }
+  }
+
+  /**
+   * Records one input event.
+   *
+   * @param waitMillis     how long the event waited before being dispatched
+   * @param dispatchMillis how long the dispatch took
+   */
+  void record(long waitMillis, long dispatchMillis) {
+    waits.incrementAndGet(bucket(waitMillis));
+    dispatches.incrementAndGet(bucket(dispatchMillis));
+  }
+
+  /**
+   * Gets the number of input events measured.
+   *
+   * @return the number of events
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i <= MAX_MILLIS; i++) {
+      count += waits.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Gets a percentile of the time input events waited before being dispatched.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the wait in milliseconds, or 0 if no events were measured
+   */
+  public long getWaitPercentile(double percentile) {
+    return percentile(waits, percentile);
+  }
+
+  /**
+   * Gets a percentile of the time the event thread spent dispatching input events.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the dispatch time in milliseconds, or 0 if no events were measured
+   */
+  public long getDispatchPercentile(double percentile) {
+    return percentile(dispatches, percentile);
+  }
+
+  /**
+   * Describes the measured latencies in one line.
+   *
+   * @return the summary
+   */
+  public String getSummary() {
+    return String.format("EDT input latency over %d events: wait p50=%dms p99=%dms max=%dms,"
+        + " dispatch p50=%dms p99=%dms max=%dms", getCount(),
+        getWaitPercentile(50), getWaitPercentile(99), getWaitPercentile(100),
+        getDispatchPercentile(50), getDispatchPercentile(99), getDispatchPercentile(100));
+  }
+
+  private static int bucket(long millis) {
+    return (int) Math.max(0, Math.min(MAX_MILLIS, millis));
+  }
+
+  private static long percentile(AtomicLongArray histogram, double percentile) {
+    long total = 0;
+    for (int i = 0; i <= MAX_MILLIS; i++) {
+      total += histogram.get(i);
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i <= MAX_MILLIS; i++) {
+      seen += histogram.get(i);
+      if (seen >= rank) {
+        return i;
+      }
+    }
+    return MAX_MILLIS;
+  }
+}
@@ -0,0 +1,196 @@
+package view;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.AbstractListModel;
+import javax.swing.Timer;
+import log.GameLog;
+
+/**
+ * GameLogModel holds the most recent lines of the game log in a ring buffer of fixed size,
+ * for display in a {@code JList}. When the buffer is full, the oldest line is dropped, or
+ * written to a spill file if one is set, so the log uses the same memory after any number
+ * of turns.
+ * <p>
+ * Lines may be added from any thread. They are collected and moved into the model at most
+ * once per frame on the event thread, so a burst of messages causes one update of the list
+ * instead of one per line.
+ * </p>
+ */
+public class GameLogModel extends AbstractListModel<String> {
+  private static final long serialVersionUID = 1L;
+  private static final GameLog LOG = GameLog.forClass(GameLogModel.class);
+  private static final int FRAME_MILLIS = 16;
+
+  private final String[] lines;
+  private int start;
+  private int size;
+  private final transient ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final Timer timer;
+  private transient BufferedWriter spill;
+
+  /**
+   * Constructs a {@code GameLogModel} that drops the oldest lines when full.
+   *
+   * @param capacity the number of lines to keep
+   */
+  public GameLogModel(int capacity) {
+    this(capacity, null);
+  }
+
+  /**
+   * Constructs a {@code GameLogModel}.
+   *
+   * @param capacity  the number of lines to keep
+   * @param spillFile the file that lines dropped from the model are appended to, or
+   *                  {@code null} to discard them
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public GameLogModel(int capacity, Path spillFile) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive.");
+    }
+    this.lines = new String[capacity];
+    if (spillFile != null) {
+      try {
+        spill = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      } catch (IOException e) {
+        LOG.warn(() -> "Cannot spill the game log to " + spillFile + ": " + e.getMessage());
+      }
+    }
+    this.timer = new Timer(FRAME_MILLIS, e -> flush());
+    this.timer.setRepeats(false);
+  }
+
+  /**
+   * Adds a line to the end of the log. This may be called from any thread; the line
+   * appears in the model on the next frame.
+   *
+   * @param line the line to add
+   */
+  public void append(String line) {
+    pending.add(line);
+    if (scheduled.compareAndSet(false, true)) {
+      timer.restart();
+    }
+  }
+
+  /**
+   * Moves the lines added since the last frame into the model and notifies the list once.
+   * Must be called on the event thread.
+   */
+  public void flush() {
+    scheduled.set(false);
+    int shown = size;
+    int removed = 0;
+    int added = 0;
+    String line;
+    while ((line = pending.poll()) != null) {
+      if (size == lines.length) {
+        spill(lines[start]);
+        lines[start] = line;
+        start = (start + 1) % lines.length;
+        // Old lines are dropped first; after them, a line dropped in the same frame it was
+        // added was never shown.
+        if (removed < shown) {
+          removed++;
+        } else {
+          added--;
+        }
+      } else {
+        lines[(start + size) % lines.length] = line;
+        size++;
+      }
+      added++;
+    }
+    flushSpill();
+    if (removed > 0) {
+      fireIntervalRemoved(this, 0, removed - 1);
+    }
+    if (added > 0) {
+      fireIntervalAdded(this, size - added, size - 1);
+    }
+  }
+
+  /**
+   * Removes every line, including the ones not yet shown. Must be called on the event
+   * thread.
+   */
+  public void clear() {
+    pending.clear();
+    int oldSize = size;
+    for (int i = 0; i < size; i++) {
+      spill(lines[(start + i) % lines.length]);
+      lines[(start + i) % lines.length] = null;
+    }
+    flushSpill();
+    start = 0;
+    size = 0;
+    if (oldSize > 0) {
+      fireIntervalRemoved(this, 0, oldSize - 1);
+    }
+  }
+
+  /**
+   * Gets the number of lines the model keeps.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return lines.length;
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public String getElementAt(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    return lines[(start + index) % lines.length];
+  }
+
+  private void spill(String line) {
+    if (spill == null) {
+      return;
+    }
+    try {
+      spill.write(line);
+      spill.newLine();
+    } catch (IOException e) {
+      stopSpilling(e);
+    }
+  }
+
+  private void flushSpill() {
+    if (spill == null) {
+      return;
+    }
+    try {
+      spill.flush();
+    } catch (IOException e) {
+      stopSpilling(e);
+    }
+  }
+
+  private void stopSpilling(IOException e) {
+    LOG.warn(() -> "Stopped spilling the game log: " + e.getMessage());
+    try {
+      spill.close();
+    } catch (IOException ignored) {
+      // Already failing; the log simply drops lines from now on.
+    }
+    spill = null;
+  }
+}
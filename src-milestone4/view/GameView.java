@@ -1,19 +1,27 @@
 package view;
 
 import controller.GameController;
+import controller.GameExecutor;
+import item.ImItem;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.Rectangle;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.awt.image.BufferedImage;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import javax.swing.ImageIcon;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
@@ -22,20 +30,36 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import log.GameLog;
 import player.PlayerImpl;
 import space.ImSpace;
+import world.ImWorld;
 import world.World;
 
 /**
  * GameView provides the graphical user interface for the game.
+ * <p>
+ * Game logic runs on the controller's game thread, never on the event thread: actions
+ * are submitted to the {@link GameExecutor}, and their results are shown once they are
+ * handed back. The view's update methods may be called from any thread; they run their
+ * Swing work on the event thread.
+ * </p>
  */
 public class GameView extends JFrame implements ImGameView {
+  private static final GameLog LOG = GameLog.forClass(GameView.class);
 
   private JMenuBar menuBar;
   private JPanel mainPanel;
-  private JTextArea gameLog;
+  private GameLogModel gameLog; // Keeps only the latest lines; see game.logCapacity
+  private JList<String> gameLogList;
   private GameController controller;
   private JLabel turnInfoLabel; // JLabel to display turn information
+  private MapPanel mapPanel; // Kept for the whole game so only changed areas repaint
+  private JScrollPane mapScrollPane;
+  private Map<PlayerImpl, JButton> playerIcons = new IdentityHashMap<>();
   
   /**
    * provide the graphical user interface for the "Doctor Lucky's Mansion" game.
@@ -67,17 +91,40 @@ public class GameView extends JFrame implements ImGameView {
     mainPanel.setLayout(new BorderLayout());
     add(mainPanel, BorderLayout.CENTER);
 
+    // Map Panel
+    mapPanel = new MapPanel();
+    mapScrollPane = new JScrollPane(mapPanel);
+
     // Turn Info Label
     turnInfoLabel = new JLabel("Welcome to Doctor Lucky's Mansion!");
     turnInfoLabel.setHorizontalAlignment(SwingConstants.CENTER);
     turnInfoLabel.setFont(new Font("Arial", Font.BOLD, 18));
     add(turnInfoLabel, BorderLayout.NORTH); // Add label to the top of the frame
 
-    // Game Log
-    gameLog = new JTextArea();
-    gameLog.setEditable(false);
-    gameLog.setLineWrap(true);
-    JScrollPane logScrollPane = new JScrollPane(gameLog);
+    // Game Log, bounded to the latest lines and optionally spilling older ones to a file.
+    // The list only lays out the rows in view, so its cost does not grow with the game.
+    String spillFile = System.getProperty("game.logSpill");
+    gameLog = new GameLogModel(Integer.getInteger("game.logCapacity", 1000),
+        spillFile == null ? null : Paths.get(spillFile));
+    gameLogList = new JList<>(gameLog);
+    gameLogList.setPrototypeCellValue("Doctor Lucky is currently in room: Dining Hall");
+    gameLog.addListDataListener(new ListDataListener() {
+      @Override
+      public void intervalAdded(ListDataEvent e) {
+        gameLogList.ensureIndexIsVisible(e.getIndex1());
+      }
+
+      @Override
+      public void intervalRemoved(ListDataEvent e) {
+        // Nothing to scroll to
+      }
+
+      @Override
+      public void contentsChanged(ListDataEvent e) {
+        // Nothing to scroll to
+      }
+    });
+    JScrollPane logScrollPane = new JScrollPane(gameLogList);
     logScrollPane.setPreferredSize(new Dimension(300, 600));
     add(logScrollPane, BorderLayout.EAST);
 
@@ -104,12 +151,14 @@ public class GameView extends JFrame implements ImGameView {
       @Override
       public void keyPressed(KeyEvent e) {
         if (e.getKeyCode() == KeyEvent.VK_A) { // 'A' for "Attempt Attack"
-          boolean success = controller.attemptAttack();
-          if (!success) {
-            JOptionPane.showMessageDialog(GameView.this, 
-                "Attack failed! Ensure you're in the same room as Doctor Lucky and have a weapon.",
-                "Attack Attempt", JOptionPane.WARNING_MESSAGE);
-          }
+          onGameThread(controller::attemptAttack, success -> {
+            if (!success) {
+              JOptionPane.showMessageDialog(GameView.this, 
+                  "Attack failed! Ensure you're in the same room as Doctor Lucky "
+                  + "and have a weapon.",
+                  "Attack Attempt", JOptionPane.WARNING_MESSAGE);
+            }
+          });
         }
       }
     });
@@ -122,21 +171,39 @@ public class GameView extends JFrame implements ImGameView {
 
     // Action Listeners for Menu
     newGame.addActionListener(e -> {
-      BufferedImage initialMap = controller.getWorldMap(); 
-      startNewGame(initialMap);
+      startNewGame(controller.getWorld());
     });
     quitGame.addActionListener(e -> System.exit(0));
   }
     
+  /**
+   * Runs game logic on the game thread, then shows its result on the event thread.
+   *
+   * @param <T>    the type of the result
+   * @param action the game logic to run
+   * @param show   shows the result
+   */
+  private <T> void onGameThread(Supplier<T> action, Consumer<T> show) {
+    controller.getExecutor().submit(action)
+        .thenAcceptAsync(show, SwingUtilities::invokeLater)
+        .exceptionally(e -> {
+          LOG.error(() -> "Game action failed", e);
+          return null;
+        });
+  }
+
   private void pickUpItem() {
-    List<String> items = controller.getItemsInCurrentSpace();
+    onGameThread(controller::getItemsInCurrentSpace, this::chooseItem);
+  }
+
+  private void chooseItem(List<ImItem> items) {
     if (items.isEmpty()) {
       JOptionPane.showMessageDialog(this, "No items to pick up!"
           + "", "Pick Up Item", JOptionPane.INFORMATION_MESSAGE);
       return;
     }
 
-    String itemName = (String) JOptionPane.showInputDialog(
+    ImItem item = (ImItem) JOptionPane.showInputDialog(
           this,
           "Select an item to pick up:",
           "Pick Up Item",
@@ -146,12 +213,13 @@ public class GameView extends JFrame implements ImGameView {
           items.get(0)
     );
 
-    if (itemName != null && !itemName.isEmpty()) {
-      boolean success = controller.pickUpItem(itemName);
-      if (!success) {
-        JOptionPane.showMessageDialog(this, "Failed to pick up item: "
-            + "" + itemName, "Error", JOptionPane.ERROR_MESSAGE);
-      }
+    if (item != null) {
+      onGameThread(() -> controller.pickUpItem(item.getId()), success -> {
+        if (!success) {
+          JOptionPane.showMessageDialog(this, "Failed to pick up item: "
+              + "" + item.getName(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+      });
     }
   }
 
@@ -174,7 +242,7 @@ public class GameView extends JFrame implements ImGameView {
     if (newGameMenuItem != null) {
       newGameMenuItem.addActionListener(actionListener);
     } else {
-      System.err.println("New Game menu item not found.");
+      LOG.warn(() -> "New Game menu item not found.");
     }
   }
 
@@ -182,7 +250,11 @@ public class GameView extends JFrame implements ImGameView {
    * Displays the neighbors of the player's current space in a dialog box.
    */
   private void lookAround() {
-    List<ImSpace> neighbors = controller.getHumanPlayerNeighbors();
+    onGameThread(() -> new ArrayList<>(controller.getHumanPlayerNeighbors()),
+        this::showNeighbors);
+  }
+
+  private void showNeighbors(List<ImSpace> neighbors) {
     if (neighbors.isEmpty()) {
       JOptionPane.showMessageDialog(this, "No visible neighbors "
           + "to look at!", "Look Around", JOptionPane.INFORMATION_MESSAGE);
@@ -230,17 +302,31 @@ public class GameView extends JFrame implements ImGameView {
   }
 
   @Override
-  public void startNewGame(BufferedImage worldMap) {
-    System.out.println("Starting new game in view. Map dimensions: "
-            + worldMap.getWidth() + "x" + worldMap.getHeight());
+  public void startNewGame(ImWorld world) {
+    if (!SwingUtilities.isEventDispatchThread()) {
+      SwingUtilities.invokeLater(() -> startNewGame(world));
+      return;
+    }
+    LOG.debug(() -> "Starting new game in view. Map dimensions: "
+            + world.getMapSize().width + "x" + world.getMapSize().height);
 
-    gameLog.setText(""); // Clear log
-    mainPanel.removeAll();
+    mapPanel.setWorld(world, controller.getExecutor().getRenderWorkers());
+    showGame();
+  }
 
-    JLabel mapLabel = new JLabel(new ImageIcon(worldMap));
-    mapLabel.setLayout(null); // Allow custom placement of player icons
+  /**
+   * Shows the map with a marker for each player and clears the log.
+   */
+  private void showGame() {
+    gameLog.clear(); // Clear log
+    if (mapScrollPane.getParent() != mainPanel) {
+      mainPanel.removeAll();
+      mainPanel.add(mapScrollPane, BorderLayout.CENTER);
+    }
 
     // Add player representations as clickable components
+    mapPanel.removeAll();
+    playerIcons.clear();
     List<PlayerImpl> players = controller.getPlayers();
     for (PlayerImpl player : players) {
       JButton playerIcon = new JButton(player.getName());
@@ -248,18 +334,15 @@ public class GameView extends JFrame implements ImGameView {
                            player.getCurrentSpace().getUpperLeftRow() * 50,
                            50, 50); // Position and size of the icon
 
-      playerIcon.addActionListener(e -> {
-        String description = controller.getPlayerDescription(player);
-        JOptionPane.showMessageDialog(this, description, "Player "
-            + "Details", JOptionPane.INFORMATION_MESSAGE);
-      });
+      playerIcon.addActionListener(e -> onGameThread(
+          () -> controller.getPlayerDescription(player),
+          description -> JOptionPane.showMessageDialog(this, description, "Player "
+              + "Details", JOptionPane.INFORMATION_MESSAGE)));
 
-      mapLabel.add(playerIcon);
+      mapPanel.add(playerIcon);
+      playerIcons.put(player, playerIcon);
     }
 
-    JScrollPane scrollPane = new JScrollPane(mapLabel);
-    mainPanel.add(scrollPane, BorderLayout.CENTER);
-
     turnInfoLabel.setText("Game Started! Waiting for the first turn.");
     add(turnInfoLabel, BorderLayout.NORTH);
 
@@ -269,23 +352,28 @@ public class GameView extends JFrame implements ImGameView {
   
   @Override
   public void updateTurnInfo(String info) {
-    turnInfoLabel.setText(info);
+    GameExecutor.onEdt(() -> turnInfoLabel.setText(info));
   }
   
   @Override
-  public void updateGameMap(BufferedImage worldMap) {
-    mainPanel.removeAll();
-
-    JLabel mapLabel = new JLabel(new ImageIcon(worldMap));
-    JScrollPane scrollPane = new JScrollPane(mapLabel);
-    mainPanel.add(scrollPane, BorderLayout.CENTER);
+  public void repaintMap(Rectangle changed) {
+    // repaint may be called from any thread.
+    mapPanel.repaintMap(changed);
+  }
 
-    mainPanel.revalidate();
-    mainPanel.repaint();
+  @Override
+  public void playerMoved(PlayerImpl player, ImSpace from, ImSpace to) {
+    GameExecutor.onEdt(() -> {
+      JButton playerIcon = playerIcons.get(player);
+      if (playerIcon != null) {
+        // Swing repaints the marker's old and new bounds by itself.
+        playerIcon.setLocation(to.getUpperLeftCol() * 50, to.getUpperLeftRow() * 50);
+      }
+    });
   }
   
   @Override
   public void logMessage(String message) {
-    gameLog.append(message + "\n");
+    gameLog.append(message);
   }
 }
@@ -1,7 +1,10 @@
 package view;
 
+import java.awt.Rectangle;
 import java.awt.event.ActionListener;
-import java.awt.image.BufferedImage;
+import player.PlayerImpl;
+import space.ImSpace;
+import world.ImWorld;
 
 /**
  * Interface for the game view in the "Doctor Lucky's Mansion" game.
@@ -22,11 +25,12 @@ public interface ImGameView {
   public void display();
 
   /**
-   * Starts a new game with the provided world map.
+   * Starts a new game whose map is painted by the world tile by tile, so that only the
+   * visible part of the map is ever drawn.
    *
-   * @param worldMap the image representing the game world.
+   * @param world the game world.
    */
-  public void startNewGame(BufferedImage worldMap);
+  public void startNewGame(ImWorld world);
 
   /**
    * Updates the turn information displayed to the user.
@@ -36,11 +40,20 @@ public interface ImGameView {
   public void updateTurnInfo(String info);
 
   /**
-   * Updates the game map with the provided image.
+   * Moves a player's marker after the player moved between spaces.
    *
-   * @param worldMap the updated image of the game world.
+   * @param player the player that moved.
+   * @param from   the space the player left.
+   * @param to     the space the player entered.
    */
-  public void updateGameMap(BufferedImage worldMap);
+  public void playerMoved(PlayerImpl player, ImSpace from, ImSpace to);
+
+  /**
+   * Repaints the part of a world-painted map that changed.
+   *
+   * @param changed the area of the map that changed, in pixels.
+   */
+  public void repaintMap(Rectangle changed);
 
   /**
    * Logs a message to the game view.
@@ -0,0 +1,73 @@
+package view;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.concurrent.Executor;
+import javax.swing.JPanel;
+import world.ImWorld;
+
+/**
+ * MapPanel paints the world map and stays in the component tree for the whole game.
+ * Instead of being rebuilt on every turn, it is told which part of the map changed and
+ * repaints only that area, so the scroll position and the player markers on top of it
+ * are kept.
+ * <p>
+ * The map is painted by the world itself, tile by tile. Only the tiles inside the scroll
+ * pane's viewport are drawn, so maps too large for one image can still be shown.
+ * </p>
+ */
+public class MapPanel extends JPanel {
+  private static final long serialVersionUID = 1L;
+
+  private transient ImWorld world;
+
+  /**
+   * Constructs an empty {@code MapPanel}. Children, such as player markers, are placed
+   * by their bounds.
+   */
+  public MapPanel() {
+    super(null);
+  }
+
+  /**
+   * Shows a world's map by having the world paint the visible area, repainting all of it.
+   * Tiles that are not drawn yet are drawn by the render workers and repainted when ready.
+   *
+   * @param tiledWorld    the world to paint
+   * @param renderWorkers the threads that draw map tiles
+   */
+  public void setWorld(ImWorld tiledWorld, Executor renderWorkers) {
+    world = tiledWorld;
+    world.setMapRenderWorkers(renderWorkers, this::repaint);
+    world.updateMapSprites();
+    revalidate();
+    repaint();
+  }
+
+  /**
+   * Repaints the part of the map that changed.
+   *
+   * @param changed the area of the map that changed, in pixels
+   */
+  public void repaintMap(Rectangle changed) {
+    if (!changed.isEmpty()) {
+      repaint(changed);
+    }
+  }
+
+  @Override
+  public Dimension getPreferredSize() {
+    return world == null ? new Dimension() : world.getMapSize();
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+    if (world != null) {
+      // The clip is the part of the viewport being repainted.
+      Rectangle clip = g.getClipBounds();
+      world.paintMap(g, clip != null ? clip : new Rectangle(getPreferredSize()));
+    }
+  }
+}
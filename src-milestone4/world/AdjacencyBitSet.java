@@ -0,0 +1,40 @@
+package world;
+
+/**
+ * This class is a dense adjacency matrix for the spaces of a world, stored as one row of
+ * bits per space in a single {@code long} array. Checking whether two spaces are neighbors
+ * reads one word. It needs {@code n * n / 8} bytes, so it is only built for small worlds.
+ */
+public final class AdjacencyBitSet {
+  private final int wordsPerRow;
+  private final long[] bits;
+
+  /**
+   * Constructs an {@code AdjacencyBitSet} with the same neighbors as the given graph.
+   *
+   * @param graph the neighbor relationships to copy
+   */
+  public AdjacencyBitSet(SpaceGraph graph) {
+    int spaceCount = graph.getSpaceCount();
+    this.wordsPerRow = (spaceCount + 63) >>> 6;
+    this.bits = new long[spaceCount * wordsPerRow];
+    for (int space = 0; space < spaceCount; space++) {
+      int row = space * wordsPerRow;
+      for (int k = 0; k < graph.getDegree(space); k++) {
+        int neighbor = graph.getNeighbor(space, k);
+        bits[row + (neighbor >>> 6)] |= 1L << neighbor;
+      }
+    }
+  }
+
+  /**
+   * Checks if two spaces are neighbors.
+   *
+   * @param space1 the index of the first space
+   * @param space2 the index of the second space
+   * @return {@code true} if the spaces are neighbors, {@code false} otherwise
+   */
+  public boolean isAdjacent(int space1, int space2) {
+    return (bits[space1 * wordsPerRow + (space2 >>> 6)] & (1L << space2)) != 0;
+  }
+}
@@ -0,0 +1,93 @@
+package world;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * GameRandom hands out the random number streams of one game. Doctor Lucky and each player
+ * get their own stream, all derived from a single game seed, so a game can be replayed
+ * exactly from its seed no matter in what order the actors draw numbers. The streams are
+ * created once per game and reused every turn, so taking a turn allocates nothing.
+ * <p>
+ * A GameRandom and its streams belong to the thread that plays the game.
+ * </p>
+ */
+public final class GameRandom {
+  private final long seed;
+  private SplittableRandom target;
+  private SplittableRandom[] players = new SplittableRandom[0];
+
+  /**
+   * Constructs a {@code GameRandom} with a seed of its own choosing.
+   */
+  public GameRandom() {
+    this(new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Constructs a {@code GameRandom}.
+   *
+   * @param seed the game seed
+   */
+  public GameRandom(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Gets the game seed, which replays this game when passed to a new {@code GameRandom}.
+   *
+   * @return the seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Gets the stream for Doctor Lucky's moves.
+   *
+   * @return the target character's stream
+   */
+  public RandomGenerator forTarget() {
+    if (target == null) {
+      target = new SplittableRandom(mix(seed, 0));
+    }
+    return target;
+  }
+
+  /**
+   * Gets the stream for a player's choices. Asking again for the same player returns the
+   * same stream.
+   *
+   * @param index the player's index in the turn order
+   * @return the player's stream
+   */
+  public RandomGenerator forPlayer(int index) {
+    if (index < 0) {
+      throw new IllegalArgumentException("Player index cannot be negative: " + index);
+    }
+    if (index >= players.length) {
+      SplittableRandom[] grown = new SplittableRandom[Math.max(index + 1, players.length * 2)];
+      System.arraycopy(players, 0, grown, 0, players.length);
+      players = grown;
+    }
+    if (players[index] == null) {
+      players[index] = new SplittableRandom(mix(seed, index + 1L));
+    }
+    return players[index];
+  }
+
+  /**
+   * Derives an independent seed from a seed and a stream number with the SplitMix64 mixing
+   * function, so that neighboring stream numbers get unrelated seeds.
+   *
+   * @param seed   the seed to derive from
+   * @param stream the stream number
+   * @return the derived seed
+   */
+  public static long mix(long seed, long stream) {
+    long z = seed + (stream + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
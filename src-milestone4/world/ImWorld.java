@@ -1,9 +1,15 @@
 package world;
 
 import character.ImTargetCharacter;
+import item.ImItem;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import pet.Pet;
 import player.PlayerImpl;
 import space.ImSpace;
@@ -22,6 +28,40 @@ public interface ImWorld {
    */
   List<ImSpace> getNeighbors(ImSpace space);
 
+  /**
+   * Retrieves the neighbor relationships between all spaces of the world.
+   *
+   * @return the topology of the world.
+   */
+  SpaceGraph getTopology();
+
+  /**
+   * Checks if the spaces at two indices are neighbors.
+   *
+   * @param space1 the index of the first space.
+   * @param space2 the index of the second space.
+   * @return {@code true} if the spaces are neighbors, {@code false} otherwise.
+   */
+  boolean isAdjacent(int space1, int space2);
+
+  /**
+   * Checks if two spaces are neighbors.
+   *
+   * @param space1 the first space.
+   * @param space2 the second space.
+   * @return {@code true} if the spaces are neighbors, {@code false} otherwise.
+   */
+  boolean isAdjacent(ImSpace space1, ImSpace space2);
+
+  /**
+   * Gets the index of the given space in this world.
+   *
+   * @param space the space to look up.
+   * @return the index of the space.
+   * @throws IllegalArgumentException if the space is not part of this world.
+   */
+  int indexOf(ImSpace space);
+
   /**
    * Gets detailed information about the specified space.
    *
@@ -36,12 +76,45 @@ public interface ImWorld {
   void moveTargetCharacter();
 
   /**
-   * Generates a graphical map representation of the world.
+   * Draws the whole map of the world into a new image, for export. The game view does not
+   * use it; it paints the map tile by tile with {@link #paintMap(Graphics, Rectangle)}.
    *
-   * @return a {@code BufferedImage} of the world map.
+   * @return a new {@code BufferedImage} of the world map.
    */
   BufferedImage generateMap();
 
+  /**
+   * Gets the size of the whole map in pixels.
+   *
+   * @return the size of the map.
+   */
+  Dimension getMapSize();
+
+  /**
+   * Paints part of the map, for maps too large to generate as one image. Only the tiles
+   * that overlap the area are drawn, and drawn tiles are cached.
+   *
+   * @param g    the graphics to paint with, in map coordinates.
+   * @param area the area of the map to paint, in pixels.
+   */
+  void paintMap(Graphics g, Rectangle area);
+
+  /**
+   * Has map tiles drawn in the background. Until a tile is ready,
+   * {@link #paintMap(Graphics, Rectangle)} paints a placeholder in its place.
+   *
+   * @param workers     the threads that draw tiles.
+   * @param onTileReady called from a worker with the area of each tile that becomes ready.
+   */
+  void setMapRenderWorkers(Executor workers, Consumer<Rectangle> onTileReady);
+
+  /**
+   * Records where the characters now are for {@link #paintMap(Graphics, Rectangle)}.
+   *
+   * @return the area in pixels that must be repainted to show the characters' moves.
+   */
+  Rectangle updateMapSprites();
+
   /**
    * Retrieves all spaces in the world.
    *
@@ -49,6 +122,13 @@ public interface ImWorld {
    */
   List<ImSpace> getSpaces();
 
+  /**
+   * Retrieves all items that were placed in the world.
+   *
+   * @return a list of all items.
+   */
+  List<ImItem> getItems();
+
   /**
    * Gets the space at the specified index.
    *
@@ -57,6 +137,38 @@ public interface ImWorld {
    */
   ImSpace getSpace(int index);
 
+  /**
+   * Gets the row of a space's upper-left corner without allocating.
+   *
+   * @param index the index of the space.
+   * @return the upper-left row.
+   */
+  int upperLeftRow(int index);
+
+  /**
+   * Gets the column of a space's upper-left corner without allocating.
+   *
+   * @param index the index of the space.
+   * @return the upper-left column.
+   */
+  int upperLeftCol(int index);
+
+  /**
+   * Gets the row of a space's lower-right corner without allocating.
+   *
+   * @param index the index of the space.
+   * @return the lower-right row.
+   */
+  int lowerRightRow(int index);
+
+  /**
+   * Gets the column of a space's lower-right corner without allocating.
+   *
+   * @param index the index of the space.
+   * @return the lower-right column.
+   */
+  int lowerRightCol(int index);
+
   /**
    * Moves the pet to the specified space.
    *
@@ -73,12 +185,21 @@ public interface ImWorld {
   boolean petMakesSpaceInvisible(ImSpace space);
 
   /**
-   * Gets the current locations of players mapped to their respective spaces.
+   * Gets the current locations of players mapped to their respective spaces. The map is
+   * a read-only view that follows later moves; only spaces with players are present.
    *
    * @return a map of spaces to lists of players in those spaces.
    */
   Map<ImSpace, List<PlayerImpl>> getPlayerLocations();
 
+  /**
+   * Gets the players in a space, as a read-only view that follows later moves.
+   *
+   * @param space the space to check.
+   * @return the players in the space.
+   */
+  List<PlayerImpl> getPlayersIn(ImSpace space);
+
   /**
    * Retrieves the current location of the target character.
    *
@@ -131,7 +252,15 @@ public interface ImWorld {
   void movePlayer(PlayerImpl player, ImSpace newSpace);
 
   /**
-   * Updates the current locations of all players in the world.
+   * Adds a player to the world in the space it is currently in.
+   *
+   * @param player the player to add.
+   */
+  void addPlayer(PlayerImpl player);
+
+  /**
+   * Updates the current locations of all players in the world. Only needed after moving
+   * players without {@link #movePlayer(PlayerImpl, ImSpace)}.
    */
   void updatePlayerLocations();
 
@@ -0,0 +1,176 @@
+package world;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import log.GameLog;
+import space.ImSpace;
+
+/**
+ * This class draws whole-map images, such as the one exported by
+ * {@link World#generateMap()}. The room layer holds every space's rectangle and name; it
+ * never changes, so it is drawn once and cached. Each map starts as a new copy of the room
+ * layer, so an image that has been handed out is never changed by a later one.
+ */
+final class MapRenderer {
+  private static final GameLog LOG = GameLog.forClass(MapRenderer.class);
+  /** The size of one grid cell in pixels. */
+  static final int CELL = 50;
+  /** The font of room names and marker labels. */
+  static final Font LABEL_FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+  private static final int SPRITE_RADIUS = 10;
+
+  private final List<ImSpace> spaces;
+  private final SpaceBounds bounds;
+  private final int width;
+  private final int height;
+
+  private BufferedImage background;
+
+  /**
+   * Constructs a {@code MapRenderer} for a world.
+   *
+   * @param spaces the spaces of the world, in index order
+   * @param bounds the rectangles of the spaces
+   * @param rows   the number of rows in the world grid
+   * @param cols   the number of columns in the world grid
+   */
+  MapRenderer(List<ImSpace> spaces, SpaceBounds bounds, int rows, int cols) {
+    this.spaces = spaces;
+    this.bounds = bounds;
+    this.width = Math.max(1, cols * CELL);
+    this.height = Math.max(1, rows * CELL);
+  }
+
+  /**
+   * Creates a new map image holding the room layer, ready for sprites to be drawn on it.
+   *
+   * @return the new image
+   */
+  synchronized BufferedImage newMap() {
+    if (background == null) {
+      background = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      drawRooms(background.getGraphics());
+    }
+    BufferedImage map = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics g = map.getGraphics();
+    g.drawImage(background, 0, 0, null);
+    g.dispose();
+    return map;
+  }
+
+  /**
+   * Draws a character or player marker at the upper-left cell of a space.
+   *
+   * @param g      the Graphics object
+   * @param bounds the rectangles of the spaces
+   * @param space  the index of the space where the character is located
+   * @param color  the color of the marker
+   * @param label  the label to display (e.g., "DL" or player name)
+   */
+  static void paintSprite(Graphics g, SpaceBounds bounds, int space, Color color,
+      String label) {
+    // Calculate the center of the upper-left cell of the space
+    int x = bounds.upperLeftCol(space) * CELL + CELL / 2;
+    int y = bounds.upperLeftRow(space) * CELL + CELL / 2;
+
+    // Draw a circle to represent the character
+    g.setColor(color);
+    g.fillOval(x - SPRITE_RADIUS, y - SPRITE_RADIUS, SPRITE_RADIUS * 2, SPRITE_RADIUS * 2);
+
+    // Draw the label
+    g.setColor(Color.BLACK);
+    g.drawString(label, x - label.length() * 3, y + 5);
+  }
+
+  /**
+   * Measures the area a marker covers, including its label.
+   *
+   * @param metrics the metrics of the font the label is drawn in
+   * @param bounds  the rectangles of the spaces
+   * @param space   the index of the space where the character is located
+   * @param label   the label to display
+   * @return the area in pixels
+   */
+  static Rectangle spriteArea(FontMetrics metrics, SpaceBounds bounds, int space,
+      String label) {
+    int x = bounds.upperLeftCol(space) * CELL + CELL / 2;
+    int y = bounds.upperLeftRow(space) * CELL + CELL / 2;
+    Rectangle area = new Rectangle(x - SPRITE_RADIUS, y - SPRITE_RADIUS,
+        SPRITE_RADIUS * 2, SPRITE_RADIUS * 2);
+    area.add(new Rectangle(x - label.length() * 3, y + 5 - metrics.getAscent(),
+        metrics.stringWidth(label), metrics.getAscent() + metrics.getDescent()));
+    // Anti-aliased edges may spill one pixel past the measured shapes.
+    area.grow(1, 1);
+    return area;
+  }
+
+  private void drawRooms(Graphics g) {
+    LOG.debug(() -> "Drawing the room layer");
+
+    // Fill the map background
+    g.setFont(LABEL_FONT);
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, width, height);
+
+    // Draw spaces
+    for (int i = 0; i < spaces.size(); i++) {
+      paintSpace(g, spaces, bounds, i);
+    }
+    g.dispose();
+  }
+
+  /**
+   * Measures the area a space covers when drawn, including its border and its name.
+   *
+   * @param metrics the metrics of the font the name is drawn in
+   * @param spaces  the spaces of the world, in index order
+   * @param bounds  the rectangles of the spaces
+   * @param index   the index of the space
+   * @return the area in pixels
+   */
+  static Rectangle spaceArea(FontMetrics metrics, List<ImSpace> spaces, SpaceBounds bounds,
+      int index) {
+    int x = bounds.upperLeftCol(index) * CELL;
+    int y = bounds.upperLeftRow(index) * CELL;
+    // drawRect covers one pixel more than its width and height.
+    Rectangle area = new Rectangle(x, y,
+        (bounds.lowerRightCol(index) - bounds.upperLeftCol(index) + 1) * CELL + 1,
+        (bounds.lowerRightRow(index) - bounds.upperLeftRow(index) + 1) * CELL + 1);
+    area.add(new Rectangle(x + 5, y + 15 - metrics.getAscent(),
+        metrics.stringWidth(spaces.get(index).getName()) + 2,
+        metrics.getAscent() + metrics.getDescent()));
+    return area;
+  }
+
+  /**
+   * Draws a space on the map.
+   *
+   * @param g      the Graphics object
+   * @param spaces the spaces of the world, in index order
+   * @param bounds the rectangles of the spaces
+   * @param index  the index of the space to draw
+   */
+  static void paintSpace(Graphics g, List<ImSpace> spaces, SpaceBounds bounds, int index) {
+    int x = bounds.upperLeftCol(index) * CELL; // Upper-left X
+    int y = bounds.upperLeftRow(index) * CELL; // Upper-left Y
+    int spaceWidth = (bounds.lowerRightCol(index) - bounds.upperLeftCol(index) + 1) * CELL;
+    int spaceHeight = (bounds.lowerRightRow(index) - bounds.upperLeftRow(index) + 1) * CELL;
+
+    // Draw the space border
+    g.setColor(Color.BLACK);
+    g.drawRect(x, y, spaceWidth, spaceHeight);
+
+    // Fill the interior
+    g.setColor(new Color(200, 200, 255)); // Light blue color
+    g.fillRect(x + 1, y + 1, spaceWidth - 2, spaceHeight - 2);
+
+    // Draw the space name at the top
+    g.setColor(Color.BLACK);
+    g.drawString(spaces.get(index).getName(), x + 5, y + 15); // Adjust position for the name
+  }
+}
@@ -0,0 +1,369 @@
+package world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import space.ImSpace;
+
+/**
+ * This class finds the wall-sharing neighbors of a set of rectangular spaces.
+ * Instead of testing every pair of spaces, it groups the spaces by the row (or column)
+ * that their edges touch and sweeps each group once, reporting only the pairs whose
+ * spans overlap. This runs in O(n log n + k) time, where k is the number of neighbor pairs.
+ */
+public final class NeighborFinder {
+
+  private NeighborFinder() {
+  }
+
+  /**
+   * Checks if two rectangles share a wall. Each rectangle is given as
+   * [upperLeftRow, upperLeftCol, lowerRightRow, lowerRightCol].
+   *
+   * @param coords1 the coordinates of the first rectangle
+   * @param coords2 the coordinates of the second rectangle
+   * @return {@code true} if the rectangles are neighbors, {@code false} otherwise
+   */
+  public static boolean sharesWall(int[] coords1, int[] coords2) {
+    return sharesWall(coords1[0], coords1[1], coords1[2], coords1[3],
+        coords2[0], coords2[1], coords2[2], coords2[3]);
+  }
+
+  /**
+   * Checks if two rectangles share a wall. This is the one place the wall rule is written;
+   * the other checks call it.
+   *
+   * @param top1    the upper-left row of the first rectangle
+   * @param left1   the upper-left column of the first rectangle
+   * @param bottom1 the lower-right row of the first rectangle
+   * @param right1  the lower-right column of the first rectangle
+   * @param top2    the upper-left row of the second rectangle
+   * @param left2   the upper-left column of the second rectangle
+   * @param bottom2 the lower-right row of the second rectangle
+   * @param right2  the lower-right column of the second rectangle
+   * @return {@code true} if the rectangles are neighbors, {@code false} otherwise
+   */
+  static boolean sharesWall(int top1, int left1, int bottom1, int right1,
+      int top2, int left2, int bottom2, int right2) {
+    boolean verticallyAligned = left1 <= right2 && right1 >= left2;
+    boolean verticallyAdjacent = bottom1 + 1 == top2 || bottom2 + 1 == top1;
+
+    boolean horizontallyAligned = top1 <= bottom2 && bottom1 >= top2;
+    boolean horizontallyAdjacent = right1 + 1 == left2 || right2 + 1 == left1;
+
+    return (verticallyAligned && verticallyAdjacent)
+        || (horizontallyAligned && horizontallyAdjacent);
+  }
+
+  /**
+   * Finds the neighbors of every space in the list.
+   *
+   * @param spaces the spaces to search
+   * @return for each space index, the ascending indices of its neighbors
+   */
+  public static int[][] findNeighbors(List<ImSpace> spaces) {
+    int n = spaces.size();
+    int[] top = new int[n];
+    int[] left = new int[n];
+    int[] bottom = new int[n];
+    int[] right = new int[n];
+    for (int i = 0; i < n; i++) {
+      ImSpace space = spaces.get(i);
+      top[i] = space.getUpperLeftRow();
+      left[i] = space.getUpperLeftCol();
+      bottom[i] = space.getLowerRightRow();
+      right[i] = space.getLowerRightCol();
+    }
+    return findNeighbors(top, left, bottom, right);
+  }
+
+  /**
+   * Finds the neighbors of every rectangle given as parallel coordinate columns.
+   *
+   * @param top    the upper-left row of each rectangle
+   * @param left   the upper-left column of each rectangle
+   * @param bottom the lower-right row of each rectangle
+   * @param right  the lower-right column of each rectangle
+   * @return for each rectangle index, the ascending indices of its neighbors
+   */
+  public static int[][] findNeighbors(int[] top, int[] left, int[] bottom, int[] right) {
+    IntList pairs = new IntList();
+    // A space touches the space below it when its bottom row + 1 is that space's top row.
+    for (EdgeLine line : findEdgeLines(bottom, top, left, right, false)) {
+      line.sweep(pairs);
+    }
+    // A space touches the space to its right when its right column + 1 is that left column.
+    for (EdgeLine line : findEdgeLines(right, left, top, bottom, false)) {
+      line.sweep(pairs);
+    }
+    return toNeighborLists(top.length, pairs);
+  }
+
+  /**
+   * Builds the neighbor graph of every rectangle using a fork-join pool. Each row or column
+   * line where edges meet is an independent partition of the world, so the lines are
+   * swept in parallel and their pairs are merged at the end.
+   *
+   * @param top    the upper-left row of each rectangle
+   * @param left   the upper-left column of each rectangle
+   * @param bottom the lower-right row of each rectangle
+   * @param right  the lower-right column of each rectangle
+   * @param pool   the pool to run the sweep in
+   * @return the neighbor graph
+   */
+  public static SpaceGraph buildGraph(int[] top, int[] left, int[] bottom, int[] right,
+      ForkJoinPool pool) {
+    return pool.invoke(new RecursiveTask<SpaceGraph>() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected SpaceGraph compute() {
+        ForkJoinTask<List<EdgeLine>> vertical =
+            ForkJoinTask.adapt(() -> findEdgeLines(bottom, top, left, right, true)).fork();
+        List<EdgeLine> lines = new ArrayList<>(findEdgeLines(right, left, top, bottom, true));
+        lines.addAll(vertical.join());
+        IntList pairs = new SweepTask(lines, 0, lines.size()).invoke();
+        return SpaceGraph.fromNeighbors(toNeighborLists(top.length, pairs));
+      }
+    });
+  }
+
+  /**
+   * Groups the rectangles whose far edge lies on the same line as other rectangles'
+   * near edges. Only those groups can contain neighbors.
+   *
+   * @param far       the far edge coordinate of each rectangle (bottom or right)
+   * @param near      the near edge coordinate of each rectangle (top or left)
+   * @param spanStart the first cell of each rectangle along the edge
+   * @param spanEnd   the last cell of each rectangle along the edge
+   * @param parallel  whether to sort in parallel
+   * @return the lines holding both far and near edges
+   */
+  private static List<EdgeLine> findEdgeLines(int[] far, int[] near, int[] spanStart,
+      int[] spanEnd, boolean parallel) {
+    int n = far.length;
+    Integer[] farOrder = new Integer[n];
+    Integer[] nearOrder = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      farOrder[i] = i;
+      nearOrder[i] = i;
+    }
+    Comparator<Integer> byFar = Comparator.<Integer>comparingInt(i -> far[i] + 1)
+        .thenComparingInt(i -> spanStart[i]);
+    Comparator<Integer> byNear = Comparator.<Integer>comparingInt(i -> near[i])
+        .thenComparingInt(i -> spanStart[i]);
+    if (parallel) {
+      Arrays.parallelSort(farOrder, byFar);
+      Arrays.parallelSort(nearOrder, byNear);
+    } else {
+      Arrays.sort(farOrder, byFar);
+      Arrays.sort(nearOrder, byNear);
+    }
+
+    List<EdgeLine> lines = new ArrayList<>();
+    int f = 0;
+    int m = 0;
+    while (f < n && m < n) {
+      int farLine = far[farOrder[f]] + 1;
+      int nearLine = near[nearOrder[m]];
+      if (farLine < nearLine) {
+        f++;
+      } else if (farLine > nearLine) {
+        m++;
+      } else {
+        int fEnd = f;
+        while (fEnd < n && far[farOrder[fEnd]] + 1 == farLine) {
+          fEnd++;
+        }
+        int mEnd = m;
+        while (mEnd < n && near[nearOrder[mEnd]] == nearLine) {
+          mEnd++;
+        }
+        lines.add(new EdgeLine(farOrder, f, fEnd, nearOrder, m, mEnd, spanStart, spanEnd));
+        f = fEnd;
+        m = mEnd;
+      }
+    }
+    return lines;
+  }
+
+  /**
+   * Turns a list of neighbor pairs into sorted, duplicate-free neighbor lists.
+   *
+   * @param n     the number of rectangles
+   * @param pairs the pairs, stored as consecutive (a, b) values
+   * @return for each rectangle index, the ascending indices of its neighbors
+   */
+  private static int[][] toNeighborLists(int n, IntList pairs) {
+    int[] degree = new int[n];
+    for (int k = 0; k < pairs.size; k++) {
+      degree[pairs.values[k]]++;
+    }
+    IntList[] found = new IntList[n];
+    for (int i = 0; i < n; i++) {
+      found[i] = new IntList(degree[i]);
+    }
+    for (int k = 0; k < pairs.size; k += 2) {
+      found[pairs.values[k]].add(pairs.values[k + 1]);
+      found[pairs.values[k + 1]].add(pairs.values[k]);
+    }
+    int[][] neighbors = new int[n][];
+    for (int i = 0; i < n; i++) {
+      neighbors[i] = found[i].toSortedArray();
+    }
+    return neighbors;
+  }
+
+  /**
+   * The far edges and near edges that lie on one row or column line, each sorted by
+   * where their span starts.
+   */
+  private static final class EdgeLine {
+    private final Integer[] first;
+    private final int firstFrom;
+    private final int firstTo;
+    private final Integer[] second;
+    private final int secondFrom;
+    private final int secondTo;
+    private final int[] spanStart;
+    private final int[] spanEnd;
+
+    EdgeLine(Integer[] first, int firstFrom, int firstTo, Integer[] second, int secondFrom,
+        int secondTo, int[] spanStart, int[] spanEnd) {
+      this.first = first;
+      this.firstFrom = firstFrom;
+      this.firstTo = firstTo;
+      this.second = second;
+      this.secondFrom = secondFrom;
+      this.secondTo = secondTo;
+      this.spanStart = spanStart;
+      this.spanEnd = spanEnd;
+    }
+
+    int size() {
+      return firstTo - firstFrom + secondTo - secondFrom;
+    }
+
+    /**
+     * Reports every overlapping pair between the far and near edges on this line.
+     * The sweep keeps the spans that are still open on each side.
+     *
+     * @param pairs the list to add the pairs to
+     */
+    void sweep(IntList pairs) {
+      Comparator<Integer> byEnd = Comparator.comparingInt(i -> spanEnd[i]);
+      PriorityQueue<Integer> openFirst = new PriorityQueue<>(byEnd);
+      PriorityQueue<Integer> openSecond = new PriorityQueue<>(byEnd);
+
+      int a = firstFrom;
+      int b = secondFrom;
+      while (a < firstTo || b < secondTo) {
+        boolean takeFirst = b >= secondTo
+            || (a < firstTo && spanStart[first[a]] <= spanStart[second[b]]);
+        int current = takeFirst ? first[a++] : second[b++];
+        int start = spanStart[current];
+        PriorityQueue<Integer> others = takeFirst ? openSecond : openFirst;
+
+        while (!others.isEmpty() && spanEnd[others.peek()] < start) {
+          others.poll();
+        }
+        for (int other : others) {
+          // Skip self pairs and inverted rectangles, which the pairwise rule never matches.
+          if (other == current || spanStart[other] > spanEnd[current]) {
+            continue;
+          }
+          pairs.add(current);
+          pairs.add(other);
+        }
+        (takeFirst ? openFirst : openSecond).add(current);
+      }
+    }
+  }
+
+  /**
+   * Sweeps a range of edge lines, splitting the range in half until it is small enough.
+   */
+  private static final class SweepTask extends RecursiveTask<IntList> {
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_EDGES_PER_TASK = 4096;
+
+    private final transient List<EdgeLine> lines;
+    private final int from;
+    private final int to;
+
+    SweepTask(List<EdgeLine> lines, int from, int to) {
+      this.lines = lines;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected IntList compute() {
+      int edges = 0;
+      for (int i = from; i < to && edges <= MAX_EDGES_PER_TASK; i++) {
+        edges += lines.get(i).size();
+      }
+      if (to - from <= 1 || edges <= MAX_EDGES_PER_TASK) {
+        IntList pairs = new IntList();
+        for (int i = from; i < to; i++) {
+          lines.get(i).sweep(pairs);
+        }
+        return pairs;
+      }
+      int middle = (from + to) >>> 1;
+      SweepTask left = new SweepTask(lines, from, middle);
+      left.fork();
+      IntList pairs = new SweepTask(lines, middle, to).compute();
+      pairs.addAll(left.join());
+      return pairs;
+    }
+  }
+
+  /**
+   * A small growable list of primitive ints.
+   */
+  private static final class IntList {
+    private int[] values;
+    private int size;
+
+    IntList() {
+      this(4);
+    }
+
+    IntList(int capacity) {
+      values = new int[Math.max(capacity, 1)];
+    }
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    void addAll(IntList other) {
+      if (size + other.size > values.length) {
+        values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+      }
+      System.arraycopy(other.values, 0, values, size, other.size);
+      size += other.size;
+    }
+
+    int[] toSortedArray() {
+      int[] result = Arrays.copyOf(values, size);
+      Arrays.sort(result);
+      int unique = 0;
+      for (int i = 0; i < result.length; i++) {
+        if (unique == 0 || result[unique - 1] != result[i]) {
+          result[unique++] = result[i];
+        }
+      }
+      return unique == result.length ? result : Arrays.copyOf(result, unique);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package world;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import player.PlayerImpl;
+import space.ImSpace;
+
+/**
+ * This class tracks which space every player is in. Each player gets a slot, and the
+ * players in a space form a doubly linked list threaded through int arrays indexed by
+ * slot, so moving a player is O(1) and allocates nothing. The spaces that hold at least
+ * one player are kept in a dense array, so listing the occupied spaces does not visit
+ * the empty ones.
+ */
+final class PlayerLocations {
+  private static final int NONE = -1;
+
+  private final List<ImSpace> spaces;
+  private final ToIntFunction<ImSpace> indexer;
+  private final Map<PlayerImpl, Integer> slots = new IdentityHashMap<>();
+
+  // Per player slot.
+  private PlayerImpl[] players = new PlayerImpl[4];
+  private int[] playerSpace = new int[4];
+  private int[] next = new int[4];
+  private int[] prev = new int[4];
+
+  // Per space.
+  private final int[] head;
+  private final int[] tail;
+  private final int[] count;
+  private final int[] occupiedPos;
+
+  // The spaces with at least one player, in no particular order.
+  private final int[] occupied;
+  private int occupiedCount;
+
+  private final Map<ImSpace, List<PlayerImpl>> view = new LocationMap();
+
+  /**
+   * Constructs an empty {@code PlayerLocations}.
+   *
+   * @param spaces  the spaces of the world, in index order
+   * @param indexer finds the index of a space, or -1 if it is not part of the world
+   */
+  PlayerLocations(List<ImSpace> spaces, ToIntFunction<ImSpace> indexer) {
+    this.spaces = spaces;
+    this.indexer = indexer;
+    int n = spaces.size();
+    head = new int[n];
+    tail = new int[n];
+    count = new int[n];
+    occupiedPos = new int[n];
+    occupied = new int[n];
+    Arrays.fill(head, NONE);
+    Arrays.fill(tail, NONE);
+  }
+
+  /**
+   * Places a player in a space, adding the player if it is not tracked yet.
+   *
+   * @param player the player
+   * @param space  the index of the space the player is now in
+   */
+  void move(PlayerImpl player, int space) {
+    Integer slot = slots.get(player);
+    if (slot == null) {
+      slot = addSlot(player);
+    } else if (playerSpace[slot] == space) {
+      return;
+    } else {
+      unlink(slot);
+    }
+    link(slot, space);
+  }
+
+  /**
+   * Stops tracking every player.
+   */
+  void clear() {
+    for (int i = 0; i < occupiedCount; i++) {
+      int space = occupied[i];
+      head[space] = NONE;
+      tail[space] = NONE;
+      count[space] = 0;
+    }
+    occupiedCount = 0;
+    Arrays.fill(players, 0, slots.size(), null);
+    slots.clear();
+  }
+
+  /**
+   * Gets the players in a space, as a read-only view that follows later moves.
+   *
+   * @param space the index of the space
+   * @return the players in the space, in the order they arrived
+   */
+  List<PlayerImpl> playersIn(int space) {
+    return new SpaceList(space);
+  }
+
+  /**
+   * Gets the occupied spaces and their players, as a read-only view that follows later
+   * moves. Only spaces with at least one player are present.
+   *
+   * @return the map from space to the players in it
+   */
+  Map<ImSpace, List<PlayerImpl>> asMap() {
+    return view;
+  }
+
+  private int addSlot(PlayerImpl player) {
+    int slot = slots.size();
+    if (slot == players.length) {
+      int capacity = slot * 2;
+      players = Arrays.copyOf(players, capacity);
+      playerSpace = Arrays.copyOf(playerSpace, capacity);
+      next = Arrays.copyOf(next, capacity);
+      prev = Arrays.copyOf(prev, capacity);
+    }
+    players[slot] = player;
+    slots.put(player, slot);
+    return slot;
+  }
+
+  private void link(int slot, int space) {
+    playerSpace[slot] = space;
+    next[slot] = NONE;
+    prev[slot] = tail[space];
+    if (tail[space] == NONE) {
+      head[space] = slot;
+      occupiedPos[space] = occupiedCount;
+      occupied[occupiedCount++] = space;
+    } else {
+      next[tail[space]] = slot;
+    }
+    tail[space] = slot;
+    count[space]++;
+  }
+
+  private void unlink(int slot) {
+    int space = playerSpace[slot];
+    if (prev[slot] == NONE) {
+      head[space] = next[slot];
+    } else {
+      next[prev[slot]] = next[slot];
+    }
+    if (next[slot] == NONE) {
+      tail[space] = prev[slot];
+    } else {
+      prev[next[slot]] = prev[slot];
+    }
+    if (--count[space] == 0) {
+      // Swap the last occupied space into the freed position.
+      int last = occupied[--occupiedCount];
+      occupied[occupiedPos[space]] = last;
+      occupiedPos[last] = occupiedPos[space];
+    }
+  }
+
+  /**
+   * The players in one space, read by walking the space's list.
+   */
+  private final class SpaceList extends AbstractList<PlayerImpl> {
+    private final int space;
+
+    SpaceList(int space) {
+      this.space = space;
+    }
+
+    @Override
+    public PlayerImpl get(int index) {
+      if (index < 0 || index >= count[space]) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count[space]);
+      }
+      int slot = head[space];
+      for (int i = 0; i < index; i++) {
+        slot = next[slot];
+      }
+      return players[slot];
+    }
+
+    @Override
+    public int size() {
+      return count[space];
+    }
+
+    @Override
+    public Iterator<PlayerImpl> iterator() {
+      return new Iterator<PlayerImpl>() {
+        private int slot = head[space];
+
+        @Override
+        public boolean hasNext() {
+          return slot != NONE;
+        }
+
+        @Override
+        public PlayerImpl next() {
+          if (slot == NONE) {
+            throw new NoSuchElementException();
+          }
+          PlayerImpl player = players[slot];
+          slot = next[slot];
+          return player;
+        }
+      };
+    }
+  }
+
+  /**
+   * The occupied spaces as a map, looked up by space index.
+   */
+  private final class LocationMap extends AbstractMap<ImSpace, List<PlayerImpl>> {
+
+    @Override
+    public List<PlayerImpl> get(Object key) {
+      int space = key instanceof ImSpace ? indexer.applyAsInt((ImSpace) key) : NONE;
+      return space == NONE || count[space] == 0 ? null : new SpaceList(space);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+      return occupiedCount;
+    }
+
+    @Override
+    public Set<Map.Entry<ImSpace, List<PlayerImpl>>> entrySet() {
+      return new AbstractSet<Map.Entry<ImSpace, List<PlayerImpl>>>() {
+        @Override
+        public int size() {
+          return occupiedCount;
+        }
+
+        @Override
+        public Iterator<Map.Entry<ImSpace, List<PlayerImpl>>> iterator() {
+          return new Iterator<Map.Entry<ImSpace, List<PlayerImpl>>>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+              return position < occupiedCount;
+            }
+
+            @Override
+            public Map.Entry<ImSpace, List<PlayerImpl>> next() {
+              if (position >= occupiedCount) {
+                throw new NoSuchElementException();
+              }
+              int space = occupied[position++];
+              return new AbstractMap.SimpleImmutableEntry<>(spaces.get(space),
+                  new SpaceList(space));
+            }
+          };
+        }
+      };
+    }
+  }
+}
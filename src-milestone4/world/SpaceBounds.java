@@ -0,0 +1,107 @@
+package world;
+
+import java.util.List;
+import space.ImSpace;
+
+/**
+ * This class stores the rectangles of every space in a world as four parallel columns,
+ * indexed by space. Reading a coordinate is a single array access and never allocates,
+ * unlike {@link ImSpace#getCoordinates()}, which returns a new array on every call.
+ * The columns are read-only once the store is built.
+ */
+public final class SpaceBounds {
+  private final int[] top;
+  private final int[] left;
+  private final int[] bottom;
+  private final int[] right;
+
+  /**
+   * Constructs a {@code SpaceBounds} holding the rectangles of the given spaces.
+   *
+   * @param spaces the spaces, in index order
+   */
+  public SpaceBounds(List<ImSpace> spaces) {
+    int n = spaces.size();
+    top = new int[n];
+    left = new int[n];
+    bottom = new int[n];
+    right = new int[n];
+    for (int i = 0; i < n; i++) {
+      ImSpace space = spaces.get(i);
+      top[i] = space.getUpperLeftRow();
+      left[i] = space.getUpperLeftCol();
+      bottom[i] = space.getLowerRightRow();
+      right[i] = space.getLowerRightCol();
+    }
+  }
+
+  /**
+   * Gets the number of spaces.
+   *
+   * @return the number of spaces
+   */
+  public int size() {
+    return top.length;
+  }
+
+  /**
+   * Gets the row of a space's upper-left corner.
+   *
+   * @param space the index of the space
+   * @return the upper-left row
+   */
+  public int upperLeftRow(int space) {
+    return top[space];
+  }
+
+  /**
+   * Gets the column of a space's upper-left corner.
+   *
+   * @param space the index of the space
+   * @return the upper-left column
+   */
+  public int upperLeftCol(int space) {
+    return left[space];
+  }
+
+  /**
+   * Gets the row of a space's lower-right corner.
+   *
+   * @param space the index of the space
+   * @return the lower-right row
+   */
+  public int lowerRightRow(int space) {
+    return bottom[space];
+  }
+
+  /**
+   * Gets the column of a space's lower-right corner.
+   *
+   * @param space the index of the space
+   * @return the lower-right column
+   */
+  public int lowerRightCol(int space) {
+    return right[space];
+  }
+
+  /**
+   * Checks if two spaces share a wall, using the rule in {@link NeighborFinder}.
+   *
+   * @param space1 the index of the first space
+   * @param space2 the index of the second space
+   * @return {@code true} if the spaces are neighbors, {@code false} otherwise
+   */
+  public boolean sharesWall(int space1, int space2) {
+    return NeighborFinder.sharesWall(top[space1], left[space1], bottom[space1], right[space1],
+        top[space2], left[space2], bottom[space2], right[space2]);
+  }
+
+  /**
+   * Finds the neighbors of every space.
+   *
+   * @return for each space index, the ascending indices of its neighbors
+   */
+  int[][] findNeighbors() {
+    return NeighborFinder.findNeighbors(top, left, bottom, right);
+  }
+}
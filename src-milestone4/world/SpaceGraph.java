@@ -0,0 +1,133 @@
+package world;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the neighbor relationships between the spaces of a world
+ * in compressed sparse row form. The neighbors of space {@code i} are stored in
+ * {@code targets[offsets[i]]} up to {@code targets[offsets[i + 1]]}, sorted in ascending order.
+ * Spaces are identified by their index in the world, which is the same as
+ * {@code Space.getId()} for worlds loaded from a file. Instances are immutable.
+ */
+public final class SpaceGraph {
+  private final int[] offsets;
+  private final int[] targets;
+
+  /**
+   * Constructs a {@code SpaceGraph} from its offset and target arrays.
+   *
+   * @param offsets the start of each space's neighbors in {@code targets}, plus a final
+   *                entry holding the total number of neighbor entries
+   * @param targets the neighbor indices of every space, each run sorted in ascending order
+   * @throws IllegalArgumentException if the arrays do not describe a valid graph
+   */
+  public SpaceGraph(int[] offsets, int[] targets) {
+    if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] != targets.length) {
+      throw new IllegalArgumentException("Offsets do not match the number of targets.");
+    }
+    int spaceCount = offsets.length - 1;
+    for (int i = 0; i < spaceCount; i++) {
+      if (offsets[i] > offsets[i + 1]) {
+        throw new IllegalArgumentException("Offsets must not decrease at space " + i);
+      }
+      for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+        if (targets[k] < 0 || targets[k] >= spaceCount
+            || (k > offsets[i] && targets[k - 1] >= targets[k])) {
+          throw new IllegalArgumentException("Invalid neighbor list for space " + i);
+        }
+      }
+    }
+    this.offsets = offsets.clone();
+    this.targets = targets.clone();
+  }
+
+  /**
+   * Builds a {@code SpaceGraph} from per-space neighbor lists.
+   *
+   * @param neighbors for each space index, the ascending indices of its neighbors
+   * @return the graph
+   */
+  public static SpaceGraph fromNeighbors(int[][] neighbors) {
+    int[] offsets = new int[neighbors.length + 1];
+    for (int i = 0; i < neighbors.length; i++) {
+      offsets[i + 1] = offsets[i] + neighbors[i].length;
+    }
+    int[] targets = new int[offsets[neighbors.length]];
+    for (int i = 0; i < neighbors.length; i++) {
+      System.arraycopy(neighbors[i], 0, targets, offsets[i], neighbors[i].length);
+    }
+    return new SpaceGraph(offsets, targets);
+  }
+
+  /**
+   * Gets the number of spaces in the graph.
+   *
+   * @return the number of spaces
+   */
+  public int getSpaceCount() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Gets the total number of neighbor entries, counting each pair of neighbors twice.
+   *
+   * @return the number of neighbor entries
+   */
+  public int getEdgeCount() {
+    return targets.length;
+  }
+
+  /**
+   * Gets the number of neighbors of a space.
+   *
+   * @param space the index of the space
+   * @return the number of neighbors
+   */
+  public int getDegree(int space) {
+    return offsets[space + 1] - offsets[space];
+  }
+
+  /**
+   * Gets one neighbor of a space.
+   *
+   * @param space the index of the space
+   * @param k     which neighbor to get, from 0 to {@code getDegree(space) - 1}
+   * @return the index of the neighbor
+   * @throws IndexOutOfBoundsException if {@code k} is not a valid neighbor position
+   */
+  public int getNeighbor(int space, int k) {
+    if (k < 0 || k >= getDegree(space)) {
+      throw new IndexOutOfBoundsException("Invalid neighbor position: " + k);
+    }
+    return targets[offsets[space] + k];
+  }
+
+  /**
+   * Checks if two spaces are neighbors.
+   *
+   * @param space1 the index of the first space
+   * @param space2 the index of the second space
+   * @return {@code true} if the spaces are neighbors, {@code false} otherwise
+   */
+  public boolean isAdjacent(int space1, int space2) {
+    return Arrays.binarySearch(targets, offsets[space1], offsets[space1 + 1], space2) >= 0;
+  }
+
+  /**
+   * Gets a copy of the offset array.
+   *
+   * @return the offsets
+   */
+  public int[] getOffsets() {
+    return offsets.clone();
+  }
+
+  /**
+   * Gets a copy of the target array.
+   *
+   * @return the targets
+   */
+  public int[] getTargets() {
+    return targets.clone();
+  }
+}
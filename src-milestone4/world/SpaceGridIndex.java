@@ -0,0 +1,91 @@
+package world;
+
+import java.util.function.IntConsumer;
+
+/**
+ * This class is a spatial index over the areas that spaces cover on the map. The map is
+ * divided into square buckets, and each bucket lists, in ascending order, the spaces whose
+ * area overlaps it. The lists are stored back to back in one array, so the index costs a
+ * few ints per space and bucket no matter how large each space is drawn.
+ */
+final class SpaceGridIndex {
+  private final int bucketSize;
+  private final int bucketCols;
+  private final int bucketRows;
+  private final int[] offsets;
+  private final int[] entries;
+
+  /**
+   * Builds the index. Each area is given in pixels, with exclusive right and bottom edges.
+   *
+   * @param left       the left edge of each area
+   * @param top        the top edge of each area
+   * @param right      the right edge of each area
+   * @param bottom     the bottom edge of each area
+   * @param width      the width of the map
+   * @param height     the height of the map
+   * @param bucketSize the width and height of each bucket
+   */
+  SpaceGridIndex(int[] left, int[] top, int[] right, int[] bottom, int width, int height,
+      int bucketSize) {
+    this.bucketSize = bucketSize;
+    this.bucketCols = Math.max(1, (width + bucketSize - 1) / bucketSize);
+    this.bucketRows = Math.max(1, (height + bucketSize - 1) / bucketSize);
+
+    // Count the spaces per bucket, then fill the buckets in space order.
+    int[] counts = new int[bucketCols * bucketRows + 1];
+    for (int i = 0; i < left.length; i++) {
+      forEachBucket(left[i], top[i], right[i], bottom[i], bucket -> counts[bucket + 1]++);
+    }
+    for (int b = 0; b < bucketCols * bucketRows; b++) {
+      counts[b + 1] += counts[b];
+    }
+    offsets = counts.clone();
+    entries = new int[counts[counts.length - 1]];
+    int[] next = counts;
+    for (int i = 0; i < left.length; i++) {
+      int space = i;
+      forEachBucket(left[i], top[i], right[i], bottom[i],
+          bucket -> entries[next[bucket]++] = space);
+    }
+  }
+
+  /**
+   * Gets the width and height of each bucket.
+   *
+   * @return the bucket size in pixels
+   */
+  int getBucketSize() {
+    return bucketSize;
+  }
+
+  /**
+   * Gets the spaces whose area overlaps a bucket.
+   *
+   * @param bucketCol the column of the bucket
+   * @param bucketRow the row of the bucket
+   * @return the ascending indices of the spaces, or none if the bucket is off the map
+   */
+  int[] spacesIn(int bucketCol, int bucketRow) {
+    if (bucketCol < 0 || bucketRow < 0 || bucketCol >= bucketCols || bucketRow >= bucketRows) {
+      return new int[0];
+    }
+    int bucket = bucketRow * bucketCols + bucketCol;
+    int[] spaces = new int[offsets[bucket + 1] - offsets[bucket]];
+    System.arraycopy(entries, offsets[bucket], spaces, 0, spaces.length);
+    return spaces;
+  }
+
+  private void forEachBucket(int left, int top, int right, int bottom,
+      IntConsumer action) {
+    int firstCol = Math.max(0, Math.floorDiv(left, bucketSize));
+    int lastCol = Math.min(bucketCols - 1, Math.floorDiv(right - 1, bucketSize));
+    int firstRow = Math.max(0, Math.floorDiv(top, bucketSize));
+    int lastRow = Math.min(bucketRows - 1, Math.floorDiv(bottom - 1, bucketSize));
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int col = firstCol; col <= lastCol; col++) {
+        action.accept(row * bucketCols + col);
+      }
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package world;
+
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import log.GameLog;
+import space.ImSpace;
+
+/**
+ * This class draws the room layer of the map in square tiles, for maps far too large to
+ * fit in one image. Only the tiles that overlap the area being painted are drawn, and
+ * each tile draws only the rooms that a {@link SpaceGridIndex} lists for it. Drawn tiles
+ * are kept in a least recently used cache of fixed size, so memory is bounded by the
+ * cache and the visible area rather than by the size of the world.
+ * <p>
+ * Tiles are drawn on the painting thread unless render workers are set. With workers, a
+ * missing tile is painted as a placeholder and queued; when a worker has drawn it, the
+ * tile's area is reported so that it can be repainted. A tile that fails to draw is logged
+ * and left out of the cache, so the next paint queues it again.
+ * </p>
+ */
+final class TileRenderer {
+  private static final GameLog LOG = GameLog.forClass(TileRenderer.class);
+  /** The width and height of each tile in pixels. */
+  static final int TILE_SIZE = 256;
+  private static final Color PLACEHOLDER = new Color(235, 235, 235);
+
+  private final List<ImSpace> spaces;
+  private final SpaceBounds bounds;
+  private final int width;
+  private final int height;
+  private final Map<Long, BufferedImage> cache;
+  private final Set<Long> pending = new HashSet<>();
+  private SpaceGridIndex index;
+  private long tilesDrawn;
+  private Executor workers;
+  private Consumer<Rectangle> onTileReady;
+
+  /**
+   * Constructs a {@code TileRenderer} for a world.
+   *
+   * @param spaces   the spaces of the world, in index order
+   * @param bounds   the rectangles of the spaces
+   * @param width    the width of the map in pixels
+   * @param height   the height of the map in pixels
+   * @param maxTiles the most tiles to keep cached
+   */
+  TileRenderer(List<ImSpace> spaces, SpaceBounds bounds, int width, int height,
+      int maxTiles) {
+    this.spaces = spaces;
+    this.bounds = bounds;
+    this.width = width;
+    this.height = height;
+    this.cache = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+        return size() > maxTiles;
+      }
+    };
+  }
+
+  /**
+   * Has tiles drawn by background workers from now on.
+   *
+   * @param workers     the threads that draw tiles
+   * @param onTileReady called from a worker with the area of each tile that becomes ready
+   */
+  void setWorkers(Executor workers, Consumer<Rectangle> onTileReady) {
+    synchronized (cache) {
+      this.workers = workers;
+      this.onTileReady = onTileReady;
+    }
+  }
+
+  /**
+   * Draws the rooms that fall inside an area of the map.
+   *
+   * @param g    the Graphics object, in map coordinates
+   * @param area the area to draw, in pixels
+   */
+  void paint(Graphics g, Rectangle area) {
+    Rectangle visible = area.intersection(new Rectangle(0, 0, width, height));
+    if (visible.isEmpty()) {
+      return;
+    }
+    int firstCol = visible.x / TILE_SIZE;
+    int lastCol = (visible.x + visible.width - 1) / TILE_SIZE;
+    int firstRow = visible.y / TILE_SIZE;
+    int lastRow = (visible.y + visible.height - 1) / TILE_SIZE;
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int col = firstCol; col <= lastCol; col++) {
+        BufferedImage tile = tile(col, row);
+        if (tile != null) {
+          g.drawImage(tile, col * TILE_SIZE, row * TILE_SIZE, null);
+        } else {
+          g.setColor(PLACEHOLDER);
+          g.fillRect(col * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of tiles currently cached.
+   *
+   * @return the number of cached tiles
+   */
+  int getCachedTileCount() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Gets the number of tiles drawn so far, counting each tile again when it is drawn
+   * after being evicted.
+   *
+   * @return the number of tiles drawn
+   */
+  long getTilesDrawn() {
+    synchronized (cache) {
+      return tilesDrawn;
+    }
+  }
+
+  /**
+   * Gets a tile, drawing it now or queueing it for the workers if it is not cached.
+   *
+   * @param col the column of the tile
+   * @param row the row of the tile
+   * @return the tile, or {@code null} if a worker is still drawing it
+   */
+  private BufferedImage tile(int col, int row) {
+    long key = ((long) row << 32) | col;
+    Executor queue;
+    Consumer<Rectangle> ready;
+    synchronized (cache) {
+      BufferedImage tile = cache.get(key);
+      if (tile != null || pending.contains(key)) {
+        return tile;
+      }
+      queue = workers;
+      ready = onTileReady;
+      if (queue != null) {
+        pending.add(key);
+      }
+    }
+    if (queue == null) {
+      BufferedImage tile = drawTile(col, row);
+      store(key, tile);
+      return tile;
+    }
+    queue.execute(() -> {
+      BufferedImage tile;
+      try {
+        tile = drawTile(col, row);
+      } catch (RuntimeException e) {
+        synchronized (cache) {
+          pending.remove(key);
+        }
+        LOG.error(() -> "Failed to draw map tile " + col + ", " + row, e);
+        return;
+      }
+      store(key, tile);
+      ready.accept(new Rectangle(col * TILE_SIZE, row * TILE_SIZE, tile.getWidth(),
+          tile.getHeight()));
+    });
+    return null;
+  }
+
+  private void store(long key, BufferedImage tile) {
+    synchronized (cache) {
+      pending.remove(key);
+      cache.put(key, tile);
+      tilesDrawn++;
+    }
+  }
+
+  private BufferedImage drawTile(int col, int row) {
+    int x = col * TILE_SIZE;
+    int y = row * TILE_SIZE;
+    BufferedImage tile = new BufferedImage(Math.min(TILE_SIZE, width - x),
+        Math.min(TILE_SIZE, height - y), BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = tile.createGraphics();
+    g.setFont(MapRenderer.LABEL_FONT);
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, tile.getWidth(), tile.getHeight());
+    g.translate(-x, -y);
+    // Rooms are drawn in index order, as on the full map, so overlaps look the same.
+    for (int space : index(g.getFontMetrics()).spacesIn(col, row)) {
+      MapRenderer.paintSpace(g, spaces, bounds, space);
+    }
+    g.dispose();
+    return tile;
+  }
+
+  /**
+   * Builds the spatial index on first use. Each room is indexed by the area it paints,
+   * which includes the right and bottom border lines and a name wider than the room.
+   *
+   * @param metrics the metrics of the font room names are drawn in
+   * @return the index
+   */
+  private synchronized SpaceGridIndex index(FontMetrics metrics) {
+    if (index == null) {
+      int n = bounds.size();
+      int[] left = new int[n];
+      int[] top = new int[n];
+      int[] right = new int[n];
+      int[] bottom = new int[n];
+      for (int i = 0; i < n; i++) {
+        Rectangle area = MapRenderer.spaceArea(metrics, spaces, bounds, i);
+        left[i] = area.x;
+        top[i] = area.y;
+        right[i] = area.x + area.width;
+        bottom[i] = area.y + area.height;
+      }
+      index = new SpaceGridIndex(left, top, right, bottom, width, height, TILE_SIZE);
+    }
+    return index;
+  }
+}
@@ -3,12 +3,20 @@ package world;
 import character.ImTargetCharacter;
 import item.ImItem;
 import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import log.GameLog;
 import pet.Pet;
 import player.PlayerImpl;
 import space.ImSpace;
@@ -19,6 +27,12 @@ import space.ImSpace;
  * character and pet, and generating a graphical representation of the world.
  */
 public class World implements ImWorld {
+  private static final GameLog LOG = GameLog.forClass(World.class);
+  /** The largest world that gets a dense adjacency matrix; 4096 spaces take 2 MB. */
+  private static final int MAX_DENSE_SPACES = 4096;
+  /** The most map tiles kept drawn; 64 tiles of 256x256 pixels take 16 MB. */
+  private static final int MAX_CACHED_TILES = 64;
+
   private int rows;
   private int cols;
   private String name;
@@ -27,7 +41,15 @@ public class World implements ImWorld {
   private ImTargetCharacter targetCharacter;
   private Pet pet;
   private List<PlayerImpl> players;
-  private Map<ImSpace, List<PlayerImpl>> spaceToPlayersMap = new HashMap<>();
+  private final PlayerLocations playerLocations;
+  private final MapRenderer renderer;
+  private TileRenderer tiles;
+  private List<Rectangle> spriteAreas = new ArrayList<>();
+  private FontMetrics labelMetrics;
+  private final SpaceBounds bounds;
+  private final SpaceGraph topology;
+  private final AdjacencyBitSet adjacency;
+  private final Map<ImSpace, Integer> spaceIndex;
   
 
   /**
@@ -47,6 +69,27 @@ public class World implements ImWorld {
   public World(int rows, int cols, String name, List<ImSpace> spaces, 
       List<ImItem> items, ImTargetCharacter targetCharacter, 
       Pet pet, List<PlayerImpl> players) {
+    this(rows, cols, name, spaces, items, targetCharacter, pet, players, null);
+  }
+
+  /**
+   * Constructs a {@code World} object whose neighbor relationships are already known,
+   * for example because they were loaded from a compiled world file.
+   *
+   * @param rows             the number of rows in the world grid
+   * @param cols             the number of columns in the world grid
+   * @param name             the name of the world
+   * @param spaces           a list of {@code ImSpace} objects
+   * @param items            a list of {@code ImItem} objects 
+   * @param targetCharacter  the {@code ImTargetCharacter} object
+   * @param pet              the {@code Pet} object that may influence visibility in spaces
+   * @param players          a list of {@code PlayerImpl} objects
+   * @param topology         the neighbors of every space, or {@code null} to compute them
+   * @throws IllegalArgumentException if the topology does not match the number of spaces
+   */
+  public World(int rows, int cols, String name, List<ImSpace> spaces, 
+      List<ImItem> items, ImTargetCharacter targetCharacter, 
+      Pet pet, List<PlayerImpl> players, SpaceGraph topology) {
     this.rows = rows;
     this.cols = cols;
     this.name = name;
@@ -55,17 +98,26 @@ public class World implements ImWorld {
     this.targetCharacter = targetCharacter;
     this.pet = pet;
     this.players = players;
+    this.spaceIndex = indexMisplacedSpaces(spaces);
     
-    // Debug: Initialization verification
-    System.out.println("World initialized: " + name);
-    System.out.println("Rows: " + rows + ", Columns: " + cols);
-    System.out.println("Spaces: " + spaces.size());
-    System.out.println("Target Character: "
-        + "" + (targetCharacter != null ? targetCharacter.getName() : "None"));
-    System.out.println("Players: " + players.size());
-    System.out.println("Items: " + items.size());
-
+    LOG.debug(() -> "World initialized: " + name + ", " + rows + "x" + cols + ", "
+        + spaces.size() + " spaces, target "
+        + (targetCharacter != null ? targetCharacter.getName() : "None") + ", "
+        + players.size() + " players, " + items.size() + " items");
+
+    this.bounds = new SpaceBounds(spaces);
+    if (topology == null) {
+      topology = SpaceGraph.fromNeighbors(bounds.findNeighbors());
+    } else if (topology.getSpaceCount() != spaces.size()) {
+      throw new IllegalArgumentException("Topology has " + topology.getSpaceCount()
+          + " spaces but the world has " + spaces.size());
+    }
+    this.topology = topology;
+    this.adjacency = spaces.size() <= MAX_DENSE_SPACES ? new AdjacencyBitSet(topology) : null;
     assignNeighbors();
+    this.playerLocations = new PlayerLocations(spaces, this::findIndex);
+    this.renderer = new MapRenderer(spaces, bounds, rows, cols);
+    updatePlayerLocations();
   }
 
   public List<PlayerImpl> getPlayers() {
@@ -80,7 +132,7 @@ public class World implements ImWorld {
   @Override
   public void displayPlayerLocations() {
     System.out.println("Player Locations:");
-    for (Map.Entry<ImSpace, List<PlayerImpl>> entry : spaceToPlayersMap.entrySet()) {
+    for (Map.Entry<ImSpace, List<PlayerImpl>> entry : playerLocations.asMap().entrySet()) {
       ImSpace space = entry.getKey();
       List<PlayerImpl> players = entry.getValue();
       System.out.print("Space: " + space.getName() + " - Players: ");
@@ -101,7 +153,68 @@ public class World implements ImWorld {
 
   @Override
   public List<ImSpace> getNeighbors(ImSpace space) {
-    return space.getNeighbors();
+    return new NeighborList(indexOf(space));
+  }
+
+  @Override
+  public SpaceGraph getTopology() {
+    return topology;
+  }
+
+  @Override
+  public boolean isAdjacent(int space1, int space2) {
+    if (adjacency != null) {
+      return adjacency.isAdjacent(space1, space2);
+    }
+    return topology.isAdjacent(space1, space2);
+  }
+
+  @Override
+  public boolean isAdjacent(ImSpace space1, ImSpace space2) {
+    int index1 = findIndex(space1);
+    int index2 = findIndex(space2);
+    return index1 >= 0 && index2 >= 0 && isAdjacent(index1, index2);
+  }
+
+  @Override
+  public int indexOf(ImSpace space) {
+    int index = findIndex(space);
+    if (index < 0) {
+      throw new IllegalArgumentException("Space is not part of this world: " + space.getName());
+    }
+    return index;
+  }
+
+  /**
+   * Finds the index of a space, using its id when it matches its position in the list.
+   *
+   * @param space the space to find
+   * @return the index of the space, or -1 if it is not part of this world
+   */
+  private int findIndex(ImSpace space) {
+    int id = space.getId();
+    if (id >= 0 && id < spaces.size() && spaces.get(id) == space) {
+      return id;
+    }
+    return spaceIndex.getOrDefault(space, -1);
+  }
+
+  /**
+   * Indexes the spaces whose id is not their position in the list. It is built once, in
+   * the constructor, because the map is painted on the event thread while the game runs
+   * on its own thread.
+   *
+   * @param spaces the spaces of the world
+   * @return the position of each space whose id does not give it
+   */
+  private static Map<ImSpace, Integer> indexMisplacedSpaces(List<ImSpace> spaces) {
+    Map<ImSpace, Integer> index = new IdentityHashMap<>();
+    for (int i = 0; i < spaces.size(); i++) {
+      if (spaces.get(i).getId() != i) {
+        index.put(spaces.get(i), i);
+      }
+    }
+    return index;
   }
 
   @Override
@@ -112,11 +225,36 @@ public class World implements ImWorld {
     return spaces.get(index);
   }
 
+  @Override
+  public int upperLeftRow(int index) {
+    return bounds.upperLeftRow(index);
+  }
+
+  @Override
+  public int upperLeftCol(int index) {
+    return bounds.upperLeftCol(index);
+  }
+
+  @Override
+  public int lowerRightRow(int index) {
+    return bounds.lowerRightRow(index);
+  }
+
+  @Override
+  public int lowerRightCol(int index) {
+    return bounds.lowerRightCol(index);
+  }
+
   @Override
   public List<ImSpace> getSpaces() {
     return spaces;
   }
 
+  @Override
+  public List<ImItem> getItems() {
+    return items;
+  }
+
   @Override
   public void moveTargetCharacter() {
     targetCharacter.moveToNextSpace();
@@ -136,17 +274,39 @@ public class World implements ImWorld {
     pet.moveTo(space);
   }
 
+  /**
+   * Moves the target character to a random neighboring space if the given space is the
+   * target's space or next to it, so the target escapes a player standing there.
+   *
+   * @param threat the space of the player the target flees from
+   * @param random picks the space to escape to, usually {@link GameRandom#forTarget()}
+   * @return {@code true} if the target moved, {@code false} otherwise
+   */
+  public boolean moveTargetAwayFrom(ImSpace threat, RandomGenerator random) {
+    int targetIndex = targetCharacter.getCurrentSpace();
+    int threatIndex = indexOf(threat);
+    if (threatIndex != targetIndex && !isAdjacent(targetIndex, threatIndex)) {
+      return false;
+    }
+    int degree = topology.getDegree(targetIndex);
+    if (degree == 0) {
+      return false;
+    }
+    targetCharacter.moveToSpace(topology.getNeighbor(targetIndex, random.nextInt(degree)));
+    return true;
+  }
+
   @Override
   public String getSpaceInfo(ImSpace space) {
     StringBuilder info = new StringBuilder();
     info.append("Space Name: ").append(space.getName()).append("\nItems: ");
     space.getItems().forEach(item -> 
         info.append(item.getName()).append(" (Damage: ").append(item.getDamage()).append("), "));
-    if (space.getItems().isEmpty()) {
+    if (space.getItemCount() == 0) {
       info.append("None\n");
     }
 
-    List<ImSpace> neighbors = space.getNeighbors();
+    List<ImSpace> neighbors = getNeighbors(space);
     info.append("Visible Neighbors: ");
     neighbors.stream().filter(neighbor -> !isPetBlockingVisibility(neighbor))
             .forEach(neighbor -> info.append(neighbor.getName()).append(", "));
@@ -154,7 +314,7 @@ public class World implements ImWorld {
       info.append("None\n");
     }
 
-    if (targetCharacter.getCurrentSpace() == spaces.indexOf(space)) {
+    if (targetCharacter.getCurrentSpace() == indexOf(space)) {
       info.append("Target character: ").append(targetCharacter.getName())
           .append(" (Health: ").append(targetCharacter.getHealth()).append(")\n");
     }
@@ -165,46 +325,49 @@ public class World implements ImWorld {
     return info.toString();
   }
 
+  /**
+   * Gives every space a view of its neighbors in the topology, so the neighbors are kept
+   * only once, in the graph.
+   */
   private void assignNeighbors() {
-    for (ImSpace space : spaces) {
-      for (ImSpace candidate : spaces) {
-        if (space != candidate && isNeighbor(space, candidate)) {
-          space.addNeighbor(candidate);
-          // Debug: Neighbor assignment
-          System.out.println("Neighbor assigned: "
-              + "" + space.getName() + " -> " + candidate.getName());
-        }
-      }
+    for (int i = 0; i < spaces.size(); i++) {
+      spaces.get(i).setNeighbors(new NeighborList(i));
     }
   }
   
   @Override
   public void updatePlayerLocations() {
-    spaceToPlayersMap.clear(); // Clear old mappings
+    // Rebuild from scratch, for callers that moved players without going through the world.
+    playerLocations.clear();
     for (PlayerImpl player : players) {
-      ImSpace currentSpace = player.getCurrentSpace();
-      spaceToPlayersMap.computeIfAbsent(currentSpace, k -> new ArrayList<>()).add(player);
-      System.out.println("Player "
-          + "" + player.getName() + " mapped to space: " + currentSpace.getName());
+      int index = findIndex(player.getCurrentSpace());
+      if (index >= 0) {
+        playerLocations.move(player, index);
+      }
     }
   }
 
+  @Override
+  public void addPlayer(PlayerImpl player) {
+    players.add(player);
+    playerLocations.move(player, indexOf(player.getCurrentSpace()));
+  }
+
   @Override
   public void movePlayer(PlayerImpl player, ImSpace newSpace) {
-    ImSpace oldSpace = player.getCurrentSpace();
-    if (spaceToPlayersMap.containsKey(oldSpace)) {
-      spaceToPlayersMap.get(oldSpace).remove(player);
-      if (spaceToPlayersMap.get(oldSpace).isEmpty()) {
-        spaceToPlayersMap.remove(oldSpace); 
-      }
-    }
+    int index = indexOf(newSpace);
     player.moveTo(newSpace);
-    spaceToPlayersMap.computeIfAbsent(newSpace, k -> new ArrayList<>()).add(player);
+    playerLocations.move(player, index);
   }
 
   @Override
   public Map<ImSpace, List<PlayerImpl>> getPlayerLocations() {
-    return new HashMap<>(spaceToPlayersMap);
+    return playerLocations.asMap();
+  }
+
+  @Override
+  public List<PlayerImpl> getPlayersIn(ImSpace space) {
+    return playerLocations.playersIn(indexOf(space));
   }
 
   @Override
@@ -220,7 +383,9 @@ public class World implements ImWorld {
   @Override
   public List<ImSpace> getVisibleSpaces(ImSpace space) {
     List<ImSpace> visibleSpaces = new ArrayList<>();
-    for (ImSpace neighbor : space.getNeighbors()) {
+    int index = indexOf(space);
+    for (int k = 0; k < topology.getDegree(index); k++) {
+      ImSpace neighbor = spaces.get(topology.getNeighbor(index, k));
       if (!isPetBlockingVisibility(neighbor)) {
         visibleSpaces.add(neighbor);
       }
@@ -238,145 +403,126 @@ public class World implements ImWorld {
     return pet.getCurrentSpace() == space;
   }
 
-
-  private boolean isNeighbor(ImSpace space1, ImSpace space2) {
-    int[] coords1 = space1.getCoordinates();
-    int[] coords2 = space2.getCoordinates();
-
-    boolean verticallyAligned = (coords1[1] <= coords2[3] && coords1[3] >= coords2[1]);
-    boolean verticallyAdjacent = (coords1[2] + 1 == coords2[0]) || (coords2[2] + 1 == coords1[0]);
-
-    boolean horizontallyAligned = (coords1[0] <= coords2[2] && coords1[2] >= coords2[0]);
-    boolean horizontallyAdjacent = (coords1[3] + 1 == coords2[1]) || (coords2[3] + 1 == coords1[1]);
-
-    return (verticallyAligned && verticallyAdjacent) 
-        || (horizontallyAligned && horizontallyAdjacent);
-  }
-
   @Override
   public BufferedImage generateMap() {
-    BufferedImage image = new BufferedImage(cols * 50, rows * 50, BufferedImage.TYPE_INT_RGB);
-    Graphics g = image.getGraphics();
-
-    System.out.println("Generating map...");
-
-    // Fill the map background
-    g.setColor(Color.WHITE);
-    g.fillRect(0, 0, image.getWidth(), image.getHeight());
-
-    // Draw spaces
-    for (ImSpace space : spaces) {
-      drawSpace(g, space);
-      System.out.println("Space drawn: " + space.getName());
-    }
+    BufferedImage map = renderer.newMap();
+    Graphics g = map.getGraphics();
+    g.setFont(MapRenderer.LABEL_FONT);
 
     // Draw Doctor Lucky
     if (targetCharacter != null) {
-      drawCharacter(g, spaces.get(targetCharacter.getCurrentSpace()), Color.RED, "DL");
-      System.out.println("Doctor Lucky drawn in space: "
-          + "" + spaces.get(targetCharacter.getCurrentSpace()).getName());
-    } else {
-      System.out.println("Doctor Lucky not initialized.");
+      MapRenderer.paintSprite(g, bounds, targetCharacter.getCurrentSpace(), Color.RED, "DL");
     }
 
     // Draw players
     for (PlayerImpl player : players) {
-      ImSpace playerSpace = player.getCurrentSpace();
-      System.out.println("Player " + player.getName() + " at space: " + playerSpace.getName());
-      drawCharacter(g, playerSpace, player.isAi ? Color.BLUE : Color.GREEN, player.getName());
+      MapRenderer.paintSprite(g, bounds, indexOf(player.getCurrentSpace()),
+          player.isAi ? Color.BLUE : Color.GREEN, player.getName());
     }
+    g.dispose();
+    return map;
+  }
 
-    return image;
+  @Override
+  public Dimension getMapSize() {
+    return new Dimension(cols * MapRenderer.CELL, rows * MapRenderer.CELL);
   }
 
-  /**
-   * Draws a character or player on the map.
-   *
-   * @param g     the Graphics object
-   * @param space the space where the character is located
-   * @param color the color of the representation
-   * @param label the label to display (e.g., "DL" or player name)
-   */
-  private void drawCharacter(Graphics g, ImSpace space, Color color, String label) {
-    int[] coords = space.getCoordinates();
+  @Override
+  public void paintMap(Graphics g, Rectangle area) {
+    tileRenderer().paint(g, area);
 
-    // Calculate the center of the space
-    int x = coords[1] * 50 + 25; // Center X
-    int y = coords[0] * 50 + 25; // Center Y
+    // Draw Doctor Lucky and the players that overlap the area
+    g.setFont(MapRenderer.LABEL_FONT);
+    FontMetrics metrics = g.getFontMetrics();
+    if (targetCharacter != null) {
+      paintSpriteIn(g, metrics, area, targetCharacter.getCurrentSpace(), Color.RED, "DL");
+    }
+    for (PlayerImpl player : players) {
+      paintSpriteIn(g, metrics, area, indexOf(player.getCurrentSpace()),
+          player.isAi ? Color.BLUE : Color.GREEN, player.getName());
+    }
+  }
 
-    // Debug: Character placement
-    System.out.println("Drawing " + label + " in space: "
-        + "" + space.getName() + " at center (X: " + x + ", Y: " + y + ")");
+  @Override
+  public void setMapRenderWorkers(Executor workers, Consumer<Rectangle> onTileReady) {
+    tileRenderer().setWorkers(workers, onTileReady);
+  }
 
-    // Draw a circle to represent the character
-    g.setColor(color);
-    g.fillOval(x - 10, y - 10, 20, 20);
+  @Override
+  public Rectangle updateMapSprites() {
+    if (labelMetrics == null) {
+      labelMetrics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics()
+          .getFontMetrics(MapRenderer.LABEL_FONT);
+    }
+    List<Rectangle> areas = new ArrayList<>();
+    if (targetCharacter != null) {
+      areas.add(MapRenderer.spriteArea(labelMetrics, bounds,
+          targetCharacter.getCurrentSpace(), "DL"));
+    }
+    for (PlayerImpl player : players) {
+      areas.add(MapRenderer.spriteArea(labelMetrics, bounds,
+          indexOf(player.getCurrentSpace()), player.getName()));
+    }
+    Rectangle changed = null;
+    for (List<Rectangle> list : List.of(spriteAreas, areas)) {
+      for (Rectangle area : list) {
+        if (changed == null) {
+          changed = new Rectangle(area);
+        } else {
+          changed.add(area);
+        }
+      }
+    }
+    spriteAreas = areas;
+    return changed == null ? new Rectangle() : changed;
+  }
 
-    // Draw the label
-    g.setColor(Color.BLACK);
-    g.drawString(label, x - label.length() * 3, y + 5);
+  private TileRenderer tileRenderer() {
+    if (tiles == null) {
+      tiles = new TileRenderer(spaces, bounds, cols * MapRenderer.CELL,
+          rows * MapRenderer.CELL, MAX_CACHED_TILES);
+    }
+    return tiles;
   }
-  
+
+  private void paintSpriteIn(Graphics g, FontMetrics metrics, Rectangle area, int space,
+      Color color, String label) {
+    if (MapRenderer.spriteArea(metrics, bounds, space, label).intersects(area)) {
+      MapRenderer.paintSprite(g, bounds, space, color, label);
+    }
+  }
+
   /**
-   * Draws a character or player on the map.
-   *
-   * @param g        the Graphics object
-   * @param spaceIdx the index of the space where the character is located
-   * @param color    the color for the character's representation
-   * @param label    the label to display (e.g., name or "DL")
+   * A read-only list of the neighbors of one space, backed by the world's topology.
    */
-  private void drawCharacter(Graphics g, int spaceIdx, Color color, String label) {
-    if (spaceIdx < 0 || spaceIdx >= spaces.size()) {
-      return;
-    }
+  private final class NeighborList extends AbstractList<ImSpace> {
+    private final int index;
 
-    ImSpace space = spaces.get(spaceIdx);
-    int[] coords = space.getCoordinates();
+    NeighborList(int index) {
+      this.index = index;
+    }
 
-    // Center the character in the space
-    int x = (coords[1] + coords[3]) / 2 * 50 + 25; // Center X
-    int y = (coords[0] + coords[2]) / 2 * 50 + 25; // Center Y
+    @Override
+    public ImSpace get(int k) {
+      return spaces.get(topology.getNeighbor(index, k));
+    }
 
-    // Draw a circle for the character
-    g.setColor(color);
-    g.fillOval(x - 10, y - 10, 20, 20);
+    @Override
+    public int size() {
+      return topology.getDegree(index);
+    }
 
-    // Draw the label
-    g.setColor(Color.BLACK);
-    g.drawString(label, x - label.length() * 3, y + 5);
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof ImSpace)) {
+        return false;
+      }
+      int other = findIndex((ImSpace) o);
+      return other >= 0 && isAdjacent(index, other);
+    }
   }
 
-  /**
-   * Draws a space on the map.
-   *
-   * @param g     the Graphics object
-   * @param space the space to draw
-   */
-  private void drawSpace(Graphics g, ImSpace space) {
-    int[] coordinates = space.getCoordinates();
-    int x = coordinates[1] * 50; // Upper-left X
-    int y = coordinates[0] * 50; // Upper-left Y
-    int width = (coordinates[3] - coordinates[1] + 1) * 50; // Width
-    int height = (coordinates[2] - coordinates[0] + 1) * 50; // Height
-
-    // Debug: Space coordinates
-    System.out.println("Drawing space: "
-        + "" + space.getName() + " at (X: " + x + ", Y: " + y + ") with size ("
-            + "" + width + "x" + height + ")");
-
-    // Draw the space border
-    g.setColor(Color.BLACK);
-    g.drawRect(x, y, width, height);
-
-    // Fill the interior
-    g.setColor(new Color(200, 200, 255)); // Light blue color
-    g.fillRect(x + 1, y + 1, width - 2, height - 2);
-
-    // Draw the space name at the top
-    g.setColor(Color.BLACK);
-    g.drawString(space.getName(), x + 5, y + 15); // Adjust position for the name
-  }
-  
   @Override
   public String getName() {
     return this.name;
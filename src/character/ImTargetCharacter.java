@@ -23,4 +23,18 @@ public interface ImTargetCharacter {
    * @param damage the amount of damage to inflict on the target character
    */
   void takeDamage(int damage);
+
+  /**
+   * Gets the name of the target character.
+   * 
+   * @return the name of the character
+   */
+  String getName();
+
+  /**
+   * Gets the current health of the target character.
+   * 
+   * @return the health of the character
+   */
+  int getHealth();
 }
\ No newline at end of file
@@ -67,6 +67,7 @@ public class TargetCharacter implements ImTargetCharacter {
    * 
    * @return the name of the character
    */
+  @Override
   public String getName() {
     return this.name;
   }
@@ -76,6 +77,7 @@ public class TargetCharacter implements ImTargetCharacter {
    * 
    * @return the health of the character
    */
+  @Override
   public int getHealth() {
     return health;
   }
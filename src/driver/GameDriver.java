@@ -3,19 +3,19 @@ package driver;
 import character.TargetCharacter;
 import item.ImItem;
 import item.Item;
-import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import javax.imageio.ImageIO;
 import space.ImSpace;
 import space.Space;
+import world.MapExporter;
 import world.World;
 
 /**
@@ -32,6 +32,7 @@ public class GameDriver {
    */
   public static void main(String[] args) {
     BufferedReader reader = null;
+    MapExporter mapExporter = new MapExporter();
 
     try {
       // Case 1: Check if running in Eclipse with external file provided as an argument
@@ -132,12 +133,11 @@ public class GameDriver {
 
       // Generate and save the initial world map as an image 
       // (with neighbors in blue and items in red)
-      BufferedImage initialMap = world.generateMap();
-      File initialOutputfile = new File("world_map_initial.png");
-      ImageIO.write(initialMap, "png", initialOutputfile);
+      mapExporter.export(world.snapshotMap(), Paths.get("world_map_initial.png"));
       System.out.println("Initial world map generated: world_map_initial.png");
 
       // Start the game loop
+      Path mapFile = Paths.get("world_map.png");
       Scanner scanner = new Scanner(System.in);
 
       while (true) {
@@ -184,10 +184,11 @@ public class GameDriver {
           break;
         }
 
-        // Generate and save the updated world map as an image
-        BufferedImage map = world.generateMap();
-        File outputfile = new File("world_map.png");
-        ImageIO.write(map, "png", outputfile);
+        // Save the updated world map in the background; an unchanged map is not saved again
+        mapExporter.exportAsync(world, mapFile).exceptionally(e -> {
+          e.printStackTrace();
+          return false;
+        });
       }
 
       scanner.close();
@@ -196,6 +197,8 @@ public class GameDriver {
     } catch (IOException e) {
       e.printStackTrace();
     } finally {
+      // Let the maps that are still being saved finish
+      mapExporter.close();
       if (reader != null) {
         try {
           reader.close();
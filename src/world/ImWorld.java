@@ -42,4 +42,12 @@ public interface ImWorld {
    * @return a BufferedImage representing the world map
    */
   BufferedImage generateMap();
+
+  /**
+   * Captures what the world map currently shows, so that it can be drawn later or on
+   * another thread.
+   * 
+   * @return a snapshot of the world map
+   */
+  MapSnapshot snapshotMap();
 }
@@ -0,0 +1,210 @@
+package world;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class saves world maps as PNG files in the background. The map is drawn in horizontal
+ * strips on a pool of threads, and each strip is compressed into the file as soon as the
+ * strips above it are done, so only a few strips are ever held in memory. Exports run one at
+ * a time in the order they are requested, and a map that is the same as the one last saved to
+ * a file is not saved again.
+ */
+public class MapExporter implements AutoCloseable {
+  private static final int DEFAULT_STRIP_HEIGHT = 128;
+
+  private final int stripHeight;
+  private final int workers;
+  private final ExecutorService pool;
+  private final ExecutorService writer;
+  private final Map<Path, MapSnapshot> saved = new ConcurrentHashMap<>();
+  private final AtomicInteger written = new AtomicInteger();
+  private final AtomicInteger skipped = new AtomicInteger();
+
+  /**
+   * Constructs an exporter that uses one strip worker per processor.
+   */
+  public MapExporter() {
+    this(DEFAULT_STRIP_HEIGHT, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs an exporter.
+   *
+   * @param stripHeight the height of each strip in pixels
+   * @param workers     the number of threads that draw strips
+   */
+  public MapExporter(int stripHeight, int workers) {
+    if (stripHeight <= 0 || workers <= 0) {
+      throw new IllegalArgumentException("Strip height and workers must be positive.");
+    }
+    this.stripHeight = stripHeight;
+    this.workers = workers;
+    AtomicInteger count = new AtomicInteger();
+    this.pool = Executors.newFixedThreadPool(workers, task -> {
+      Thread thread = new Thread(task, "map-strip-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.writer = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "map-export");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Saves the current map of a world in the background. The map is captured before this
+   * method returns, so the world may change while the file is written.
+   *
+   * @param world the world to draw
+   * @param file  the PNG file to write
+   * @return a future that completes with {@code true} if the file was written, or
+   *         {@code false} if it already held the same map
+   */
+  public CompletableFuture<Boolean> exportAsync(ImWorld world, Path file) {
+    MapSnapshot snapshot = world.snapshotMap();
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return export(snapshot, file);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, writer);
+  }
+
+  /**
+   * Saves a map unless the file already holds it. The file is replaced in one step, so a
+   * reader never sees half an image.
+   *
+   * @param snapshot the map to save
+   * @param file     the PNG file to write
+   * @return {@code true} if the file was written, {@code false} if it was skipped
+   * @throws IOException if the file cannot be written
+   */
+  public boolean export(MapSnapshot snapshot, Path file) throws IOException {
+    Path key = file.toAbsolutePath().normalize();
+    if (snapshot.equals(saved.get(key)) && Files.exists(key)) {
+      skipped.incrementAndGet();
+      return false;
+    }
+    Path directory = key.getParent();
+    Path temp = Files.createTempFile(directory, "map", ".tmp");
+    try {
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+        writePng(snapshot, out);
+      }
+      Files.move(temp, key, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    saved.put(key, snapshot);
+    written.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Draws a map strip by strip and writes it as a PNG image.
+   *
+   * @param snapshot the map to draw
+   * @param out      the stream to write to
+   * @throws IOException if the stream cannot be written
+   */
+  public void writePng(MapSnapshot snapshot, OutputStream out) throws IOException {
+    int width = snapshot.getWidth();
+    int height = snapshot.getHeight();
+    PngStreamWriter png = new PngStreamWriter(out, width, height);
+    // Keep a couple of strips queued per worker so the pool stays busy while the strip at the
+    // head of the queue is compressed.
+    int window = workers * 2;
+    ArrayDeque<Future<BufferedImage>> pending = new ArrayDeque<>();
+    int next = 0;
+    try {
+      while (next < height || !pending.isEmpty()) {
+        while (next < height && pending.size() < window) {
+          int from = next;
+          int to = Math.min(height, from + stripHeight);
+          pending.add(pool.submit(() -> drawStrip(snapshot, from, to)));
+          next = to;
+        }
+        BufferedImage strip = pending.poll().get();
+        int[] pixels = ((DataBufferInt) strip.getRaster().getDataBuffer()).getData();
+        png.writeRows(pixels, strip.getHeight());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while drawing the map.", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Could not draw the map.", e.getCause());
+    } finally {
+      for (Future<BufferedImage> future : pending) {
+        future.cancel(true);
+      }
+    }
+    png.finish();
+  }
+
+  private static BufferedImage drawStrip(MapSnapshot snapshot, int from, int to) {
+    BufferedImage strip = new BufferedImage(snapshot.getWidth(), to - from,
+        BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = strip.createGraphics();
+    try {
+      g.translate(0, -from);
+      snapshot.paint(g, from, to);
+    } finally {
+      g.dispose();
+    }
+    return strip;
+  }
+
+  /**
+   * Gets the number of files written.
+   *
+   * @return the number of files written
+   */
+  public int getWrittenCount() {
+    return written.get();
+  }
+
+  /**
+   * Gets the number of exports skipped because the file already held the same map.
+   *
+   * @return the number of skipped exports
+   */
+  public int getSkippedCount() {
+    return skipped.get();
+  }
+
+  /**
+   * Finishes the exports already requested and stops the threads.
+   */
+  @Override
+  public void close() {
+    writer.shutdown();
+    try {
+      writer.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    pool.shutdown();
+  }
+}
@@ -0,0 +1,217 @@
+package world;
+
+import item.ImItem;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import space.ImSpace;
+
+/**
+ * This class holds everything that is drawn on the world map at one moment: the rooms, the
+ * items in each room and the names of each room's neighbors. A snapshot does not change after
+ * it is taken, so it can be drawn from several threads while the game keeps running, and two
+ * snapshots are equal exactly when they draw the same picture.
+ */
+public final class MapSnapshot {
+  private static final int CELL_SIZE = 50;
+  private static final Color ROOM_COLOR = new Color(200, 200, 255);
+
+  private final int width;
+  private final int height;
+  private final Room[] rooms;
+
+  private MapSnapshot(int width, int height, Room[] rooms) {
+    this.width = width;
+    this.height = height;
+    this.rooms = rooms;
+  }
+
+  /**
+   * Takes a snapshot of the given spaces.
+   *
+   * @param rows      the number of rows in the world
+   * @param cols      the number of columns in the world
+   * @param spaces    the spaces to draw, in drawing order
+   * @param neighbors finds the neighbors of a space
+   * @return the snapshot
+   */
+  static MapSnapshot of(int rows, int cols, List<ImSpace> spaces,
+      Function<ImSpace, List<ImSpace>> neighbors) {
+    Room[] rooms = new Room[spaces.size()];
+    for (int i = 0; i < rooms.length; i++) {
+      ImSpace space = spaces.get(i);
+      List<ImItem> items = space.getItems();
+      String[] itemLabels = new String[items.size()];
+      for (int j = 0; j < itemLabels.length; j++) {
+        ImItem item = items.get(j);
+        itemLabels[j] = item.getName() + " (Damage: " + item.getDamage() + ")";
+      }
+      List<ImSpace> found = neighbors.apply(space);
+      String[] neighborNames = new String[found.size()];
+      for (int j = 0; j < neighborNames.length; j++) {
+        neighborNames[j] = found.get(j).getName();
+      }
+      rooms[i] = new Room(space.getName(), space.getCoordinates(), itemLabels, neighborNames);
+    }
+    return new MapSnapshot(cols * CELL_SIZE, rows * CELL_SIZE, rooms);
+  }
+
+  /**
+   * Gets the width of the map in pixels.
+   *
+   * @return the width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of the map in pixels.
+   *
+   * @return the height
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Draws the horizontal strip of the map between two rows of pixels. Only the rooms whose
+   * drawing reaches into the strip are drawn, so drawing the whole map strip by strip costs
+   * about the same as drawing it at once.
+   *
+   * @param g    the graphics to draw on, in map coordinates
+   * @param from the first row of pixels to draw
+   * @param to   the row of pixels after the last one to draw
+   */
+  public void paint(Graphics g, int from, int to) {
+    g.setColor(Color.WHITE);
+    g.fillRect(0, from, width, to - from);
+    for (Room room : rooms) {
+      if (room.top < to && room.bottom > from) {
+        room.paint(g);
+      }
+    }
+  }
+
+  /**
+   * Draws every room without clearing the background first.
+   *
+   * @param g the graphics to draw on, in map coordinates
+   */
+  void paintRooms(Graphics g) {
+    for (Room room : rooms) {
+      room.paint(g);
+    }
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof MapSnapshot)) {
+      return false;
+    }
+    MapSnapshot that = (MapSnapshot) other;
+    return width == that.width && height == that.height && Arrays.equals(rooms, that.rooms);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(width, height, Arrays.hashCode(rooms));
+  }
+
+  /**
+   * One room on the map and the text drawn inside it.
+   */
+  private static final class Room {
+    // Room text extends past the room when it has many items or neighbors, and the name's
+    // glyphs rise above its baseline, so the painted extent is padded by these amounts.
+    private static final int TEXT_ASCENT = 20;
+    private static final int TEXT_DESCENT = 5;
+
+    private final String name;
+    private final int x;
+    private final int y;
+    private final int roomWidth;
+    private final int roomHeight;
+    private final String[] items;
+    private final String[] neighbors;
+    private final int top;
+    private final int bottom;
+
+    Room(String name, int[] coordinates, String[] items, String[] neighbors) {
+      this.name = name;
+      this.x = coordinates[1] * CELL_SIZE;
+      this.y = coordinates[0] * CELL_SIZE;
+      this.roomWidth = (coordinates[3] - coordinates[1] + 1) * CELL_SIZE;
+      this.roomHeight = (coordinates[2] - coordinates[0] + 1) * CELL_SIZE;
+      this.items = items;
+      this.neighbors = neighbors;
+
+      int nameY = y + roomHeight / 2;
+      int lastLine = nameY + 15 + 12 * items.length + 15 + 12 * neighbors.length;
+      this.top = Math.min(y, nameY - TEXT_ASCENT);
+      // drawRect covers one pixel past the width and height.
+      this.bottom = Math.max(y + roomHeight + 1, lastLine + TEXT_DESCENT);
+    }
+
+    void paint(Graphics g) {
+      g.setColor(Color.BLACK); // Border color
+      g.drawRect(x, y, roomWidth, roomHeight);
+
+      // Fill the space with a light color
+      g.setColor(ROOM_COLOR);
+      g.fillRect(x + 1, y + 1, roomWidth - 2, roomHeight - 2);
+
+      // Draw the space name in the center of the space
+      int textX = x + roomWidth / 2 - 20;
+      g.setColor(Color.BLACK);
+      g.setFont(g.getFont().deriveFont(14f));
+      g.drawString(name, textX, y + roomHeight / 2);
+
+      // Draw the items and damage in red under the space name
+      g.setColor(Color.RED);
+      g.setFont(g.getFont().deriveFont(10f));
+      int lineY = y + roomHeight / 2 + 15;
+      for (String item : items) {
+        g.drawString(item, textX, lineY);
+        lineY += 12;
+      }
+
+      // Draw the neighbors in blue below the items
+      g.setColor(Color.BLUE);
+      lineY += 15;
+      if (neighbors.length > 0) {
+        g.drawString("Neighbors: ", textX, lineY);
+        lineY += 12;
+        for (String neighbor : neighbors) {
+          g.drawString(neighbor, textX, lineY);
+          lineY += 12;
+        }
+      } else {
+        g.drawString("Neighbors: None", textX, lineY);
+      }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Room)) {
+        return false;
+      }
+      Room that = (Room) other;
+      return x == that.x && y == that.y && roomWidth == that.roomWidth
+          && roomHeight == that.roomHeight && name.equals(that.name)
+          && Arrays.equals(items, that.items) && Arrays.equals(neighbors, that.neighbors);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, x, y, roomWidth, roomHeight, Arrays.hashCode(items),
+          Arrays.hashCode(neighbors));
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package world;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * This class writes an RGB PNG image one row at a time. Rows are compressed as they arrive
+ * and flushed in IDAT chunks of a fixed size, so the whole image never has to be in memory.
+ */
+final class PngStreamWriter {
+  private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final OutputStream out;
+  private final int width;
+  private final int height;
+  private final byte[] row;
+  private final ChunkStream chunks;
+  private final DeflaterOutputStream deflater;
+  private int rowsWritten;
+
+  /**
+   * Starts a PNG image by writing its signature and header.
+   *
+   * @param out    the stream to write to; it is not closed by this writer
+   * @param width  the width of the image in pixels
+   * @param height the height of the image in pixels
+   * @throws IOException if the stream cannot be written
+   */
+  PngStreamWriter(OutputStream out, int width, int height) throws IOException {
+    this.out = out;
+    this.width = width;
+    this.height = height;
+    this.row = new byte[1 + width * 3];
+
+    out.write(SIGNATURE);
+    ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+    writeInt(header, width);
+    writeInt(header, height);
+    header.write(8); // bit depth
+    header.write(2); // color type: RGB
+    header.write(0); // compression
+    header.write(0); // filter
+    header.write(0); // interlace
+    writeChunk("IHDR", header.toByteArray(), header.size());
+
+    this.chunks = new ChunkStream();
+    this.deflater = new DeflaterOutputStream(chunks, new Deflater(Deflater.BEST_SPEED), 8192);
+  }
+
+  /**
+   * Writes the next rows of the image from packed RGB pixels.
+   *
+   * @param pixels the pixels, row after row, each {@code width} pixels long
+   * @param rows   the number of rows to write
+   * @throws IOException if the stream cannot be written
+   */
+  void writeRows(int[] pixels, int rows) throws IOException {
+    if (rowsWritten + rows > height) {
+      throw new IllegalStateException("The image only has " + height + " rows.");
+    }
+    for (int r = 0; r < rows; r++) {
+      // Filter type 1 (Sub) stores each byte as the difference from the pixel to its left,
+      // which turns the flat areas of the map into runs of zeros.
+      row[0] = 1;
+      int base = r * width;
+      int previous = 0;
+      for (int c = 0; c < width; c++) {
+        int rgb = pixels[base + c];
+        int i = 1 + c * 3;
+        row[i] = (byte) ((rgb >>> 16) - (previous >>> 16));
+        row[i + 1] = (byte) ((rgb >>> 8) - (previous >>> 8));
+        row[i + 2] = (byte) (rgb - previous);
+        previous = rgb;
+      }
+      deflater.write(row);
+    }
+    rowsWritten += rows;
+  }
+
+  /**
+   * Ends the image. Every row must have been written.
+   *
+   * @throws IOException if the stream cannot be written
+   */
+  void finish() throws IOException {
+    if (rowsWritten != height) {
+      throw new IllegalStateException("Only " + rowsWritten + " of " + height
+          + " rows were written.");
+    }
+    deflater.finish();
+    chunks.flushChunk();
+    writeChunk("IEND", new byte[0], 0);
+    out.flush();
+  }
+
+  private void writeChunk(String type, byte[] data, int length) throws IOException {
+    byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(data, 0, length);
+    writeInt(out, length);
+    out.write(typeBytes);
+    out.write(data, 0, length);
+    writeInt(out, (int) crc.getValue());
+  }
+
+  private static void writeInt(OutputStream stream, int value) throws IOException {
+    stream.write(value >>> 24);
+    stream.write(value >>> 16);
+    stream.write(value >>> 8);
+    stream.write(value);
+  }
+
+  /**
+   * Collects compressed bytes and writes them out as IDAT chunks.
+   */
+  private final class ChunkStream extends OutputStream {
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private int size;
+
+    @Override
+    public void write(int b) throws IOException {
+      if (size == buffer.length) {
+        flushChunk();
+      }
+      buffer[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      while (length > 0) {
+        if (size == buffer.length) {
+          flushChunk();
+        }
+        int count = Math.min(length, buffer.length - size);
+        System.arraycopy(bytes, offset, buffer, size, count);
+        size += count;
+        offset += count;
+        length -= count;
+      }
+    }
+
+    void flushChunk() throws IOException {
+      if (size > 0) {
+        writeChunk("IDAT", buffer, size);
+        size = 0;
+      }
+    }
+  }
+}
@@ -2,7 +2,6 @@ package world;
 
 import character.ImTargetCharacter;
 import item.ImItem;
-import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
@@ -162,19 +161,25 @@ public class World implements ImWorld {
    */
   @Override
   public BufferedImage generateMap() {
-    BufferedImage image = new BufferedImage(cols * 50, rows * 50, BufferedImage.TYPE_INT_RGB);
+    MapSnapshot snapshot = snapshotMap();
+    BufferedImage image = new BufferedImage(snapshot.getWidth(), snapshot.getHeight(),
+        BufferedImage.TYPE_INT_RGB);
     Graphics g = image.getGraphics();
-    // Set the background color for the image
-    g.setColor(Color.WHITE);
-    g.fillRect(0, 0, image.getWidth(), image.getHeight());
-
-    // Draw the spaces, items, and target character
-    for (ImSpace space : spaces) {
-      drawSpace(g, space);
-    }
+    snapshot.paint(g, 0, image.getHeight());
+    g.dispose();
     return image;
   }
 
+  /**
+   * Captures what the world map currently shows: the spaces, their items and neighbors.
+   * 
+   * @return a snapshot of the world map
+   */
+  @Override
+  public MapSnapshot snapshotMap() {
+    return MapSnapshot.of(rows, cols, spaces, this::getNeighbors);
+  }
+
   /**
    * Draws the specified space on the world map using the Graphics object.
    * 
@@ -182,56 +187,7 @@ public class World implements ImWorld {
    * @param space the space to draw
    */
   public void drawSpace(Graphics g, ImSpace space) {
-    // Get the coordinates of the space
-    int[] coordinates = space.getCoordinates();  // No need for casting now
-    int upperLeftRow = coordinates[0];
-    int upperLeftCol = coordinates[1];
-    int lowerRightRow = coordinates[2];
-    int lowerRightCol = coordinates[3];
-
-    // Draw the space as a rectangle
-    int width = (lowerRightCol - upperLeftCol + 1) * 50;
-    int height = (lowerRightRow - upperLeftRow + 1) * 50;
-
-    g.setColor(Color.BLACK); // Border color
-    g.drawRect(upperLeftCol * 50, upperLeftRow * 50, width, height);
-
-    // Fill the space with a light color
-    g.setColor(new Color(200, 200, 255));
-    g.fillRect(upperLeftCol * 50 + 1, upperLeftRow * 50 + 1, width - 2, height - 2);
-
-    // Draw the space name in the center of the space
-    g.setColor(Color.BLACK);
-    g.setFont(g.getFont().deriveFont(14f));  // Normal font for space name
-    g.drawString(space.getName(), (upperLeftCol * 50) 
-        + width / 2 - 20, (upperLeftRow * 50) + height / 2);
-
-    // Draw the items and damage in red under the space name
-    g.setColor(Color.RED);
-    g.setFont(g.getFont().deriveFont(10f));  // Smaller font for items
-    int itemYsPosition = (upperLeftRow * 50) 
-        + height / 2 + 15;  // Position below the space name
-
-    for (ImItem item : space.getItems()) {
-      String itemInfo = item.getName() + " (Damage: " + item.getDamage() + ")";
-      g.drawString(itemInfo, (upperLeftCol * 50) + width / 2 - 20, itemYsPosition);
-      itemYsPosition += 12;  // Move to the next line for each item
-    }
-
-    // Draw the neighbors in blue below the items
-    g.setColor(Color.BLUE);
-    List<ImSpace> neighbors = getNeighbors(space);  // Get the list of neighboring spaces
-    int neighborYsPosition = itemYsPosition + 15;  // Position below the items
-
-    if (!neighbors.isEmpty()) {
-      g.drawString("Neighbors: ", (upperLeftCol * 50) + width / 2 - 20, neighborYsPosition);
-      neighborYsPosition += 12;  // Move to the next line
-      for (ImSpace neighbor : neighbors) {
-        g.drawString(neighbor.getName(), (upperLeftCol * 50) + width / 2 - 20, neighborYsPosition);
-        neighborYsPosition += 12;  // Move to the next line for each neighbor
-      }
-    } else {
-      g.drawString("Neighbors: None", (upperLeftCol * 50) + width / 2 - 20, neighborYsPosition);
-    }
+    MapSnapshot single = MapSnapshot.of(rows, cols, List.of(space), this::getNeighbors);
+    single.paintRooms(g);
   }
 }
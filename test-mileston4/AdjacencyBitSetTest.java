@@ -0,0 +1,83 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import loader.WorldFileReader;
+import loader.WorldParser;
+import org.junit.Test;
+import player.PlayerImpl;
+import world.AdjacencyBitSet;
+import world.SpaceGraph;
+import world.World;
+
+/**
+ * Unit tests for the {@link AdjacencyBitSet} class. Verifies that the bit rows agree
+ * with the graph they were built from.
+ */
+public class AdjacencyBitSetTest {
+
+  /**
+   * Tests a small graph.
+   */
+  @Test
+  public void testSmallGraph() {
+    SpaceGraph graph = SpaceGraph.fromNeighbors(new int[][] {{1, 2}, {0}, {0}, {}});
+    AdjacencyBitSet adjacency = new AdjacencyBitSet(graph);
+
+    assertTrue(adjacency.isAdjacent(0, 1));
+    assertTrue(adjacency.isAdjacent(2, 0));
+    assertFalse(adjacency.isAdjacent(1, 2));
+    assertFalse(adjacency.isAdjacent(3, 3));
+  }
+
+  /**
+   * Tests a chain of spaces that spans several words per row.
+   */
+  @Test
+  public void testRowsSpanningWords() {
+    int count = 200;
+    int[][] neighbors = new int[count][];
+    for (int i = 0; i < count; i++) {
+      if (i == 0) {
+        neighbors[i] = new int[] {1};
+      } else if (i == count - 1) {
+        neighbors[i] = new int[] {i - 1};
+      } else {
+        neighbors[i] = new int[] {i - 1, i + 1};
+      }
+    }
+    SpaceGraph graph = SpaceGraph.fromNeighbors(neighbors);
+    AdjacencyBitSet adjacency = new AdjacencyBitSet(graph);
+
+    for (int i = 0; i < count; i++) {
+      for (int j = 0; j < count; j++) {
+        assertEquals(graph.isAdjacent(i, j), adjacency.isAdjacent(i, j));
+      }
+    }
+  }
+
+  /**
+   * Tests that players see each other in the same or an adjacent space of the world.
+   */
+  @Test
+  public void testPlayersSeeAcrossAdjacentSpaces() throws IOException {
+    World world = WorldParser.parse(new WorldFileReader(new StringReader("8 6 Tiny Mansion\n"
+        + "12 Doctor Lucky\n"
+        + "Fortune the Cat\n"
+        + "3\n"
+        + "0 0 1 2 Front Hall\n"
+        + "0 3 1 5 Library\n"
+        + "6 0 7 5 Garden\n"
+        + "0\n")));
+    PlayerImpl player = new PlayerImpl("Player1", world.getSpace(0), 5, false);
+    PlayerImpl other = new PlayerImpl("Player2", world.getSpace(0), 5, false);
+
+    assertTrue(player.canSee(other, world));
+    other.moveTo(world.getSpace(1));
+    assertTrue(player.canSee(other, world));
+    other.moveTo(world.getSpace(2));
+    assertFalse(player.canSee(other, world));
+  }
+}
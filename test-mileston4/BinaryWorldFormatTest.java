@@ -0,0 +1,129 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import loader.BinaryWorldFormat;
+import loader.WorldFileReader;
+import loader.WorldParser;
+import org.junit.Before;
+import org.junit.Test;
+import world.World;
+
+/**
+ * Unit tests for the {@link BinaryWorldFormat} class. Verifies that a compiled world
+ * loads back with the same spaces, items and neighbors.
+ */
+public class BinaryWorldFormatTest {
+
+  private World world;
+
+  /**
+   * Parses a small world to compile.
+   */
+  @Before
+  public void setUp() throws IOException {
+    world = WorldParser.parse(new WorldFileReader(new StringReader("4 6 Tiny Mansion\n"
+        + "10 Doctor Lucky\n"
+        + "Fortune the Cat\n"
+        + "3\n"
+        + "0 0 1 2 Front Hall\n"
+        + "0 3 1 5 Library\n"
+        + "2 0 3 5 Library\n"
+        + "2\n"
+        + "1 3 Crepe Pan\n"
+        + "2 2 Letter Opener\n")));
+  }
+
+  /**
+   * Tests that a world survives a round trip through a compiled file.
+   */
+  @Test
+  public void testRoundTrip() throws IOException {
+    Path file = Files.createTempFile("world", ".dlw");
+    try {
+      BinaryWorldFormat.write(world, file);
+      assertTrue(BinaryWorldFormat.isCompiled(file));
+
+      World loaded = BinaryWorldFormat.load(file);
+
+      assertEquals("Tiny Mansion", loaded.getName());
+      assertEquals(4, loaded.getRows());
+      assertEquals(6, loaded.getCols());
+      assertEquals("Doctor Lucky", loaded.getTargetCharacter().getName());
+      assertEquals(10, loaded.getTargetCharacter().getHealth());
+      assertEquals("Fortune the Cat", loaded.getPet().getName());
+      assertEquals(3, loaded.getSpaces().size());
+      for (int i = 0; i < 3; i++) {
+        assertArrayEquals(world.getSpace(i).getCoordinates(),
+            loaded.getSpace(i).getCoordinates());
+        assertEquals(world.getSpace(i).getName(), loaded.getSpace(i).getName());
+      }
+      assertEquals("Crepe Pan", loaded.getSpace(1).getItems().get(0).getName());
+      assertEquals(2, loaded.getSpace(2).getItems().get(0).getDamage());
+      assertArrayEquals(world.getTopology().getOffsets(), loaded.getTopology().getOffsets());
+      assertArrayEquals(world.getTopology().getTargets(), loaded.getTopology().getTargets());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Tests that text files are not mistaken for compiled worlds.
+   */
+  @Test
+  public void testTextIsNotCompiled() throws IOException {
+    Path file = Files.createTempFile("world", ".txt");
+    try {
+      Files.writeString(file, "36 30 Doctor Lucky's Mansion\n");
+      assertFalse(BinaryWorldFormat.isCompiled(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Tests that truncated bytes are rejected.
+   */
+  @Test
+  public void testTruncated() {
+    byte[] bytes = BinaryWorldFormat.toBytes(world);
+    ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, bytes.length - 8).slice();
+    assertThrows(IOException.class, () -> BinaryWorldFormat.fromBytes(truncated));
+  }
+
+  /**
+   * Tests that a world without a pet cannot be compiled.
+   */
+  @Test
+  public void testMissingPet() {
+    World petless = new World(world.getRows(), world.getCols(), world.getName(),
+        world.getSpaces(), world.getItems(), world.getTargetCharacter(), null,
+        new ArrayList<>());
+    assertThrows(IllegalArgumentException.class, () -> BinaryWorldFormat.toBytes(petless));
+  }
+
+  /**
+   * Tests that a header claiming more spaces than the file holds is rejected before the
+   * tables are allocated.
+   */
+  @Test
+  public void testOversizedCounts() {
+    ByteBuffer corrupt = ByteBuffer.wrap(BinaryWorldFormat.toBytes(world));
+    corrupt.putInt(9 * Integer.BYTES, Integer.MAX_VALUE);
+    IOException error = assertThrows(IOException.class,
+        () -> BinaryWorldFormat.fromBytes(corrupt));
+    assertTrue(error.getMessage().contains("past the end"));
+
+    ByteBuffer names = ByteBuffer.wrap(BinaryWorldFormat.toBytes(world));
+    names.putInt(8 * Integer.BYTES, Integer.MAX_VALUE);
+    assertThrows(IOException.class, () -> BinaryWorldFormat.fromBytes(names));
+  }
+}
@@ -0,0 +1,176 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import controller.GameController;
+import java.awt.Rectangle;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import loader.WorldFileReader;
+import loader.WorldParser;
+import log.GameLog;
+import log.Level;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import player.PlayerImpl;
+import space.ImSpace;
+import view.ImGameView;
+import world.GameRandom;
+import world.ImWorld;
+import world.World;
+
+/**
+ * Unit tests for the player actions of the {@link GameController} class. The actions run on
+ * the game thread against a view that only records the messages it is given.
+ */
+public class GameControllerActionTest {
+  private Level previousLevel;
+  private World world;
+  private GameController controller;
+  private RecordingView view;
+
+  /**
+   * Creates a small world whose target starts in the front hall, next to a crepe pan.
+   */
+  @Before
+  public void setUp() throws IOException {
+    previousLevel = GameLog.getLevel();
+    GameLog.setLevel(Level.WARN);
+    world = WorldParser.parse(new WorldFileReader(new StringReader("4 6 Tiny Mansion\n"
+        + "12 Doctor Lucky\n"
+        + "Fortune the Cat\n"
+        + "3\n"
+        + "0 0 1 2 Front Hall\n"
+        + "0 3 1 5 Library\n"
+        + "2 0 3 5 Kitchen\n"
+        + "2\n"
+        + "0 3 Crepe Pan\n"
+        + "1 2 Letter Opener\n")));
+    view = new RecordingView();
+    controller = new GameController(world, 20, view, new GameRandom(1));
+  }
+
+  /**
+   * Stops the game thread and restores the log level.
+   */
+  @After
+  public void tearDown() {
+    controller.getExecutor().shutdown();
+    GameLog.setLevel(previousLevel);
+  }
+
+  /**
+   * Tests that an attack uses up the best weapon and takes its damage from the target.
+   */
+  @Test
+  public void testAttackUsesWeaponAndDamagesTarget() {
+    PlayerImpl human = armedPlayer("Player1");
+    controller.addPlayer(human);
+    controller.playTurn();
+
+    assertTrue(onGameThread(controller::attemptAttack));
+    assertEquals(0, human.getItemCount());
+    assertEquals(9, world.getTargetCharacter().getHealth());
+    assertEquals(1, (int) onGameThread(controller::getCurrentTurn));
+  }
+
+  /**
+   * Tests that a seen attack fails without using the weapon, but still ends the turn.
+   */
+  @Test
+  public void testSeenAttackFails() {
+    PlayerImpl human = armedPlayer("Player1");
+    controller.addPlayer(human);
+    controller.addPlayer(new PlayerImpl("Player2", world.getSpace(0), 5, false));
+    controller.playTurn();
+
+    assertFalse(onGameThread(controller::attemptAttack));
+    assertEquals(1, human.getItemCount());
+    assertEquals(12, world.getTargetCharacter().getHealth());
+    assertEquals(1, (int) onGameThread(controller::getCurrentTurn));
+    assertTrue(view.messages.contains("Attack by Player1 was seen by another player."));
+  }
+
+  /**
+   * Tests that a human cannot act outside their turn, and that nothing happens if they try.
+   */
+  @Test
+  public void testActionsOutOfTurnAreRejected() {
+    PlayerImpl first = armedPlayer("Player1");
+    ImSpace library = world.getSpace(1);
+    PlayerImpl second = new PlayerImpl("Player2", library, 5, false);
+    controller.addPlayer(first);
+    controller.addPlayer(second);
+    int session = controller.getRegistry().getSession(second);
+
+    // No turn has started yet
+    assertFalse(onGameThread(() -> controller.movePlayerTo(library)));
+    assertEquals(world.getSpace(0), first.getCurrentSpace());
+
+    controller.playTurn();
+    assertFalse(onGameThread(() -> controller.pickUpItem(session, 1)));
+    assertFalse(onGameThread(() -> controller.attemptAttack(session)));
+    assertEquals(0, second.getItemCount());
+    assertEquals(1, library.getItemCount());
+    assertEquals(12, world.getTargetCharacter().getHealth());
+    assertEquals(0, (int) onGameThread(controller::getCurrentTurn));
+    assertTrue(view.messages.contains("It is not Player2's turn."));
+
+    // The player whose turn it is can still act
+    assertTrue(onGameThread(() -> controller.movePlayerTo(library)));
+    assertEquals(library, first.getCurrentSpace());
+  }
+
+  private PlayerImpl armedPlayer(String name) {
+    ImSpace frontHall = world.getSpace(0);
+    PlayerImpl player = new PlayerImpl(name, frontHall, 5, false);
+    player.pickUpItem(frontHall.getItem(0));
+    return player;
+  }
+
+  private <T> T onGameThread(Supplier<T> action) {
+    // Queued behind the turn started by playTurn, so the action runs in that turn
+    return controller.getExecutor().submit(action).join();
+  }
+
+  /**
+   * A view that keeps the log messages and ignores everything else.
+   */
+  private static final class RecordingView implements ImGameView {
+    private final List<String> messages = new ArrayList<>();
+
+    @Override
+    public void setNewGameListener(ActionListener actionListener) {
+    }
+
+    @Override
+    public void display() {
+    }
+
+    @Override
+    public void startNewGame(ImWorld world) {
+    }
+
+    @Override
+    public void updateTurnInfo(String info) {
+    }
+
+    @Override
+    public void playerMoved(PlayerImpl player, ImSpace from, ImSpace to) {
+    }
+
+    @Override
+    public void repaintMap(Rectangle changed) {
+    }
+
+    @Override
+    public synchronized void logMessage(String message) {
+      messages.add(message);
+    }
+  }
+}
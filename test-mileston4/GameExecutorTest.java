@@ -0,0 +1,66 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import controller.GameExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link GameExecutor} class. Verifies that game logic runs in order on
+ * one game thread.
+ */
+public class GameExecutorTest {
+  private final GameExecutor executor = new GameExecutor(2);
+
+  /**
+   * Stops the executor's threads.
+   */
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Tests that submitted tasks run on the game thread and return their result.
+   */
+  @Test
+  public void testSubmitRunsOnGameThread() {
+    assertFalse(executor.isGameThread());
+    assertTrue(executor.submit(executor::isGameThread).join());
+    assertEquals("game-logic", executor.submit(() -> Thread.currentThread().getName()).join());
+  }
+
+  /**
+   * Tests that tasks run one at a time in the order they were queued.
+   */
+  @Test
+  public void testTasksRunInOrder() throws InterruptedException {
+    List<Integer> order = new ArrayList<>();
+    CountDownLatch done = new CountDownLatch(1);
+    for (int i = 0; i < 100; i++) {
+      int task = i;
+      executor.execute(() -> order.add(task));
+    }
+    executor.execute(done::countDown);
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, (int) order.get(i));
+    }
+  }
+
+  /**
+   * Tests that the render workers are separate from the game thread.
+   */
+  @Test
+  public void testRenderWorkers() throws Exception {
+    boolean onGameThread = executor.getRenderWorkers()
+        .submit(executor::isGameThread).get(5, TimeUnit.SECONDS);
+    assertFalse(onGameThread);
+  }
+}
@@ -0,0 +1,142 @@
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import org.junit.Test;
+import view.GameLogModel;
+
+/**
+ * Unit tests for the {@link GameLogModel} class. Verifies that the log keeps only the latest
+ * lines, spills older ones in order, and reports a burst of lines as one update.
+ */
+public class GameLogModelTest {
+
+  /**
+   * Tests that a full log keeps the latest lines in order.
+   */
+  @Test
+  public void testKeepsLatestLines() throws Exception {
+    GameLogModel model = new GameLogModel(3);
+    for (int i = 1; i <= 5; i++) {
+      model.append("line " + i);
+    }
+    flush(model);
+
+    assertEquals(3, model.getSize());
+    assertEquals("line 3", model.getElementAt(0));
+    assertEquals("line 5", model.getElementAt(2));
+  }
+
+  /**
+   * Tests that a burst of lines, partly pushing out older ones, is reported as one removal
+   * and one addition that describe the change exactly.
+   */
+  @Test
+  public void testBurstIsOneUpdate() throws Exception {
+    GameLogModel model = new GameLogModel(4);
+    model.append("a");
+    model.append("b");
+    flush(model);
+    List<String> events = record(model);
+    for (int i = 0; i < 3; i++) {
+      model.append("c" + i);
+    }
+    flush(model);
+
+    assertEquals(List.of("removed 0-0", "added 1-3"), events);
+    assertEquals("b", model.getElementAt(0));
+    assertEquals("c2", model.getElementAt(3));
+  }
+
+  /**
+   * Tests that lines added and pushed out in the same frame are never reported.
+   */
+  @Test
+  public void testLinesDroppedInSameFrameAreNotReported() throws Exception {
+    GameLogModel model = new GameLogModel(2);
+    model.append("old");
+    flush(model);
+    List<String> events = record(model);
+    for (int i = 0; i < 10; i++) {
+      model.append("new" + i);
+    }
+    flush(model);
+
+    assertEquals(List.of("removed 0-0", "added 0-1"), events);
+    assertEquals("new8", model.getElementAt(0));
+    assertEquals("new9", model.getElementAt(1));
+  }
+
+  /**
+   * Tests that dropped and cleared lines are appended to the spill file in order.
+   */
+  @Test
+  public void testSpillsOldLines() throws Exception {
+    Path spill = Files.createTempFile("game-log", ".txt");
+    try {
+      GameLogModel model = new GameLogModel(2, spill);
+      for (int i = 0; i < 5; i++) {
+        model.append("line " + i);
+      }
+      flush(model);
+      assertEquals(List.of("line 0", "line 1", "line 2"), Files.readAllLines(spill));
+
+      SwingUtilities.invokeAndWait(model::clear);
+      assertEquals(0, model.getSize());
+      assertEquals(5, Files.readAllLines(spill).size());
+    } finally {
+      Files.delete(spill);
+    }
+  }
+
+  /**
+   * Tests that lines added from another thread reach the model on the event thread.
+   */
+  @Test
+  public void testAppendFromAnyThread() throws Exception {
+    GameLogModel model = new GameLogModel(100);
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 50; i++) {
+        model.append("line " + i);
+      }
+    });
+    writer.start();
+    writer.join();
+    flush(model);
+
+    assertEquals(50, model.getSize());
+    assertEquals("line 49", model.getElementAt(49));
+  }
+
+  private static void flush(GameLogModel model)
+      throws InterruptedException, InvocationTargetException {
+    SwingUtilities.invokeAndWait(model::flush);
+  }
+
+  private static List<String> record(GameLogModel model) {
+    List<String> events = new ArrayList<>();
+    model.addListDataListener(new ListDataListener() {
+      @Override
+      public void intervalAdded(ListDataEvent e) {
+        events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+      }
+
+      @Override
+      public void intervalRemoved(ListDataEvent e) {
+        events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+      }
+
+      @Override
+      public void contentsChanged(ListDataEvent e) {
+        events.add("changed");
+      }
+    });
+    return events;
+  }
+}
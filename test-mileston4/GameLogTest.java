@@ -0,0 +1,184 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import log.AsyncLogWriter;
+import log.GameLog;
+import log.Level;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link GameLog} and {@link AsyncLogWriter} classes. Verifies that
+ * messages below the level are never built, and that written messages reach the console
+ * in order without blocking the threads that log them.
+ */
+public class GameLogTest {
+  private final GameLog log = GameLog.forClass(GameLogTest.class);
+  private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+  private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+  private AsyncLogWriter writer;
+  private AsyncLogWriter previousWriter;
+  private Level previousLevel;
+
+  /**
+   * Sends the log to in-memory streams.
+   */
+  @Before
+  public void setUp() {
+    writer = new AsyncLogWriter(1024, new PrintStream(out, true), new PrintStream(err, true));
+    previousWriter = GameLog.setWriter(writer);
+    previousLevel = GameLog.getLevel();
+  }
+
+  /**
+   * Restores the console writer and level.
+   */
+  @After
+  public void tearDown() {
+    GameLog.setLevel(previousLevel);
+    GameLog.setWriter(previousWriter);
+    writer.close();
+  }
+
+  /**
+   * Tests that a message below the level is never built.
+   */
+  @Test
+  public void testSuppliersBelowLevelAreNotCalled() {
+    GameLog.setLevel(Level.WARN);
+    AtomicInteger built = new AtomicInteger();
+    log.debug(() -> "debug " + built.incrementAndGet());
+    log.info(() -> "info " + built.incrementAndGet());
+    log.warn(() -> "warn " + built.incrementAndGet());
+    GameLog.flush();
+
+    assertEquals(1, built.get());
+    assertFalse(log.isEnabled(Level.INFO));
+    assertTrue(log.isEnabled(Level.ERROR));
+    assertEquals("", text(out));
+    assertTrue(text(err).contains("WARN GameLogTest: warn 1"));
+  }
+
+  /**
+   * Tests that OFF silences everything, including errors.
+   */
+  @Test
+  public void testOffWritesNothing() {
+    GameLog.setLevel(Level.OFF);
+    log.error(() -> "error", new IllegalStateException());
+    GameLog.flush();
+
+    assertFalse(log.isEnabled(Level.OFF));
+    assertEquals("", text(out) + text(err));
+  }
+
+  /**
+   * Tests that messages from several threads are all written, each thread's in order.
+   */
+  @Test
+  public void testConcurrentMessagesKeepOrder() throws InterruptedException {
+    GameLog.setLevel(Level.DEBUG);
+    int threads = 4;
+    int messages = 200;
+    Thread[] loggers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      int id = t;
+      loggers[t] = new Thread(() -> {
+        for (int i = 0; i < messages; i++) {
+          int n = i;
+          log.info(() -> "t" + id + " m" + n);
+        }
+      });
+      loggers[t].start();
+    }
+    for (Thread logger : loggers) {
+      logger.join();
+    }
+    GameLog.flush();
+
+    String[] lines = text(out).split("\\R");
+    assertEquals(threads * messages, lines.length);
+    int[] next = new int[threads];
+    for (String line : lines) {
+      String body = line.substring(line.indexOf(": ") + 2);
+      int id = Integer.parseInt(body.substring(1, body.indexOf(' ')));
+      assertEquals("t" + id + " m" + next[id], body);
+      next[id]++;
+    }
+    assertEquals(0, writer.getDropped());
+  }
+
+  /**
+   * Tests that a full ring drops messages instead of blocking, and reports the loss.
+   */
+  @Test
+  public void testFullRingDropsWithoutBlocking() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch stalled = new CountDownLatch(1);
+    ByteArrayOutputStream slow = new ByteArrayOutputStream();
+    OutputStream blocking = new OutputStream() {
+      @Override
+      public void write(int b) {
+        stalled.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        slow.write(b);
+      }
+    };
+    ByteArrayOutputStream dropReport = new ByteArrayOutputStream();
+    AsyncLogWriter small = new AsyncLogWriter(4, new PrintStream(blocking, true),
+        new PrintStream(dropReport, true));
+    try {
+      small.write(Level.INFO, "Test", "first", null);
+      assertTrue(stalled.await(5, TimeUnit.SECONDS));
+      int queued = 0;
+      for (int i = 0; i < 100; i++) {
+        if (small.write(Level.INFO, "Test", "message " + i, null)) {
+          queued++;
+        }
+      }
+      // The message being printed keeps its slot until it is done.
+      assertEquals(3, queued);
+      assertEquals(97, small.getDropped());
+    } finally {
+      release.countDown();
+    }
+    small.flush();
+    small.close();
+    assertTrue(text(dropReport).contains("97 log messages dropped"));
+    assertEquals(4, text(slow).split("\\R").length);
+  }
+
+  /**
+   * Tests that the capacity is rounded up to the next power of two, and never below 2.
+   */
+  @Test
+  public void testCapacityRounding() {
+    int[][] cases = {{1, 2}, {2, 2}, {3, 4}, {4, 4}, {5, 8}, {1024, 1024}, {1025, 2048}};
+    for (int[] c : cases) {
+      AsyncLogWriter sized = new AsyncLogWriter(c[0], new PrintStream(out, true),
+          new PrintStream(err, true));
+      try {
+        assertEquals("capacity " + c[0], c[1], sized.getCapacity());
+      } finally {
+        sized.close();
+      }
+    }
+  }
+
+  private static String text(ByteArrayOutputStream stream) {
+    return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+  }
+}
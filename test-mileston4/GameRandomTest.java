@@ -0,0 +1,58 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.random.RandomGenerator;
+import org.junit.Test;
+import world.GameRandom;
+
+/**
+ * Unit tests for the {@link GameRandom} class. Verifies that a game seed replays every
+ * actor's stream, independently of the order in which the actors draw.
+ */
+public class GameRandomTest {
+
+  /**
+   * Tests that the same seed gives the same streams.
+   */
+  @Test
+  public void testSeedReplaysStreams() {
+    GameRandom first = new GameRandom(11);
+    GameRandom second = new GameRandom(first.getSeed());
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(first.forTarget().nextInt(), second.forTarget().nextInt());
+      assertEquals(first.forPlayer(2).nextLong(), second.forPlayer(2).nextLong());
+    }
+  }
+
+  /**
+   * Tests that a player's stream does not depend on what other actors drew before it.
+   */
+  @Test
+  public void testStreamsAreIndependentOfOrder() {
+    GameRandom busy = new GameRandom(5);
+    for (int i = 0; i < 1000; i++) {
+      busy.forTarget().nextInt();
+      busy.forPlayer(0).nextInt();
+    }
+    GameRandom idle = new GameRandom(5);
+
+    assertEquals(idle.forPlayer(1).nextLong(), busy.forPlayer(1).nextLong());
+  }
+
+  /**
+   * Tests that each actor keeps one stream for the whole game, and that actors differ.
+   */
+  @Test
+  public void testOneStreamPerActor() {
+    GameRandom random = new GameRandom(3);
+    RandomGenerator player = random.forPlayer(4);
+
+    assertSame(player, random.forPlayer(4));
+    assertSame(random.forTarget(), random.forTarget());
+    assertNotEquals(new GameRandom(3).forPlayer(0).nextLong(),
+        new GameRandom(3).forPlayer(1).nextLong());
+    assertNotEquals(GameRandom.mix(3, 0), GameRandom.mix(3, 1));
+  }
+}
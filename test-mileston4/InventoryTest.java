@@ -0,0 +1,88 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import item.ImItem;
+import item.Item;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+import player.Inventory;
+import player.PlayerImpl;
+import space.Space;
+
+/**
+ * Unit tests for the {@link Inventory} class. Verifies that the strongest weapon is always
+ * on top and that using it removes it from the player's items.
+ */
+public class InventoryTest {
+  private Inventory inventory;
+
+  /**
+   * Creates an empty inventory before each test.
+   */
+  @Before
+  public void setUp() {
+    inventory = new Inventory();
+  }
+
+  /**
+   * Tests that an empty inventory has no strongest weapon.
+   */
+  @Test
+  public void testEmpty() {
+    assertTrue(inventory.isEmpty());
+    assertNull(inventory.peekStrongest());
+    assertNull(inventory.removeStrongest());
+  }
+
+  /**
+   * Tests that weapons come off in order of damage, the earlier pick-up first on ties,
+   * matching a search of the list for the first strongest item.
+   */
+  @Test
+  public void testRemovesInDamageOrder() {
+    SplittableRandom random = new SplittableRandom(3);
+    List<ImItem> expected = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      Item item = new Item(i, "Item " + i, random.nextInt(10));
+      inventory.add(item);
+      expected.add(item);
+    }
+
+    while (!expected.isEmpty()) {
+      ImItem best = expected.stream().max(Comparator.comparingInt(ImItem::getDamage)).get();
+      expected.remove(best);
+      assertSame(best, inventory.peekStrongest());
+      assertSame(best, inventory.removeStrongest());
+      assertEquals(expected, inventory.asList());
+    }
+    assertTrue(inventory.isEmpty());
+  }
+
+  /**
+   * Tests that a player's attack uses up the weapon from the items they carry.
+   */
+  @Test
+  public void testPlayerUsesUpBestWeapon() {
+    Space space = new Space(0, "Armory", 0, 0, 1, 1);
+    PlayerImpl player = new PlayerImpl("Player1", space, 5, false);
+    Item knife = new Item(0, "Knife", 2);
+    Item axe = new Item(1, "Axe", 5);
+    space.addItem(knife);
+    space.addItem(axe);
+    player.pickUpItem(knife);
+    player.pickUpItem(axe);
+
+    assertEquals(0, space.getItemCount());
+    assertSame(axe, player.getBestWeapon());
+    assertSame(axe, player.useBestWeapon());
+    assertEquals(List.of(knife), player.getItems());
+    assertEquals(1, player.getItemCount());
+    assertSame(knife, player.getBestWeapon());
+  }
+}
@@ -1,9 +1,18 @@
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
+import item.ImItem;
 import item.Item;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import player.PlayerImpl;
+import space.Space;
 
 /**
  * Unit tests for the {@code Item} class. Verifies that the item's attributes
@@ -56,4 +65,58 @@ public class ItemTest {
   public void testToString() {
     assertEquals("Sword (Damage: 10)", item.toString());
   }
+
+  /**
+   * Tests that items made outside a world file get distinct negative ids.
+   */
+  @Test
+  public void testUnlistedIdsAreDistinct() {
+    Item other = new Item("Sword", 10);
+    assertTrue(item.getId() < 0);
+    assertTrue(other.getId() < 0);
+    assertNotEquals(item.getId(), other.getId());
+    assertEquals(7, new Item(7, "Axe", 3).getId());
+  }
+
+  /**
+   * Tests that a space finds its items by id, even when two items share a name.
+   */
+  @Test
+  public void testSpaceFindsItemById() {
+    Space space = new Space(0, "Armory", 0, 0, 1, 1);
+    Item first = new Item(0, "Sword", 10);
+    Item second = new Item(1, "Sword", 4);
+    space.addItem(first);
+    space.addItem(second);
+
+    assertSame(second, space.getItem(1));
+    space.removeItem(second);
+    assertNull(space.getItem(1));
+    assertSame(first, space.getItem(0));
+    assertEquals(1, space.getItems().size());
+  }
+
+  /**
+   * Tests that the item lists of a space and a player are read-only views that follow
+   * pickups without being copied.
+   */
+  @Test
+  public void testItemListsAreLiveViews() {
+    Space space = new Space(0, "Armory", 0, 0, 1, 1);
+    space.addItem(item);
+    PlayerImpl player = new PlayerImpl("Player1", space, 5, false);
+    List<ImItem> spaceItems = space.getItems();
+    List<ImItem> carried = player.getItems();
+
+    player.pickUpAvailableItem();
+
+    assertSame(spaceItems, space.getItems());
+    assertSame(carried, player.getItems());
+    assertEquals(0, space.getItemCount());
+    assertTrue(spaceItems.isEmpty());
+    assertEquals(1, player.getItemCount());
+    assertSame(item, carried.get(0));
+    assertThrows(UnsupportedOperationException.class, () -> carried.remove(item));
+    assertThrows(UnsupportedOperationException.class, () -> spaceItems.add(item));
+  }
 }
\ No newline at end of file
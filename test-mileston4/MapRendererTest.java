@@ -0,0 +1,74 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import character.TargetCharacter;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import player.PlayerImpl;
+import space.ImSpace;
+import space.Space;
+import world.World;
+
+/**
+ * Unit tests for the exported map drawn by {@link World#generateMap()}. Verifies that each
+ * call returns a new image that matches a map drawn from scratch and that later moves
+ * never change an image already handed out.
+ */
+public class MapRendererTest {
+
+  private static World createWorld(int playerSpace) {
+    List<ImSpace> spaces = Arrays.asList(
+        new Space(0, "Hall", 0, 0, 1, 2),
+        new Space(1, "Library", 0, 3, 1, 5),
+        new Space(2, "Kitchen", 2, 0, 3, 5));
+    World world = new World(4, 6, "Tiny Mansion", spaces, new ArrayList<>(),
+        new TargetCharacter("Doctor Lucky", 10, 0), null, new ArrayList<>());
+    world.addPlayer(new PlayerImpl("Player1", spaces.get(playerSpace), 3, false));
+    return world;
+  }
+
+  private static int[] pixels(BufferedImage image) {
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+
+  /**
+   * Tests that the map covers the whole world grid.
+   */
+  @Test
+  public void testMapSize() {
+    BufferedImage map = createWorld(1).generateMap();
+
+    assertEquals(300, map.getWidth());
+    assertEquals(200, map.getHeight());
+  }
+
+  /**
+   * Tests that a map drawn after a move is a new image matching a map drawn from scratch,
+   * and that the earlier image still shows the old position.
+   */
+  @Test
+  public void testMoveDrawsNewImage() {
+    World world = createWorld(1);
+    BufferedImage first = world.generateMap();
+    int[] before = pixels(first);
+    world.movePlayer(world.getPlayers().get(0), world.getSpace(2));
+    BufferedImage second = world.generateMap();
+
+    assertNotSame(first, second);
+    assertArrayEquals(before, pixels(first));
+    assertArrayEquals(pixels(createWorld(2).generateMap()), pixels(second));
+  }
+
+  /**
+   * Tests that drawing the map twice without moves gives the same pixels.
+   */
+  @Test
+  public void testUnchangedMap() {
+    World world = createWorld(1);
+    assertArrayEquals(pixels(world.generateMap()), pixels(world.generateMap()));
+  }
+}
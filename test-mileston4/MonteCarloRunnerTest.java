@@ -0,0 +1,145 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+import loader.WorldFileReader;
+import loader.WorldParser;
+import log.GameLog;
+import log.Level;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import simulation.MonteCarloRunner;
+import simulation.SimulationEngine;
+import simulation.SimulationResult;
+import simulation.SimulationStats;
+import world.World;
+
+/**
+ * Unit tests for the {@link MonteCarloRunner} and {@link SimulationStats} classes. Verifies
+ * that a master seed gives the same statistics on any number of threads.
+ */
+public class MonteCarloRunnerTest {
+  private World template;
+  private SimulationEngine engine;
+  private Level previousLevel;
+
+  /**
+   * Sets up an engine on a small world, with the log quieted as simulations do.
+   */
+  @Before
+  public void setUp() throws IOException {
+    previousLevel = GameLog.getLevel();
+    GameLog.setLevel(Level.WARN);
+    template = WorldParser.parse(new WorldFileReader(new StringReader("4 6 Tiny Mansion\n"
+        + "12 Doctor Lucky\n"
+        + "Fortune the Cat\n"
+        + "3\n"
+        + "0 0 1 2 Front Hall\n"
+        + "0 3 1 5 Library\n"
+        + "2 0 3 5 Kitchen\n"
+        + "3\n"
+        + "0 3 Crepe Pan\n"
+        + "1 2 Letter Opener\n"
+        + "2 4 Knife\n")));
+    engine = new SimulationEngine(SimulationEngine.copiesOf(template), 2, 5, 100, 0);
+  }
+
+  /**
+   * Restores the log level.
+   */
+  @After
+  public void tearDown() {
+    GameLog.setLevel(previousLevel);
+  }
+
+  /**
+   * Tests that the same master seed gives the same statistics on one thread and on four.
+   */
+  @Test
+  public void testSeedGivesSameStatisticsOnAnyPool() {
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool four = new ForkJoinPool(4);
+    try {
+      SimulationStats first = new MonteCarloRunner(engine, single).run(3000, 99);
+      SimulationStats second = new MonteCarloRunner(engine, four).run(3000, 99);
+      SimulationStats other = new MonteCarloRunner(engine, four).run(3000, 100);
+
+      assertEquals(first, second);
+      assertEquals(first.toString(), second.toString());
+      assertNotEquals(first, other);
+    } finally {
+      single.shutdown();
+      four.shutdown();
+    }
+  }
+
+  /**
+   * Tests that the runner plays exactly the games the engine plays one after another.
+   */
+  @Test
+  public void testRunnerMatchesSequentialGames() {
+    SimulationEngine sequential = new SimulationEngine(SimulationEngine.copiesOf(template),
+        2, 5, 100, 17);
+    SimulationStats expected = new SimulationStats(2);
+    for (SimulationResult result : sequential.playGames(500)) {
+      expected.add(result);
+    }
+
+    assertEquals(expected, new MonteCarloRunner(engine).run(500, 17));
+  }
+
+  /**
+   * Tests that the histograms and win counts add up to the number of games.
+   */
+  @Test
+  public void testStatisticsAddUp() {
+    SimulationStats stats = new MonteCarloRunner(engine).run(1000, 5);
+
+    assertEquals(1000, stats.getGames());
+    assertEquals(1000, sum(stats.getTurnHistogram()));
+    assertEquals(1000, sum(stats.getDamageHistogram()));
+    assertEquals(1.0, stats.getWinRate(0) + stats.getWinRate(1) + stats.getNoWinnerRate(),
+        1e-9);
+    // Every game without a winner runs to the turn limit.
+    long[] turns = stats.getTurnHistogram();
+    assertEquals(101, turns.length);
+    assertTrue(turns[100] >= Math.round(stats.getNoWinnerRate() * 1000));
+  }
+
+  /**
+   * Tests that merging statistics gives the same totals as counting all games in one.
+   */
+  @Test
+  public void testMerge() {
+    SimulationStats all = new SimulationStats(2);
+    SimulationStats left = new SimulationStats(2);
+    SimulationStats right = new SimulationStats(2);
+    SimulationResult[] results = {
+      new SimulationResult(0, 7, 12),
+      new SimulationResult(SimulationResult.NO_WINNER, 100, 3),
+      new SimulationResult(1, 40, 12),
+    };
+    for (int i = 0; i < results.length; i++) {
+      all.add(results[i]);
+      (i == 0 ? left : right).add(results[i]);
+    }
+    left.merge(right);
+
+    assertEquals(all, left);
+    assertEquals(1, left.getWins(1));
+    assertEquals(49.0, left.getMeanTurns(), 1e-9);
+    assertEquals(1, left.getDamageHistogram()[3]);
+  }
+
+  private static long sum(long[] values) {
+    long total = 0;
+    for (long value : values) {
+      total += value;
+    }
+    return total;
+  }
+}
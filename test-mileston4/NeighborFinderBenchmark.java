@@ -0,0 +1,85 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import space.ImSpace;
+import space.Space;
+import world.NeighborFinder;
+
+/**
+ * Benchmark comparing the pairwise neighbor scan that {@code World} used to run with the
+ * sweep in {@link NeighborFinder}. Run it with the space counts to try as arguments,
+ * for example {@code java NeighborFinderBenchmark 1000 10000 100000}.
+ */
+public class NeighborFinderBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the space counts to measure; defaults to 1k, 10k and 100k
+   */
+  public static void main(String[] args) {
+    int[] sizes = args.length == 0 ? new int[] {1_000, 10_000, 100_000}
+        : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+    // Warm up both paths so the JIT has compiled them before measuring.
+    List<ImSpace> warmup = generateMansion(2_000, new Random(1));
+    for (int i = 0; i < 5; i++) {
+      pairwise(warmup);
+      NeighborFinder.findNeighbors(warmup);
+    }
+
+    System.out.printf("%10s %14s %14s %10s%n", "spaces", "pairwise (ms)", "sweep (ms)", "same");
+    for (int size : sizes) {
+      List<ImSpace> spaces = generateMansion(size, new Random(size));
+
+      long start = System.nanoTime();
+      int[][] expected = pairwise(spaces);
+      long pairwiseNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      int[][] actual = NeighborFinder.findNeighbors(spaces);
+      long sweepNanos = System.nanoTime() - start;
+
+      System.out.printf("%10d %14.1f %14.1f %10b%n", size, pairwiseNanos / 1e6,
+          sweepNanos / 1e6, Arrays.deepEquals(expected, actual));
+    }
+  }
+
+  /**
+   * Builds a mansion of rooms packed into bands of two rows, where each room is one to
+   * four columns wide. Rooms in neighboring bands overlap irregularly.
+   */
+  static List<ImSpace> generateMansion(int count, Random random) {
+    int width = Math.max(4, (int) Math.sqrt(count * 2.5));
+    List<ImSpace> spaces = new ArrayList<>(count);
+    int row = 0;
+    int col = 0;
+    for (int id = 0; id < count; id++) {
+      int roomWidth = Math.min(1 + random.nextInt(4), width - col);
+      spaces.add(new Space(id, "Room " + id, row, col, row + 1, col + roomWidth - 1));
+      col += roomWidth;
+      if (col >= width) {
+        col = 0;
+        row += 2;
+      }
+    }
+    return spaces;
+  }
+
+  private static int[][] pairwise(List<ImSpace> spaces) {
+    int[][] neighbors = new int[spaces.size()][];
+    int[] buffer = new int[spaces.size()];
+    for (int i = 0; i < spaces.size(); i++) {
+      int found = 0;
+      for (int j = 0; j < spaces.size(); j++) {
+        if (i != j && NeighborFinder.sharesWall(spaces.get(i).getCoordinates(),
+            spaces.get(j).getCoordinates())) {
+          buffer[found++] = j;
+        }
+      }
+      neighbors[i] = Arrays.copyOf(buffer, found);
+    }
+    return neighbors;
+  }
+}
@@ -0,0 +1,80 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import space.ImSpace;
+import space.Space;
+import world.NeighborFinder;
+
+/**
+ * Unit tests for the {@link NeighborFinder} class. Verifies that the sweep finds exactly
+ * the neighbors that the pairwise wall-sharing rule finds.
+ */
+public class NeighborFinderTest {
+
+  /**
+   * Tests that spaces sharing a horizontal or vertical wall are neighbors.
+   */
+  @Test
+  public void testSharesWall() {
+    assertTrue(NeighborFinder.sharesWall(new int[] {0, 0, 1, 1}, new int[] {2, 0, 3, 1}));
+    assertTrue(NeighborFinder.sharesWall(new int[] {0, 0, 1, 1}, new int[] {0, 2, 1, 3}));
+    assertFalse(NeighborFinder.sharesWall(new int[] {0, 0, 1, 1}, new int[] {3, 0, 4, 1}));
+    assertFalse(NeighborFinder.sharesWall(new int[] {0, 0, 1, 1}, new int[] {2, 2, 3, 3}));
+  }
+
+  /**
+   * Tests the neighbors found for a small mansion.
+   */
+  @Test
+  public void testFindNeighbors() {
+    List<ImSpace> spaces = new ArrayList<>();
+    spaces.add(new Space(0, "Lobby", 0, 0, 1, 1));
+    spaces.add(new Space(1, "Hallway", 0, 2, 1, 3));
+    spaces.add(new Space(2, "Kitchen", 2, 0, 3, 1));
+    spaces.add(new Space(3, "Cellar", 5, 5, 6, 6));
+
+    int[][] neighbors = NeighborFinder.findNeighbors(spaces);
+
+    assertArrayEquals(new int[] {1, 2}, neighbors[0]);
+    assertArrayEquals(new int[] {0}, neighbors[1]);
+    assertArrayEquals(new int[] {0}, neighbors[2]);
+    assertArrayEquals(new int[] {}, neighbors[3]);
+  }
+
+  /**
+   * Tests that the sweep matches the pairwise rule on random, overlapping rectangles.
+   */
+  @Test
+  public void testMatchesPairwiseRule() {
+    Random random = new Random(42);
+    for (int round = 0; round < 200; round++) {
+      List<ImSpace> spaces = new ArrayList<>();
+      int count = 1 + random.nextInt(30);
+      for (int i = 0; i < count; i++) {
+        int row = random.nextInt(10);
+        int col = random.nextInt(10);
+        spaces.add(new Space(i, "Room " + i, row, col,
+            row + random.nextInt(4), col + random.nextInt(4)));
+      }
+
+      int[][] neighbors = NeighborFinder.findNeighbors(spaces);
+
+      for (int i = 0; i < count; i++) {
+        List<Integer> expected = new ArrayList<>();
+        for (int j = 0; j < count; j++) {
+          if (i != j && NeighborFinder.sharesWall(spaces.get(i).getCoordinates(),
+              spaces.get(j).getCoordinates())) {
+            expected.add(j);
+          }
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+            neighbors[i]);
+      }
+    }
+  }
+}
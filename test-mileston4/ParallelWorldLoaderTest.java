@@ -0,0 +1,155 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import loader.ParallelWorldLoader;
+import loader.WorldFileReader;
+import loader.WorldFormatException;
+import loader.WorldParser;
+import org.junit.Test;
+import world.NeighborFinder;
+import world.SpaceGraph;
+import world.World;
+
+/**
+ * Unit tests for the {@link ParallelWorldLoader} class and the parallel neighbor graph.
+ * Verifies that a world split into many chunks loads the same as with the sequential parser.
+ */
+public class ParallelWorldLoaderTest {
+  private static final int SIDE = 120;
+
+  /**
+   * Builds a world file with a grid of 2x2 spaces, large enough to be split into chunks.
+   *
+   * @param badLine the line to corrupt, or -1 to keep the file valid
+   * @return the file contents
+   */
+  private static String gridWorld(int badLine) {
+    StringBuilder text = new StringBuilder();
+    text.append(SIDE * 2).append(' ').append(SIDE * 2).append(" Grid Mansion\n")
+        .append("10 Doctor Lucky\n")
+        .append("Fortune the Cat\n")
+        .append(SIDE * SIDE).append('\n');
+    for (int r = 0; r < SIDE; r++) {
+      for (int c = 0; c < SIDE; c++) {
+        int line = 5 + r * SIDE + c;
+        text.append(line == badLine ? "x" : r * 2).append(' ').append(c * 2).append(' ')
+            .append(r * 2 + 1).append(' ').append(c * 2 + 1).append(" Room ").append(r)
+            .append('-').append(c).append('\n');
+      }
+    }
+    text.append(SIDE * SIDE / 2).append('\n');
+    for (int i = 0; i < SIDE * SIDE / 2; i++) {
+      text.append(i * 2).append(' ').append(i % 7).append(" Item ").append(i).append('\n');
+    }
+    return text.toString();
+  }
+
+  private static World load(String text) throws IOException {
+    Path file = Files.createTempFile("world", ".txt");
+    try {
+      Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+      return new ParallelWorldLoader().load(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Tests that the parallel loader builds the same world as the sequential parser.
+   */
+  @Test
+  public void testMatchesSequentialParser() throws IOException {
+    String text = gridWorld(-1);
+    World expected = WorldParser.parse(new WorldFileReader(new StringReader(text)));
+    World actual = load(text);
+
+    assertEquals("Grid Mansion", actual.getName());
+    assertEquals(expected.getSpaces().size(), actual.getSpaces().size());
+    for (int i = 0; i < expected.getSpaces().size(); i++) {
+      assertEquals(expected.getSpace(i).getName(), actual.getSpace(i).getName());
+      assertArrayEquals(expected.getSpace(i).getCoordinates(),
+          actual.getSpace(i).getCoordinates());
+      assertEquals(expected.getSpace(i).getItems().size(),
+          actual.getSpace(i).getItems().size());
+    }
+    assertArrayEquals(expected.getTopology().getOffsets(), actual.getTopology().getOffsets());
+    assertArrayEquals(expected.getTopology().getTargets(), actual.getTopology().getTargets());
+    assertEquals("Item 3", actual.getSpace(6).getItems().get(0).getName());
+    for (int i = 0; i < expected.getItems().size(); i++) {
+      assertEquals(i, expected.getItems().get(i).getId());
+      assertEquals(i, actual.getItems().get(i).getId());
+    }
+    assertEquals("Item 3", actual.getSpace(6).getItem(3).getName());
+  }
+
+  /**
+   * Tests that an error in a later chunk reports the line it is on.
+   */
+  @Test
+  public void testErrorLine() {
+    int badLine = 5 + SIDE * SIDE - 10;
+    WorldFormatException e = assertThrows(WorldFormatException.class,
+        () -> load(gridWorld(badLine)));
+    assertEquals(badLine, e.getLine());
+  }
+
+  /**
+   * Tests that a count larger than the rest of the file is reported on the count's line
+   * instead of being allocated.
+   */
+  @Test
+  public void testOversizedCount() {
+    WorldFormatException e = assertThrows(WorldFormatException.class,
+        () -> load("4 6 Tiny Mansion\n10 Doctor Lucky\nFortune the Cat\n2000000000\n"
+            + "0 0 1 2 Front Hall\n"));
+    assertEquals(4, e.getLine());
+
+    e = assertThrows(WorldFormatException.class,
+        () -> load("4 6 Tiny Mansion\n10 Doctor Lucky\nFortune the Cat\n1\n"
+            + "0 0 1 2 Front Hall\n2000000000\n1 3 Crepe Pan\n"));
+    assertEquals(6, e.getLine());
+  }
+
+  /**
+   * Tests that text after the last item is rejected.
+   */
+  @Test
+  public void testTrailingText() {
+    WorldFormatException e = assertThrows(WorldFormatException.class,
+        () -> load(gridWorld(-1) + "extra\n"));
+    assertTrue(e.getMessage().contains("after the last item"));
+  }
+
+  /**
+   * Tests that the fork-join graph matches the sequential neighbor search.
+   */
+  @Test
+  public void testBuildGraph() {
+    int n = 2000;
+    int[] top = new int[n];
+    int[] left = new int[n];
+    int[] bottom = new int[n];
+    int[] right = new int[n];
+    for (int i = 0; i < n; i++) {
+      top[i] = (i / 40) * 3;
+      left[i] = (i % 40) * 2 + (i / 40) % 2;
+      bottom[i] = top[i] + 2;
+      right[i] = left[i] + 1;
+    }
+    SpaceGraph expected = SpaceGraph.fromNeighbors(
+        NeighborFinder.findNeighbors(top, left, bottom, right));
+    SpaceGraph actual = NeighborFinder.buildGraph(top, left, bottom, right,
+        ForkJoinPool.commonPool());
+
+    assertArrayEquals(expected.getOffsets(), actual.getOffsets());
+    assertArrayEquals(expected.getTargets(), actual.getTargets());
+  }
+}
@@ -94,7 +94,7 @@ public class PlayerImplTest {
     ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
     System.setOut(new PrintStream(outputStream));
 
-    boolean movedPet = player.takeTurn(world, world.getPlayers());
+    boolean movedPet = player.takeTurn(world);
 
     assertFalse("AI should not move the pet", movedPet);
     assertTrue("Output should contain 'thinking...'", 
@@ -110,7 +110,7 @@ public class PlayerImplTest {
     System.setOut(new PrintStream(outputStream));
 
     // Attempt the kill
-    boolean result = player.attemptKill(targetCharacter, world, allPlayers);
+    boolean result = player.attemptKill(targetCharacter, world);
 
     // Verify that the attempt failed because target is not in the same space
     assertFalse("Attempt should fail because target is not in the same space", result);
@@ -142,7 +142,7 @@ public class PlayerImplTest {
     System.setOut(new PrintStream(outputStream));
 
     try {
-      boolean result = player.takeTurn(world, world.getPlayers());
+      boolean result = player.takeTurn(world);
       assertTrue("Human player should successfully move the pet", result);
       assertTrue(outputStream.toString().contains("Select a space to move the pet to"));
     } finally {
@@ -166,7 +166,7 @@ public class PlayerImplTest {
     System.setOut(new PrintStream(outputStream));
 
     try {
-      boolean result = player.takeHumanTurn(world, world.getPlayers());
+      boolean result = player.takeHumanTurn(world);
       assertFalse("Human player should not move the pet", result);
       assertTrue(player.getItems().contains(item1));
       assertTrue(outputStream.toString().contains("picked up"));
@@ -191,7 +191,7 @@ public class PlayerImplTest {
     System.setOut(new PrintStream(outputStream));
 
     try {
-      boolean result = player.takeHumanTurn(world, world.getPlayers());
+      boolean result = player.takeHumanTurn(world);
       assertFalse("Human player should not move the pet", result);
       assertTrue(outputStream.toString().contains("attempts to attack Doctor Lucky"));
     } finally {
@@ -212,7 +212,7 @@ public class PlayerImplTest {
     ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
     System.setOut(new PrintStream(outputStream));
 
-    boolean result = player.takeAiTurn(world, world.getPlayers());
+    boolean result = player.takeAiTurn(world);
 
     assertFalse("AI should not move the pet", result);
     assertTrue(outputStream.toString().contains("attempts to attack Doctor Lucky"));
@@ -230,7 +230,7 @@ public class PlayerImplTest {
     System.setOut(new PrintStream(outputStream));
 
     // Attempt to kill the target character
-    boolean result = player.attemptKill(targetCharacter, world, world.getPlayers());
+    boolean result = player.attemptKill(targetCharacter, world);
 
     // Assert the attempt failed and the output is correct
     assertFalse("Attempt should fail because another player can see the attack", result);
@@ -249,7 +249,7 @@ public class PlayerImplTest {
     System.setOut(new PrintStream(outputStream));
 
     // Attempt to kill the target character
-    boolean result = player.attemptKill(targetCharacter, world, world.getPlayers());
+    boolean result = player.attemptKill(targetCharacter, world);
 
     // Assert the attempt succeeded and the output is correct
     assertTrue("Attempt should succeed with an item", result);
@@ -269,7 +269,7 @@ public class PlayerImplTest {
     System.setOut(new PrintStream(outputStream));
 
     // Attempt to kill the target character
-    boolean result = player.attemptKill(targetCharacter, world, world.getPlayers());
+    boolean result = player.attemptKill(targetCharacter, world);
 
     // Assert the attempt succeeded with default damage
     assertTrue("Attempt should succeed with default damage", result);
@@ -587,7 +587,7 @@ public class PlayerImplTest {
   public void testCanSeeSameSpace() {
     otherPlayer.moveTo(startingSpace); // Move otherPlayer to the same space as player
     assertTrue("Player should be able to see other player in the "
-        + "same space", player.canSee(otherPlayer));
+        + "same space", player.canSee(otherPlayer, world));
   }
 
   @Test
@@ -595,7 +595,7 @@ public class PlayerImplTest {
     player.moveTo(startingSpace); // Ensure player is in startingSpace
     otherPlayer.moveTo(neighborSpace); // Move otherPlayer to a neighboring space
     assertTrue("Player should be able to see other player in a "
-        + "neighboring space", player.canSee(otherPlayer));
+        + "neighboring space", player.canSee(otherPlayer, world));
   }
 
   @Test
@@ -604,7 +604,7 @@ public class PlayerImplTest {
     player.moveTo(startingSpace);
     otherPlayer.moveTo(distantSpace); // Move otherPlayer to a distant space (not neighboring)
     assertFalse("Player should not be able to see other player in "
-        + "a distant space", player.canSee(otherPlayer));
+        + "a distant space", player.canSee(otherPlayer, world));
   }
   
   @Test
@@ -713,7 +713,7 @@ public class PlayerImplTest {
     
     // Attempt the attack and verify success
     assertFalse("Attack should be "
-        + "successful", player.attemptKill(targetCharacter, world, world.getPlayers()));
+        + "successful", player.attemptKill(targetCharacter, world));
     assertFalse("Target character should have "
         + "taken damage", targetCharacter.getHealth() < 20);
   }
@@ -723,7 +723,7 @@ public class PlayerImplTest {
   public void testAttemptKillInterruptedByOtherPlayer() {
     targetCharacter.moveToSpace(startingSpace.getId()); 
     otherPlayer.moveTo(startingSpace); // Other player in the same space
-    assertFalse(player.attemptKill(targetCharacter, world, world.getPlayers()));
+    assertFalse(player.attemptKill(targetCharacter, world));
     assertEquals(20, targetCharacter.getHealth()); 
   }
 
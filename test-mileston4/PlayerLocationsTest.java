@@ -0,0 +1,108 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import character.TargetCharacter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import player.PlayerImpl;
+import space.ImSpace;
+import space.Space;
+import world.World;
+
+/**
+ * Unit tests for the player location index behind {@link World#getPlayerLocations()}.
+ * Verifies that adding and moving players keeps the per-space lists and the map view
+ * in step.
+ */
+public class PlayerLocationsTest {
+  private List<ImSpace> spaces;
+  private World world;
+  private PlayerImpl alice;
+  private PlayerImpl bob;
+  private PlayerImpl carol;
+
+  /**
+   * Builds a row of three spaces with three players, two of them in the first space.
+   */
+  @Before
+  public void setUp() {
+    spaces = Arrays.asList(
+        new Space(0, "Hall", 0, 0, 0, 0),
+        new Space(1, "Library", 0, 1, 0, 1),
+        new Space(2, "Kitchen", 0, 2, 0, 2));
+    world = new World(1, 3, "Row", spaces, new ArrayList<>(),
+        new TargetCharacter("Doctor Lucky", 10, 0), null, new ArrayList<>());
+    alice = new PlayerImpl("Alice", spaces.get(0), 3, false);
+    bob = new PlayerImpl("Bob", spaces.get(0), 3, true);
+    carol = new PlayerImpl("Carol", spaces.get(2), 3, true);
+    world.addPlayer(alice);
+    world.addPlayer(bob);
+    world.addPlayer(carol);
+  }
+
+  /**
+   * Tests that added players are listed in their spaces in the order they arrived.
+   */
+  @Test
+  public void testAddPlayers() {
+    assertEquals(Arrays.asList(alice, bob), world.getPlayersIn(spaces.get(0)));
+    assertTrue(world.getPlayersIn(spaces.get(1)).isEmpty());
+    assertEquals(Arrays.asList(carol), world.getPlayersIn(spaces.get(2)));
+    assertEquals(3, world.getPlayers().size());
+  }
+
+  /**
+   * Tests that moving a player updates both spaces and the player.
+   */
+  @Test
+  public void testMovePlayer() {
+    List<PlayerImpl> hall = world.getPlayersIn(spaces.get(0));
+    world.movePlayer(alice, spaces.get(1));
+
+    assertEquals(spaces.get(1), alice.getCurrentSpace());
+    assertEquals(Arrays.asList(bob), hall);
+    assertEquals(Arrays.asList(alice), world.getPlayersIn(spaces.get(1)));
+
+    world.movePlayer(bob, spaces.get(1));
+    world.movePlayer(carol, spaces.get(1));
+    assertTrue(hall.isEmpty());
+    assertEquals(Arrays.asList(alice, bob, carol), world.getPlayersIn(spaces.get(1)));
+  }
+
+  /**
+   * Tests that the map view holds only occupied spaces and follows later moves.
+   */
+  @Test
+  public void testLocationMap() {
+    Map<ImSpace, List<PlayerImpl>> locations = world.getPlayerLocations();
+    assertEquals(2, locations.size());
+    assertEquals(Arrays.asList(alice, bob), locations.get(spaces.get(0)));
+    assertNull(locations.get(spaces.get(1)));
+
+    world.movePlayer(carol, spaces.get(0));
+    assertEquals(1, locations.size());
+    assertFalse(locations.containsKey(spaces.get(2)));
+    assertEquals(3, locations.get(spaces.get(0)).size());
+    assertThrows(UnsupportedOperationException.class,
+        () -> locations.put(spaces.get(1), new ArrayList<>()));
+  }
+
+  /**
+   * Tests that rebuilding the index picks up players moved directly.
+   */
+  @Test
+  public void testUpdatePlayerLocations() {
+    alice.moveTo(spaces.get(2));
+    world.updatePlayerLocations();
+
+    assertEquals(Arrays.asList(bob), world.getPlayersIn(spaces.get(0)));
+    assertEquals(Arrays.asList(alice, carol), world.getPlayersIn(spaces.get(2)));
+  }
+}
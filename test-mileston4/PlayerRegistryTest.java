@@ -0,0 +1,102 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import controller.PlayerRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import player.PlayerImpl;
+
+/**
+ * Unit tests for the {@link PlayerRegistry} class. Verifies that sessions map to their
+ * players and that human and AI players are kept apart.
+ */
+public class PlayerRegistryTest {
+  private PlayerRegistry registry;
+
+  /**
+   * Creates an empty registry before each test.
+   */
+  @Before
+  public void setUp() {
+    registry = new PlayerRegistry();
+  }
+
+  /**
+   * Tests that sessions are numbered in the order players join and map back to them.
+   */
+  @Test
+  public void testSessionsMapToPlayers() {
+    PlayerImpl ai = new PlayerImpl("AI", null, 5, true);
+    PlayerImpl human = new PlayerImpl("Player1", null, 5, false);
+
+    assertEquals(0, registry.register(ai));
+    assertEquals(1, registry.register(human));
+
+    assertSame(ai, registry.get(0));
+    assertSame(human, registry.get(1));
+    assertEquals(1, registry.getSession(human));
+    assertEquals(PlayerRegistry.NO_SESSION,
+        registry.getSession(new PlayerImpl("Stranger", null, 5, false)));
+    assertNull(registry.get(2));
+    assertNull(registry.get(PlayerRegistry.NO_SESSION));
+  }
+
+  /**
+   * Tests that only human sessions are found as human players.
+   */
+  @Test
+  public void testHumanLookupSkipsAi() {
+    int ai = registry.register(new PlayerImpl("AI", null, 5, true));
+    PlayerImpl human = new PlayerImpl("Player1", null, 5, false);
+    int session = registry.register(human);
+
+    assertNull(registry.getHuman(ai));
+    assertSame(human, registry.getHuman(session));
+    assertEquals(session, registry.getLocalSession());
+  }
+
+  /**
+   * Tests that a lobby of many players keeps its turn order and partitions.
+   */
+  @Test
+  public void testManyPlayersArePartitioned() {
+    List<PlayerImpl> humans = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      PlayerImpl player = new PlayerImpl("P" + i, null, 5, i % 5 == 0);
+      registry.register(player);
+      if (!player.isAi) {
+        humans.add(player);
+      }
+    }
+
+    assertEquals(500, registry.size());
+    assertEquals(100, registry.getAis().size());
+    assertEquals(humans, registry.getHumans());
+    assertEquals(1, registry.getLocalSession());
+    for (int session = 0; session < 500; session++) {
+      assertEquals(session, registry.getSession(registry.get(session)));
+    }
+  }
+
+  /**
+   * Tests that a player cannot join twice.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRegisterTwiceFails() {
+    PlayerImpl player = new PlayerImpl("Player1", null, 5, false);
+    registry.register(player);
+    registry.register(player);
+  }
+
+  /**
+   * Tests that no local session exists before a human joins.
+   */
+  @Test
+  public void testNoLocalSessionWithoutHumans() {
+    registry.register(new PlayerImpl("AI", null, 5, true));
+    assertEquals(PlayerRegistry.NO_SESSION, registry.getLocalSession());
+  }
+}
@@ -0,0 +1,104 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.function.Supplier;
+import loader.WorldFileReader;
+import loader.WorldParser;
+import log.GameLog;
+import log.Level;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import simulation.SimulationEngine;
+import simulation.SimulationResult;
+import world.World;
+
+/**
+ * Unit tests for the {@link SimulationEngine} class. Verifies that AI-only games run without
+ * a view, replay exactly from a seed and report consistent outcomes.
+ */
+public class SimulationEngineTest {
+  private Supplier<World> worlds;
+  private Level previousLevel;
+
+  /**
+   * Compiles a small world to copy for each game, and quiets the log as simulations do.
+   */
+  @Before
+  public void setUp() throws IOException {
+    previousLevel = GameLog.getLevel();
+    GameLog.setLevel(Level.WARN);
+    World template = WorldParser.parse(new WorldFileReader(new StringReader("4 6 Tiny Mansion\n"
+        + "12 Doctor Lucky\n"
+        + "Fortune the Cat\n"
+        + "3\n"
+        + "0 0 1 2 Front Hall\n"
+        + "0 3 1 5 Library\n"
+        + "2 0 3 5 Kitchen\n"
+        + "3\n"
+        + "0 3 Crepe Pan\n"
+        + "1 2 Letter Opener\n"
+        + "2 4 Knife\n")));
+    worlds = SimulationEngine.copiesOf(template);
+  }
+
+  /**
+   * Restores the log level.
+   */
+  @After
+  public void tearDown() {
+    GameLog.setLevel(previousLevel);
+  }
+
+  /**
+   * Tests that the same seed plays the same games.
+   */
+  @Test
+  public void testSeedReplaysGames() {
+    List<SimulationResult> first = new SimulationEngine(worlds, 3, 2, 200, 7)
+        .playGames(50);
+    List<SimulationResult> second = new SimulationEngine(worlds, 3, 2, 200, 7)
+        .playGames(50);
+
+    for (int i = 0; i < first.size(); i++) {
+      assertEquals(first.get(i).toString(), second.get(i).toString());
+    }
+  }
+
+  /**
+   * Tests that every outcome is within the rules: no more turns than allowed, a winner only
+   * when the target's health is gone, and never more damage than it had.
+   */
+  @Test
+  public void testResultsAreConsistent() {
+    int wins = 0;
+    for (SimulationResult result
+        : new SimulationEngine(worlds, 2, 5, 100, 1).playGames(500)) {
+      assertTrue(result.getTurns() > 0 && result.getTurns() <= 100);
+      assertTrue(result.getDamageDealt() >= 0 && result.getDamageDealt() <= 12);
+      if (result.isTargetKilled()) {
+        wins++;
+        assertEquals(12, result.getDamageDealt());
+        assertTrue(result.getWinner() == 0 || result.getWinner() == 1);
+      } else {
+        assertEquals(100, result.getTurns());
+      }
+    }
+    assertTrue(wins > 0);
+  }
+
+  /**
+   * Tests that each game starts from a fresh copy of the world.
+   */
+  @Test
+  public void testGamesDoNotShareState() {
+    SimulationEngine engine = new SimulationEngine(worlds, 1, 5, 1, 3);
+    for (SimulationResult result : engine.playGames(20)) {
+      assertEquals(1, result.getTurns());
+    }
+    assertEquals(12, worlds.get().getTargetCharacter().getHealth());
+  }
+}
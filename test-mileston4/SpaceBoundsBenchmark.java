@@ -0,0 +1,92 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+import space.ImSpace;
+import world.NeighborFinder;
+import world.SpaceBounds;
+
+/**
+ * Benchmark comparing the garbage produced by reading coordinates through
+ * {@link ImSpace#getCoordinates()} with reading them from a {@link SpaceBounds} store.
+ * Both paths run the same pairwise wall test. For each path, the benchmark reports the
+ * bytes the thread allocated and the collections the JVM ran, as well as the time taken.
+ * Run it with the space count as the argument, for example
+ * {@code java SpaceBoundsBenchmark 3000}.
+ */
+public class SpaceBoundsBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the number of spaces to test; defaults to 3000
+   */
+  public static void main(String[] args) {
+    int size = args.length == 0 ? 3_000 : Integer.parseInt(args[0]);
+    List<ImSpace> spaces = NeighborFinderBenchmark.generateMansion(size, new Random(size));
+    SpaceBounds bounds = new SpaceBounds(spaces);
+
+    // Warm up both paths so the JIT has compiled them before measuring.
+    for (int i = 0; i < 3; i++) {
+      withArrays(spaces);
+      withBounds(bounds);
+    }
+
+    System.out.printf("%10s %14s %12s %10s %10s%n", "path", "allocated MB", "gc count",
+        "gc ms", "time ms");
+    measure("arrays", () -> withArrays(spaces));
+    measure("bounds", () -> withBounds(bounds));
+  }
+
+  private static int withArrays(List<ImSpace> spaces) {
+    int pairs = 0;
+    for (int i = 0; i < spaces.size(); i++) {
+      for (int j = 0; j < spaces.size(); j++) {
+        if (i != j && NeighborFinder.sharesWall(spaces.get(i).getCoordinates(),
+            spaces.get(j).getCoordinates())) {
+          pairs++;
+        }
+      }
+    }
+    return pairs;
+  }
+
+  private static int withBounds(SpaceBounds bounds) {
+    int pairs = 0;
+    for (int i = 0; i < bounds.size(); i++) {
+      for (int j = 0; j < bounds.size(); j++) {
+        if (i != j && bounds.sharesWall(i, j)) {
+          pairs++;
+        }
+      }
+    }
+    return pairs;
+  }
+
+  private static void measure(String path, Runnable work) {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+    long countBefore = 0;
+    long timeBefore = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      countBefore += gc.getCollectionCount();
+      timeBefore += gc.getCollectionTime();
+    }
+    long start = System.nanoTime();
+
+    work.run();
+
+    long nanos = System.nanoTime() - start;
+    long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+    long count = -countBefore;
+    long time = -timeBefore;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += gc.getCollectionCount();
+      time += gc.getCollectionTime();
+    }
+    System.out.printf("%10s %14.1f %12d %10d %10.1f%n", path, allocated / 1e6, count, time,
+        nanos / 1e6);
+  }
+}
@@ -0,0 +1,56 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import space.ImSpace;
+import space.Space;
+import world.NeighborFinder;
+import world.SpaceBounds;
+
+/**
+ * Unit tests for the {@link SpaceBounds} class. Verifies the coordinate columns and that
+ * its wall test agrees with {@link NeighborFinder#sharesWall(int[], int[])}.
+ */
+public class SpaceBoundsTest {
+
+  private final List<ImSpace> spaces = Arrays.asList(
+      new Space(0, "Hall", 0, 0, 1, 2),
+      new Space(1, "Library", 0, 3, 1, 5),
+      new Space(2, "Kitchen", 2, 0, 3, 1),
+      new Space(3, "Cellar", 5, 5, 6, 6));
+
+  /**
+   * Tests that each coordinate is read from the right column.
+   */
+  @Test
+  public void testCoordinates() {
+    SpaceBounds bounds = new SpaceBounds(spaces);
+
+    assertEquals(4, bounds.size());
+    assertEquals(0, bounds.upperLeftRow(1));
+    assertEquals(3, bounds.upperLeftCol(1));
+    assertEquals(1, bounds.lowerRightRow(1));
+    assertEquals(5, bounds.lowerRightCol(1));
+  }
+
+  /**
+   * Tests that the wall test matches the array-based rule for every pair.
+   */
+  @Test
+  public void testSharesWall() {
+    SpaceBounds bounds = new SpaceBounds(spaces);
+
+    assertTrue(bounds.sharesWall(0, 1));
+    assertTrue(bounds.sharesWall(2, 0));
+    assertFalse(bounds.sharesWall(0, 3));
+    for (int i = 0; i < spaces.size(); i++) {
+      for (int j = 0; j < spaces.size(); j++) {
+        assertEquals(NeighborFinder.sharesWall(spaces.get(i).getCoordinates(),
+            spaces.get(j).getCoordinates()), bounds.sharesWall(i, j));
+      }
+    }
+  }
+}
@@ -0,0 +1,108 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import character.TargetCharacter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import space.ImSpace;
+import space.Space;
+import world.SpaceGraph;
+import world.World;
+
+/**
+ * Unit tests for the {@link SpaceGraph} class. Verifies neighbor lookups and
+ * validation of the compressed sparse row arrays.
+ */
+public class SpaceGraphTest {
+
+  private SpaceGraph graph;
+
+  /**
+   * Sets up a graph where space 0 neighbors spaces 1 and 2, and space 3 has no neighbors.
+   */
+  @Before
+  public void setUp() {
+    graph = SpaceGraph.fromNeighbors(new int[][] {{1, 2}, {0}, {0}, {}});
+  }
+
+  /**
+   * Tests the space, edge and neighbor counts.
+   */
+  @Test
+  public void testCounts() {
+    assertEquals(4, graph.getSpaceCount());
+    assertEquals(4, graph.getEdgeCount());
+    assertEquals(2, graph.getDegree(0));
+    assertEquals(0, graph.getDegree(3));
+  }
+
+  /**
+   * Tests getting neighbors by position.
+   */
+  @Test
+  public void testGetNeighbor() {
+    assertEquals(1, graph.getNeighbor(0, 0));
+    assertEquals(2, graph.getNeighbor(0, 1));
+    assertThrows(IndexOutOfBoundsException.class, () -> graph.getNeighbor(3, 0));
+  }
+
+  /**
+   * Tests the adjacency check.
+   */
+  @Test
+  public void testIsAdjacent() {
+    assertTrue(graph.isAdjacent(0, 2));
+    assertTrue(graph.isAdjacent(2, 0));
+    assertFalse(graph.isAdjacent(1, 2));
+    assertFalse(graph.isAdjacent(3, 0));
+  }
+
+  /**
+   * Tests that the arrays match the neighbor lists.
+   */
+  @Test
+  public void testArrays() {
+    assertArrayEquals(new int[] {0, 2, 3, 4, 4}, graph.getOffsets());
+    assertArrayEquals(new int[] {1, 2, 0, 0}, graph.getTargets());
+  }
+
+  /**
+   * Tests that unsorted or out-of-range neighbor lists are rejected.
+   */
+  @Test
+  public void testInvalidArrays() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new SpaceGraph(new int[] {0, 2, 2}, new int[] {1, 0}));
+    assertThrows(IllegalArgumentException.class,
+        () -> new SpaceGraph(new int[] {0, 1, 1}, new int[] {5}));
+    assertThrows(IllegalArgumentException.class,
+        () -> new SpaceGraph(new int[] {0, 1}, new int[] {}));
+  }
+
+  /**
+   * Tests that a world's spaces list their neighbors from the world's graph, also when
+   * their ids are not their positions.
+   */
+  @Test
+  public void testSpacesViewWorldGraph() {
+    List<ImSpace> spaces = Arrays.asList(
+        new Space(10, "Hall", 0, 0, 1, 2),
+        new Space(11, "Library", 0, 3, 1, 5),
+        new Space(12, "Garden", 6, 0, 7, 5));
+    World world = new World(8, 6, "Tiny Mansion", spaces, new ArrayList<>(),
+        new TargetCharacter("Doctor Lucky", 10, 0), null, new ArrayList<>());
+
+    assertEquals(List.of(spaces.get(1)), spaces.get(0).getNeighbors());
+    assertEquals(world.getNeighbors(spaces.get(1)), spaces.get(1).getNeighbors());
+    assertTrue(spaces.get(2).getNeighbors().isEmpty());
+    assertEquals(1, world.indexOf(spaces.get(1)));
+    assertThrows(UnsupportedOperationException.class,
+        () -> spaces.get(2).addNeighbor(spaces.get(0)));
+  }
+}
@@ -9,9 +9,9 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import player.Player;
-import player.PlayerImpl;
 import space.ImSpace;
 import space.Space;
+import world.ImWorld;
 import world.World;
 
 /**
@@ -24,6 +24,7 @@ public class SpaceTest {
   private Space space;
   private ImItem item;
   private Player player;
+  private int nextItemId;
 
   /**
    * Sets up a new instance with initial values for testing.
@@ -122,6 +123,7 @@ public class SpaceTest {
   // Inner classes for minimal implementations of ImItem and Player for testing
 
   class TestItem implements ImItem {
+    private final int id = nextItemId++;
     private String name;
     private int damage;
     
@@ -145,6 +147,11 @@ public class SpaceTest {
     public int getDamage() {
       return damage;
     }
+
+    @Override
+    public int getId() {
+      return id;
+    }
   }
 
   class TestPlayer implements Player {
@@ -176,6 +183,21 @@ public class SpaceTest {
       return null;
     }
 
+    @Override
+    public int getItemCount() {
+      return 0;
+    }
+
+    @Override
+    public ImItem getBestWeapon() {
+      return null;
+    }
+
+    @Override
+    public ImItem useBestWeapon() {
+      return null;
+    }
+
     @Override
     public int getMaxItems() {
       // TODO Auto-generated method stub
@@ -207,15 +229,13 @@ public class SpaceTest {
     }
 
     @Override
-    public boolean attemptKill(ImTargetCharacter target, 
-        World world, List<PlayerImpl> allPlayers) {
+    public boolean attemptKill(ImTargetCharacter target, World world) {
       // TODO Auto-generated method stub
       return false;
     }
 
     @Override
-    public boolean canSee(Player other) {
-      // TODO Auto-generated method stub
+    public boolean canSee(Player other, ImWorld world) {
       return false;
     }
   }
@@ -0,0 +1,189 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import character.TargetCharacter;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+import player.PlayerImpl;
+import space.ImSpace;
+import space.Space;
+import world.World;
+
+/**
+ * Unit tests for the tiled map painted by {@link World#paintMap}. Verifies that the tiles
+ * match the generated map and that maps too large for one image can still be painted.
+ */
+public class TileRendererTest {
+
+  /**
+   * Builds a world of square rooms laid out in a grid.
+   *
+   * @param side     the number of rooms along each side
+   * @param roomSize the number of cells along each side of a room
+   * @return the world
+   */
+  private static World gridWorld(int side, int roomSize) {
+    List<ImSpace> spaces = new ArrayList<>();
+    for (int r = 0; r < side; r++) {
+      for (int c = 0; c < side; c++) {
+        spaces.add(new Space(spaces.size(), "A room with a long name " + r + "-" + c,
+            r * roomSize, c * roomSize, r * roomSize + roomSize - 1,
+            c * roomSize + roomSize - 1));
+      }
+    }
+    World world = new World(side * roomSize, side * roomSize, "Grid", spaces,
+        new ArrayList<>(), new TargetCharacter("Doctor Lucky", 10, 0), null, new ArrayList<>());
+    world.addPlayer(new PlayerImpl("Player1", spaces.get(side + 1), 3, false));
+    return world;
+  }
+
+  private static int[] paint(World world, Rectangle area) {
+    BufferedImage image = new BufferedImage(area.width, area.height,
+        BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.translate(-area.x, -area.y);
+    g.setClip(area);
+    world.paintMap(g, area);
+    g.dispose();
+    return image.getRGB(0, 0, area.width, area.height, null, 0, area.width);
+  }
+
+  /**
+   * Tests that painting the whole map from tiles matches the generated image.
+   */
+  @Test
+  public void testMatchesGeneratedMap() {
+    World world = gridWorld(8, 2);
+    BufferedImage map = world.generateMap();
+    Rectangle all = new Rectangle(world.getMapSize());
+
+    assertEquals(new Dimension(800, 800), world.getMapSize());
+    assertArrayEquals(map.getRGB(0, 0, 800, 800, null, 0, 800), paint(world, all));
+  }
+
+  /**
+   * Tests that a viewport that cuts through tiles matches the same part of the full map.
+   */
+  @Test
+  public void testViewport() {
+    World world = gridWorld(8, 2);
+    BufferedImage map = world.generateMap();
+    Rectangle view = new Rectangle(130, 270, 300, 200);
+
+    assertArrayEquals(map.getRGB(view.x, view.y, view.width, view.height, null, 0,
+        view.width), paint(world, view));
+  }
+
+  /**
+   * Tests painting a viewport of a 20000x20000 pixel map, far too large for one image.
+   */
+  @Test
+  public void testHugeMap() {
+    World world = gridWorld(100, 4);
+    assertEquals(new Dimension(20000, 20000), world.getMapSize());
+
+    Rectangle view = new Rectangle(12000, 9000, 800, 600);
+    int[] pixels = paint(world, view);
+    assertEquals(0xff000000, pixels[0]); // A room corner
+    assertEquals(0xffc8c8ff, pixels[100 * 800 + 100]); // Inside a room
+    for (int i = 0; i < 50; i++) {
+      paint(world, new Rectangle(i * 400, i * 400, 800, 600));
+    }
+    assertArrayEquals(pixels, paint(world, view));
+  }
+
+  /**
+   * Tests that with render workers a missing tile is a placeholder until a worker draws
+   * it, and then matches the generated map.
+   */
+  @Test
+  public void testRenderWorkers() throws InterruptedException {
+    World world = gridWorld(8, 2);
+    BufferedImage map = world.generateMap();
+    ExecutorService workers = Executors.newSingleThreadExecutor();
+    CountDownLatch ready = new CountDownLatch(1);
+    List<Rectangle> readyTiles = new ArrayList<>();
+    try {
+      world.setMapRenderWorkers(workers, tile -> {
+        readyTiles.add(tile);
+        ready.countDown();
+      });
+      Rectangle view = new Rectangle(0, 300, 200, 200);
+      int[] placeholder = paint(world, view);
+      assertTrue(ready.await(5, TimeUnit.SECONDS));
+
+      assertEquals(new Rectangle(0, 256, 256, 256), readyTiles.get(0));
+      assertEquals(0xffebebeb, placeholder[100 * 200 + 100]);
+      assertArrayEquals(map.getRGB(view.x, view.y, view.width, view.height, null, 0,
+          view.width), paint(world, view));
+    } finally {
+      workers.shutdown();
+    }
+  }
+
+  /**
+   * Tests that a tile that fails to draw on a worker is queued again by the next paint
+   * instead of staying a placeholder.
+   */
+  @Test
+  public void testFailedTileIsRetried() throws InterruptedException {
+    boolean[] failing = {false};
+    List<ImSpace> spaces = new ArrayList<>();
+    spaces.add(new Space(0, "Front Hall", 0, 0, 1, 1) {
+      @Override
+      public String getName() {
+        if (failing[0]) {
+          throw new IllegalStateException("Name not ready");
+        }
+        return super.getName();
+      }
+    });
+    World world = new World(2, 2, "Hall", spaces, new ArrayList<>(),
+        new TargetCharacter("Doctor Lucky", 10, 0), null, new ArrayList<>());
+    ExecutorService workers = Executors.newSingleThreadExecutor();
+    CountDownLatch ready = new CountDownLatch(1);
+    try {
+      world.setMapRenderWorkers(workers, tile -> ready.countDown());
+      Rectangle view = new Rectangle(0, 0, 100, 100);
+      failing[0] = true;
+      paint(world, view);
+      workers.submit(() -> { }).get(5, TimeUnit.SECONDS);
+      assertEquals(1, ready.getCount());
+
+      failing[0] = false;
+      paint(world, view);
+      assertTrue(ready.await(5, TimeUnit.SECONDS));
+      assertEquals(0xffc8c8ff, paint(world, view)[50 * 100 + 50]);
+    } catch (ExecutionException | TimeoutException e) {
+      throw new AssertionError(e);
+    } finally {
+      workers.shutdown();
+    }
+  }
+
+  /**
+   * Tests that a move reports the old and new marker areas.
+   */
+  @Test
+  public void testUpdateMapSprites() {
+    World world = gridWorld(8, 2);
+    world.updateMapSprites();
+    world.movePlayer(world.getPlayers().get(0), world.getSpace(30));
+    Rectangle changed = world.updateMapSprites();
+
+    assertTrue(changed.contains(125, 125));
+    assertTrue(changed.contains(625, 325));
+  }
+}
@@ -0,0 +1,95 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import controller.GameExecutor;
+import controller.TurnScheduler;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link TurnScheduler} class. Verifies that chained turns run from the
+ * queue at a constant stack depth and that each tick stays within its budget.
+ */
+public class TurnSchedulerTest {
+
+  /**
+   * Tests that thousands of turns that each queue the next run without the stack growing.
+   */
+  @Test
+  public void testChainedTurnsKeepConstantStackDepth() throws InterruptedException {
+    GameExecutor executor = new GameExecutor(1);
+    try {
+      TurnScheduler scheduler = new TurnScheduler(executor::execute);
+      int turns = 10_000;
+      List<Integer> depths = new ArrayList<>();
+      CountDownLatch done = new CountDownLatch(1);
+      Runnable[] turn = new Runnable[1];
+      turn[0] = () -> {
+        depths.add(Thread.currentThread().getStackTrace().length);
+        if (depths.size() < turns) {
+          scheduler.schedule(turn[0]);
+        } else {
+          done.countDown();
+        }
+      };
+
+      scheduler.schedule(turn[0]);
+
+      assertTrue(done.await(30, TimeUnit.SECONDS));
+      assertEquals(turns, depths.size());
+      assertEquals(1, depths.stream().distinct().count());
+      assertEquals(0, scheduler.getPending());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that a tick runs at most its budget and hands the rest to a later tick.
+   */
+  @Test
+  public void testTickRunsAtMostBudget() {
+    ArrayDeque<Runnable> gameThread = new ArrayDeque<>();
+    TurnScheduler scheduler = new TurnScheduler(gameThread::add, 4);
+    int[] ran = new int[1];
+    for (int i = 0; i < 10; i++) {
+      scheduler.schedule(() -> ran[0]++);
+    }
+    assertEquals(1, gameThread.size());
+
+    gameThread.poll().run();
+    assertEquals(4, ran[0]);
+    assertEquals(6, scheduler.getPending());
+
+    // A task queued on the game thread meanwhile runs before the next tick
+    gameThread.addFirst(() -> assertEquals(4, ran[0]));
+    while (!gameThread.isEmpty()) {
+      gameThread.poll().run();
+    }
+    assertEquals(10, ran[0]);
+    assertEquals(3, scheduler.getTicks());
+  }
+
+  /**
+   * Tests that clearing the scheduler drops the steps that have not run.
+   */
+  @Test
+  public void testClearDropsPendingSteps() {
+    ArrayDeque<Runnable> gameThread = new ArrayDeque<>();
+    TurnScheduler scheduler = new TurnScheduler(gameThread::add);
+    int[] ran = new int[1];
+    scheduler.schedule(() -> ran[0]++);
+    scheduler.clear();
+
+    gameThread.poll().run();
+    assertEquals(0, ran[0]);
+
+    scheduler.schedule(() -> ran[0]++);
+    gameThread.poll().run();
+    assertEquals(1, ran[0]);
+  }
+}
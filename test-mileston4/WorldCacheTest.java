@@ -0,0 +1,162 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import loader.ParallelWorldLoader;
+import loader.WorldCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import world.World;
+
+/**
+ * Unit tests for the {@link WorldCache} class. Verifies hits and misses, that a changed
+ * file is reloaded, that damaged entries are rebuilt, and that old entries are evicted.
+ */
+public class WorldCacheTest {
+
+  private static final String WORLD = "4 6 Tiny Mansion\n"
+      + "10 Doctor Lucky\n"
+      + "Fortune the Cat\n"
+      + "2\n"
+      + "0 0 1 2 Front Hall\n"
+      + "0 3 1 5 Library\n"
+      + "1\n"
+      + "1 3 Crepe Pan\n";
+
+  private Path directory;
+  private Path worldFile;
+
+  /**
+   * Creates an empty cache directory and a world file.
+   */
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("cache");
+    worldFile = Files.createTempFile("world", ".txt");
+    write(WORLD);
+  }
+
+  /**
+   * Deletes the cache directory and the world file.
+   */
+  @After
+  public void tearDown() throws IOException {
+    for (Path entry : entries()) {
+      Files.delete(entry);
+    }
+    Files.delete(directory);
+    Files.delete(worldFile);
+  }
+
+  private void write(String text) throws IOException {
+    Files.write(worldFile, text.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private List<Path> entries() throws IOException {
+    List<Path> entries = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+      stream.forEach(entries::add);
+    }
+    return entries;
+  }
+
+  private WorldCache cache(int maxEntries) {
+    return new WorldCache(directory, maxEntries, Duration.ofDays(1), new ParallelWorldLoader());
+  }
+
+  /**
+   * Tests that the second load of an unchanged file is a hit with the same world.
+   */
+  @Test
+  public void testHitAfterMiss() throws IOException {
+    WorldCache cache = cache(4);
+    World first = cache.load(worldFile);
+    cache.flush();
+    World second = cache.load(worldFile);
+
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+    assertEquals(1, entries().size());
+    assertEquals(first.getName(), second.getName());
+    assertEquals("Library", second.getSpace(1).getName());
+    assertEquals("Crepe Pan", second.getSpace(1).getItems().get(0).getName());
+    assertEquals(first.isAdjacent(0, 1), second.isAdjacent(0, 1));
+  }
+
+  /**
+   * Tests that a changed file misses and is parsed again.
+   */
+  @Test
+  public void testChangedFileMisses() throws IOException {
+    WorldCache cache = cache(4);
+    cache.load(worldFile);
+    cache.flush();
+    write(WORLD.replace("Library", "Study"));
+    World world = cache.load(worldFile);
+    cache.flush();
+
+    assertEquals(2, cache.getMisses());
+    assertEquals(0, cache.getHits());
+    assertEquals("Study", world.getSpace(1).getName());
+  }
+
+  /**
+   * Tests that a damaged entry is rebuilt instead of failing the load.
+   */
+  @Test
+  public void testDamagedEntry() throws IOException {
+    WorldCache cache = cache(4);
+    cache.load(worldFile);
+    cache.flush();
+    Files.write(entries().get(0), new byte[] {1, 2, 3});
+    World world = cache.load(worldFile);
+    cache.flush();
+
+    assertEquals(2, cache.getMisses());
+    assertEquals("Tiny Mansion", world.getName());
+    assertNotEquals(3, Files.size(entries().get(0)));
+  }
+
+  /**
+   * Tests that the least recently used entries are evicted.
+   */
+  @Test
+  public void testEviction() throws IOException {
+    WorldCache cache = cache(1);
+    cache.load(worldFile);
+    cache.flush();
+    write(WORLD.replace("Library", "Study"));
+    cache.load(worldFile);
+    cache.flush();
+
+    assertEquals(1, entries().size());
+    cache.load(worldFile);
+    assertEquals(1, cache.getHits());
+  }
+
+  /**
+   * Tests that the entry holds the world as it was loaded, even if the game changes the
+   * world before the entry has been written.
+   */
+  @Test
+  public void testEntryIgnoresLaterChanges() throws IOException {
+    WorldCache cache = cache(4);
+    World first = cache.load(worldFile);
+    first.getSpace(1).removeItem(first.getSpace(1).getItems().get(0));
+    cache.flush();
+    World second = cache.load(worldFile);
+
+    assertEquals(1, cache.getHits());
+    assertTrue(first.getSpace(1).getItems().isEmpty());
+    assertEquals("Crepe Pan", second.getSpace(1).getItems().get(0).getName());
+  }
+}
@@ -0,0 +1,173 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import loader.MappedWorldLoader;
+import loader.WorldFileReader;
+import loader.WorldFormatException;
+import loader.WorldParser;
+import org.junit.Test;
+import world.World;
+
+/**
+ * Unit tests for the {@link WorldFileReader}, {@link WorldParser} and
+ * {@link MappedWorldLoader} classes. Verifies tokenizing, world parsing and the line
+ * and column reported for malformed files.
+ */
+public class WorldFileReaderTest {
+
+  private static final String WORLD = "4 6 Tiny  Mansion\r\n"
+      + "10 Doctor Lucky\r\n"
+      + "Fortune the Cat\r\n"
+      + "2\r\n"
+      + " 0 0 1 2   Front Hall\r\n"
+      + " 0 3 1 5 Library\r\n"
+      + "2\r\n"
+      + "1 3 Crepe Pan\r\n"
+      + "0 2 Letter Opener\r\n";
+
+  /**
+   * Tests reading numbers and names, including collapsed runs of spaces.
+   */
+  @Test
+  public void testReadTokens() throws IOException {
+    WorldFileReader in = new WorldFileReader(new StringReader("12  -3 Doctor   Lucky \n7\n"));
+    assertEquals(12, in.readInt());
+    assertEquals(-3, in.readInt());
+    assertEquals("Doctor Lucky", in.readName());
+    assertEquals(2, in.getLine());
+    assertEquals(7, in.readInt());
+    in.endLine();
+    assertTrue(in.isAtEnd());
+  }
+
+  /**
+   * Tests parsing a complete world.
+   */
+  @Test
+  public void testParseWorld() throws IOException {
+    World world = WorldParser.parse(new WorldFileReader(new StringReader(WORLD)));
+
+    assertEquals(4, world.getRows());
+    assertEquals(6, world.getCols());
+    assertEquals("Tiny Mansion", world.getName());
+    assertEquals("Doctor Lucky", world.getTargetCharacter().getName());
+    assertEquals("Fortune the Cat", world.getPet().getName());
+    assertEquals(2, world.getSpaces().size());
+    assertEquals("Front Hall", world.getSpace(0).getName());
+    assertEquals("Letter Opener", world.getSpace(0).getItems().get(0).getName());
+    assertEquals(3, world.getSpace(1).getItems().get(0).getDamage());
+    assertTrue(world.isAdjacent(0, 1));
+    assertFalse(world.getSpace(1).getItems().isEmpty());
+  }
+
+  /**
+   * Tests that a malformed number is reported with its line and column.
+   */
+  @Test
+  public void testBadNumberPosition() {
+    String world = WORLD.replace(" 0 3 1 5 Library", " 0 x 1 5 Library");
+    WorldFormatException e = assertThrows(WorldFormatException.class,
+        () -> WorldParser.parse(new WorldFileReader(new StringReader(world))));
+    assertEquals(6, e.getLine());
+    assertEquals(4, e.getColumn());
+  }
+
+  /**
+   * Tests that an item placed in a space that does not exist is rejected.
+   */
+  @Test
+  public void testBadSpaceIndex() {
+    String world = WORLD.replace("1 3 Crepe Pan", "9 3 Crepe Pan");
+    WorldFormatException e = assertThrows(WorldFormatException.class,
+        () -> WorldParser.parse(new WorldFileReader(new StringReader(world))));
+    assertEquals(8, e.getLine());
+    assertEquals(1, e.getColumn());
+  }
+
+  /**
+   * Tests that a space count larger than the file is reported where the file ends.
+   */
+  @Test
+  public void testOversizedCount() {
+    String world = "4 6 Tiny Mansion\n10 Doctor Lucky\nFortune the Cat\n2000000000\n"
+        + "0 0 1 2 Front Hall\n";
+    WorldFormatException e = assertThrows(WorldFormatException.class,
+        () -> WorldParser.parse(new WorldFileReader(new StringReader(world))));
+    assertEquals(6, e.getLine());
+    assertEquals(1, e.getColumn());
+  }
+
+  /**
+   * Tests that a missing name is rejected.
+   */
+  @Test
+  public void testMissingName() {
+    WorldFileReader in = new WorldFileReader(new StringReader("5   \n"));
+    assertThrows(WorldFormatException.class, () -> {
+      in.readInt();
+      in.readName();
+    });
+  }
+
+  /**
+   * Tests that the memory-mapped loader builds the same world as the reader.
+   */
+  @Test
+  public void testMappedLoader() throws IOException {
+    Path file = Files.createTempFile("world", ".txt");
+    try {
+      Files.write(file, WORLD.getBytes(StandardCharsets.US_ASCII));
+      World world = MappedWorldLoader.load(file);
+
+      assertEquals("Tiny Mansion", world.getName());
+      assertEquals(2, world.getSpaces().size());
+      assertEquals("Library", world.getSpace(1).getName());
+      assertEquals("Crepe Pan", world.getSpace(1).getItems().get(0).getName());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Tests that the memory-mapped loader decodes UTF-8 names the same way as the reader,
+   * including characters outside the basic plane and malformed bytes.
+   */
+  @Test
+  public void testMappedLoaderUtf8() throws IOException {
+    String text = WORLD.replace("Tiny  Mansion", "Ch\u00e2teau \u00c9l\u00e9gant")
+        .replace("Fortune the Cat", "Fortune \ud83d\udc08")
+        .replace("Crepe Pan", "Cr\u00eape Pan \u2014 iron");
+    byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+    byte[] bytes = new byte[utf8.length + 1];
+    System.arraycopy(utf8, 0, bytes, 0, utf8.length - 2);
+    // A stray continuation byte at the end of the last name.
+    bytes[utf8.length - 2] = (byte) 0x80;
+    bytes[utf8.length - 1] = '\r';
+    bytes[utf8.length] = '\n';
+    World expected = WorldParser.parse(new WorldFileReader(
+        new StringReader(new String(bytes, StandardCharsets.UTF_8))));
+
+    Path file = Files.createTempFile("world", ".txt");
+    try {
+      Files.write(file, bytes);
+      World world = MappedWorldLoader.load(file);
+
+      assertEquals("Ch\u00e2teau \u00c9l\u00e9gant", world.getName());
+      assertEquals("Fortune \ud83d\udc08", world.getPet().getName());
+      assertEquals("Cr\u00eape Pan \u2014 iron",
+          world.getSpace(1).getItems().get(0).getName());
+      assertEquals("Letter Opener\ufffd", world.getSpace(0).getItems().get(0).getName());
+      assertEquals(expected.getSpace(0).getItems().get(0).getName(),
+          world.getSpace(0).getItems().get(0).getName());
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
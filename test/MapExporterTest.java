@@ -0,0 +1,117 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import character.TargetCharacter;
+import item.ImItem;
+import item.Item;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import space.ImSpace;
+import space.Space;
+import world.MapExporter;
+import world.World;
+
+/**
+ * Test class for {@link MapExporter}.
+ * This class checks that maps exported strip by strip match the maps drawn at once.
+ */
+public class MapExporterTest {
+  private List<ImSpace> spaces;
+  private List<ImItem> items;
+  private World world;
+  private MapExporter exporter;
+  private Path directory;
+
+  /**
+   * Sets up a small world with stacked rooms, so the strips cut through rooms and text.
+   */
+  @Before
+  public void setUp() throws IOException {
+    spaces = new ArrayList<>();
+    spaces.add(new Space("Hall", 0, 0, 1, 3));
+    spaces.add(new Space("Kitchen", 2, 0, 4, 1));
+    spaces.add(new Space("Library", 2, 2, 3, 3));
+    spaces.add(new Space("Cellar", 5, 0, 5, 3));
+    items = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      ImItem item = new Item("Knife" + i, i + 1);
+      spaces.get(1).addItem(item);
+      items.add(item);
+    }
+    world = new World(6, 4, "Test World", spaces, items, new TargetCharacter("Doctor", 50, 0));
+    exporter = new MapExporter(37, 3);
+    directory = Files.createTempDirectory("map-export");
+  }
+
+  /**
+   * Removes the exported files and stops the exporter.
+   */
+  @After
+  public void tearDown() throws IOException {
+    exporter.close();
+    try (var files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  /**
+   * Tests that the streamed PNG holds exactly the pixels of the map drawn in one piece.
+   */
+  @Test
+  public void testStripsMatchWholeMap() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.writePng(world.snapshotMap(), out);
+    BufferedImage exported = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    BufferedImage expected = world.generateMap();
+
+    assertEquals(expected.getWidth(), exported.getWidth());
+    assertEquals(expected.getHeight(), exported.getHeight());
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        assertEquals("pixel " + x + "," + y, expected.getRGB(x, y), exported.getRGB(x, y));
+      }
+    }
+  }
+
+  /**
+   * Tests that an unchanged map is not written again, and that a changed one is.
+   */
+  @Test
+  public void testSkipsUnchangedMap() {
+    Path file = directory.resolve("world_map.png");
+    assertTrue(exporter.exportAsync(world, file).join());
+    assertFalse(exporter.exportAsync(world, file).join());
+    assertEquals(1, exporter.getWrittenCount());
+    assertEquals(1, exporter.getSkippedCount());
+
+    spaces.get(3).addItem(new Item("Rope", 2));
+    assertTrue(exporter.exportAsync(world, file).join());
+    assertEquals(2, exporter.getWrittenCount());
+  }
+
+  /**
+   * Tests that a deleted file is written again even if the map did not change.
+   */
+  @Test
+  public void testRewritesDeletedFile() throws IOException {
+    Path file = directory.resolve("world_map.png");
+    assertTrue(exporter.exportAsync(world, file).join());
+    Files.delete(file);
+    assertTrue(exporter.exportAsync(world, file).join());
+    assertTrue(Files.exists(file));
+  }
+}